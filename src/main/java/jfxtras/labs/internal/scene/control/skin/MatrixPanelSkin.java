@@ -30,28 +30,19 @@
 package jfxtras.labs.internal.scene.control.skin;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 
 import javafx.animation.AnimationTimer;
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.collections.ListChangeListener;
-import javafx.event.ActionEvent;
 import javafx.geometry.Point2D;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
 import javafx.scene.layout.BackgroundPosition;
@@ -63,13 +54,9 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.Shape;
-import javafx.util.Duration;
 import jfxtras.labs.scene.control.gauge.Content;
-import jfxtras.labs.scene.control.gauge.Content.MatrixColor;
-import jfxtras.labs.scene.control.gauge.Content.RotationOrder;
+import jfxtras.labs.scene.control.gauge.LedFrameGenerator;
 import jfxtras.labs.scene.control.gauge.MatrixPanel;
-import jfxtras.labs.scene.control.gauge.UtilHex;
 import jfxtras.labs.util.ConicalGradient;
 import jfxtras.labs.util.Util;
 
@@ -99,12 +86,39 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
     private Region                   mainFrameIn;
     private Region                   mainForeground;
     private Pane                     dots;
-    private Map<Integer, Shape>      dotMap;
+    // dots indexed by row * ledWidth + column, with the packed color value each one shows
+    private Circle[]                 dotArray;
+    private int[]                    dotValues;
+    private int                      dotsWidth;
+    // runs the contents into the next frame
+    private LedFrameGenerator        generator;
+    private final ReadOnlyIntegerWrapper ledsUpdated = new ReadOnlyIntegerWrapper(this, "ledsUpdated", 0);
+    // LedRendering.IMAGE: all dots blitted into one image, at the pixel position of their column and row
+    private ImageView                dotsView;
+    private WritableImage            dotsImage;
+    private int[][]                  dotSprites;
+    private int                      spriteSize;
+    private int[]                    ledX;
+    private int[]                    ledY;
     private int                      iDots;
     private double                   radio=0d;
-    private final int                toneScale=85;
-    private BooleanProperty[]        visibleContent=null;
-    private final Color              COLOR_OFF = Color.rgb(39, 39, 39,0.25);
+    private static final Color       COLOR_OFF = Color.rgb(39, 39, 39,0.25);
+    /*
+     * colors of the packed led values (red + 10 * green + 100 * blue, each one 0-3),
+     * resolved once so a frame never creates a Color
+     */
+    private static final Color[]     PALETTE   = new Color[334];
+    static {
+        final int toneScale = 85;
+        for (int toneB = 0; toneB < 4; toneB++) {
+            for (int toneG = 0; toneG < 4; toneG++) {
+                for (int toneR = 0; toneR < 4; toneR++) {
+                    PALETTE[toneR + 10 * toneG + 100 * toneB] = Color.rgb(toneScale * toneR, toneScale * toneG, toneScale * toneB);
+                }
+            }
+        }
+        PALETTE[0] = COLOR_OFF;
+    }
     private String                   jpgFrame;
     private Background               fillFrame;
     // ******************** Constructors **************************************
@@ -222,15 +236,28 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
     
     private void setDots(){
         dots = new Pane();
-        dotMap = new HashMap<>(getSkinnable().ledWidthProperty().intValue() * getSkinnable().ledHeightProperty().intValue());
-        for (int i = 0; i < getSkinnable().ledHeightProperty().intValue(); i++) {
-            for (int j = 0; j < getSkinnable().ledWidthProperty().intValue(); j++) {
-                Circle circ = new Circle(radio,COLOR_OFF);
-                dotMap.put(new Integer(j + i * getSkinnable().ledWidthProperty().intValue()), circ);
-                dots.getChildren().add(circ);
+        dotsWidth = getSkinnable().ledWidthProperty().intValue();
+        dotValues = new int[dotsWidth * getSkinnable().ledHeightProperty().intValue()];
+        if (generator != null) {
+            generator.stop();
+        }
+        generator = new LedFrameGenerator(dotsWidth, getSkinnable().ledHeightProperty().intValue(), getSkinnable().getContents());
+        if (getSkinnable().getLedRendering() == MatrixPanel.LedRendering.IMAGE) {
+            dotArray = null;
+            // the image is created when the size is known
+            dotsImage = null;
+            dotsView = new ImageView();
+            dots.getChildren().setAll(dotsView);
+        } else {
+            dotsView = null;
+            dotsImage = null;
+            dotArray = new Circle[dotValues.length];
+            for (int i = 0; i < dotArray.length; i++) {
+                dotArray[i] = new Circle(radio,COLOR_OFF);
             }
-        }      
-        dots.setCache(true);
+            dots.getChildren().setAll(dotArray);
+            dots.setCache(true);
+        }
         if(pane!=null && pane.getChildren().size()>0){
             pane.getChildren().remove(iDots);
             pane.getChildren().add(iDots, dots);
@@ -244,6 +271,7 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
         getSkinnable().prefHeightProperty().addListener(o -> handleControlPropertyChanged("PREF_SIZE") );
         getSkinnable().ledWidthProperty().addListener(o -> handleControlPropertyChanged("UPDATE") );
         getSkinnable().ledHeightProperty().addListener(o -> handleControlPropertyChanged("UPDATE") );
+        getSkinnable().ledRenderingProperty().addListener(o -> handleControlPropertyChanged("UPDATE") );
         getSkinnable().frameVisibleProperty().addListener(o -> handleControlPropertyChanged("STYLE") );
         getSkinnable().frameDesignProperty().addListener(o -> handleControlPropertyChanged("STYLE") );
         getSkinnable().frameCustomPathProperty().addListener(o -> handleControlPropertyChanged("STYLE") );
@@ -265,13 +293,9 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
             t.colorProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
             t.originProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
             t.areaProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
-            t.bmpNameProperty().addListener((o)-> {
-                if(byteAreas!=null && byteAreas.size()>iContent && byteAreas.get(iContent)!=null){
-                    byteAreas.set(iContent,null);
-                }
-                handleContentPropertyChanged("CREATE",iContent);
-            }); 
+            t.bmpNameProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
             t.txtContentProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
+            t.resolvedTxtProperty().addListener((o)-> handleContentPropertyChanged("TEXT",iContent)); 
             t.matrixFontProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
             t.fontGapProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
             t.txtAlignProperty().addListener((o)-> handleContentPropertyChanged("CREATE",iContent)); 
@@ -309,26 +333,30 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
         switch (PROPERTY) {
             case "CREATE":
                 Platform.runLater(() -> {
-                    initializeContent(iContent);
-                    animContent(iContent);
-                    Anim.get(iContent).start();
+                    generator.recreateContent(iContent);
+                    commitFrame();
+                    clock.start();
                 });
                 break;
-            case "ANIMATE":
+            case "TEXT":
                 Platform.runLater(() -> {
-                    animContent(iContent);
-                    Anim.get(iContent).start();
+                    if (generator.updateText(iContent)) {
+                        commitFrame();
+                    }
+                    clock.start();
                 });
                 break;
-            case "PAIRS":
-                checkPairs();
-                Anim.stream().forEach((a) -> a.stop() );
+            case "ANIMATE":
                 Platform.runLater(() -> {
-                    getSkinnable().getContents().stream().forEach(c->{
-                        animContent(getSkinnable().getContents().indexOf(c));
-                    });     
-                    Anim.stream().forEach((a) -> a.start() );
+                    generator.restartContent(iContent);
+                    commitFrame();
+                    clock.start();
                 });
+                break;
+            case "PAIRS":
+                generator.restartPairs();
+                commitFrame();
+                clock.start();
         }
     }
     
@@ -502,13 +530,17 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
             }
             radio=(width-2d*(0.0841121495*size+5d))/(3d*getSkinnable().ledWidthProperty().doubleValue()+1);
             double gapH = (height-2d*(0.0841121495*size+5d)-2d*radio*getSkinnable().ledHeightProperty().doubleValue())/(getSkinnable().ledHeightProperty().doubleValue()+1);
-            for (int i = 0; i < getSkinnable().ledHeightProperty().intValue(); i++) {
-                for (int j = 0; j < getSkinnable().ledWidthProperty().intValue(); j++) {
-                    Circle c=(Circle)dots.getChildren().get(i*getSkinnable().ledWidthProperty().intValue()+j);
-                    c.setTranslateX(0.0841121495 * size + 5d + 2d*radio + j * 3d * radio);
-                    c.setTranslateY(0.0841121495 * size + 5d + gapH + radio + i * (gapH + 2d * radio));
-                    c.setRadius(radio);
+            if (dotArray != null) {
+                for (int i = 0; i < getSkinnable().ledHeightProperty().intValue(); i++) {
+                    for (int j = 0; j < getSkinnable().ledWidthProperty().intValue(); j++) {
+                        Circle c=dotArray[i*getSkinnable().ledWidthProperty().intValue()+j];
+                        c.setTranslateX(0.0841121495 * size + 5d + 2d*radio + j * 3d * radio);
+                        c.setTranslateY(0.0841121495 * size + 5d + gapH + radio + i * (gapH + 2d * radio));
+                        c.setRadius(radio);
+                    }
                 }
+            } else {
+                resizeDotsImage(size, gapH);
             }
             
             mainForeground.setPrefSize(width-2d*(0.0841121495 * size + 2d), height-2d*(0.0841121495 * size + 2d));
@@ -518,600 +550,160 @@ public class MatrixPanelSkin extends SkinBase<MatrixPanel> implements Skin<Matri
         }
     }
 
-    /***************
-     *** CONTENT ***
-     ***************/
-    private final int LED_COLUMN    = 0;
-    private final int LED_ROW       = 1;
-    private final int LED_INTENSITY = 2;
-    /*
-     * full area required for each content, even not visible
-     */
-    private ArrayList<int[][]> fullAreas = null;
-    /*
-     * Contains collection of images bytes, to avoid reprocessing BMPs
+    /**
+     * The number of leds that changed in the last committed frame
      */
-    private ArrayList<byte[]> byteAreas = null;
-    /*
-     * visible AREAS in the panel, one per content
-     */
-    private Rectangle[] visibleArea = null;
-    /* 
-     * PAIRS of contents in the same area
-     */
-    private ArrayList<ContentPair> pairs=null;
-    /*
-     * ANIMATION of each content
-     */
-    private ArrayList<Animation> Anim=null;
+    public final ReadOnlyIntegerProperty ledsUpdatedProperty(){
+        return ledsUpdated.getReadOnlyProperty();
+    }
     
-    public void createContents() {
-        // stop previous animations, if any
-        stop();
-        // reset leds
-        dotMap.values().stream().forEach((c) -> c.setFill(COLOR_OFF) );
-        
-        List<Content> contents=getSkinnable().getContents();
-        
-        if (0 == contents.size()) {
-            return;
-        }
-        
-        fullAreas = new ArrayList<>();
-        byteAreas = new ArrayList<>();
-        visibleArea = new Rectangle[contents.size()];
-        Anim=new ArrayList<>();
-        visibleContent=new SimpleBooleanProperty[contents.size()];
-            
-        checkPairs();
-        
-        /* Initialize and animate every Content */
-        Platform.runLater(() -> {
-            contents.stream().forEach(content -> {
-                final int iContent=contents.indexOf(content);
-                initializeContent(iContent);
-                animContent(iContent);
-            });
-            Anim.stream().forEach((a) -> a.start());            
-        });
+    public final int getLedsUpdated(){
+        return ledsUpdated.get();
     }
     
-    private void initializeContent(int iContent){
-        
-        if(iContent<Anim.size()){
-            Anim.get(iContent).stop();
-        } 
-        if(iContent<fullAreas.size()){
-            clearArea(iContent);
-            fullAreas.remove(iContent);
-        }
-        
-        final Content content=getSkinnable().getContents().get(iContent);
-        
-        int x0 = (int) content.getOrigin().getX() + (int) content.getArea().getX();
-        int y0 = (int) content.getOrigin().getY() + (int) content.getArea().getY();
-        int maxX = Math.min((int) content.getArea().getWidth(), getSkinnable().ledWidthProperty().intValue());
-        int maxY = Math.min((int) content.getArea().getHeight(), getSkinnable().ledHeightProperty().intValue());
-        visibleArea[iContent] = new Rectangle(Math.max(x0, 0), Math.max(y0, 0), maxX, maxY);
-
-        if (content.getType().equals(Content.Type.IMAGE)) {
-            byte[] sBytes=null;
-            if(iContent<fullAreas.size() && byteAreas!=null && byteAreas.get(iContent)!=null){
-                sBytes=byteAreas.get(iContent);
-            } else {
-                UtilHex img = new UtilHex();
-                img.convertsBmp(content.getBmpName(), 65, 190, true,true,true);
-                sBytes = img.getRawData();
-                byteAreas.add(iContent,sBytes);
-                img.resetRawData();
-            }
-            if (sBytes != null) {
-                final int levels = 3;
-                final int bmpHeight = UtilHex.bytes2int(new byte[]{sBytes[8],sBytes[9]});
-                final int tamLineaBMT = UtilHex.bytes2int(new byte[]{sBytes[20],sBytes[21],sBytes[22],sBytes[23]}) / bmpHeight / levels / 3; // en bytes
-                int pos = 32;
-                final int[][] area = new int[bmpHeight][tamLineaBMT * 8];
-                final int[] colors={(content.getColor().equals(MatrixColor.RED) || content.getColor().equals(MatrixColor.YELLOW) || content.getColor().equals(MatrixColor.RGB))?1:0,
-                    (content.getColor().equals(MatrixColor.GREEN) || content.getColor().equals(MatrixColor.YELLOW) || content.getColor().equals(MatrixColor.RGB))?1:0,
-                    (content.getColor().equals(MatrixColor.BLUE) || content.getColor().equals(MatrixColor.RGB))?1:0};
-                for (int j = 0; j < levels; j++) { // leds: [RED k=0]0-1-2-3, [GREEN k=1]0-10-20-30, [BLUE k=2] 0-100-200-300
-                    for(int k=0; k<3; k++){ // 3 colors
-                        for (int fila = 0; fila < bmpHeight; fila++) {
-                            for (int i = 0; i < tamLineaBMT; i++) { // recorrido por cada byte de cada fila
-                                BitSet bs=BitSet.valueOf(new byte[]{sBytes[pos++]}); 
-                                for (int m = 0; m < 8; m++) {
-                                    area[fila][i * 8 + m] += (bs.get(7-m)?1:0)*Math.pow(10,k)*colors[k];
-                                }
-                            }
-                        }                        
-                    }
-                }
-                fullAreas.add(iContent,area);
-            }
-            else{
-                System.out.println("Error, image null: "+content.getBmpName());
-                fullAreas.add(iContent,null);
-                byteAreas.add(iContent,null);
-            }
-        } else if (content.getType().equals(Content.Type.TEXT)) {
-            MatrixPanel.DotFont dotF = new MatrixPanel.DotFont(content.getTxtContent(), content.getMatrixFont(), content.getFontGap().getGapWidth());
-            boolean[][] bDots = dotF.getDotString();
-            if (bDots != null) {
-                final int color=(content.getColor().equals(MatrixColor.RED)?3:
-                        (content.getColor().equals(MatrixColor.GREEN)?30:
-                        (content.getColor().equals(MatrixColor.BLUE)?300:
-                        (content.getColor().equals(MatrixColor.YELLOW)?33:333))));
-                final int[][] area = new int[bDots.length][bDots[0].length];
-                for (int fila = 0; fila < bDots.length; fila++) {
-                    for (int j = 0; j < bDots[fila].length; j++) {
-                        area[fila][j] = ((bDots[fila][j]) ? color : 0);
-                    }
+    /**
+     * Push the leds of the next frame that differ from the shown frame to the scene, only the dirty rectangle is compared
+     */
+    private void commitFrame(){
+        final int[] frame = generator.getFrame();
+        int updated = 0;
+        for (int y = generator.getDirtyMinY(); y <= generator.getDirtyMaxY(); y++) {
+            for (int x = generator.getDirtyMinX(); x <= generator.getDirtyMaxX(); x++) {
+                final int dot = x + y * dotsWidth;
+                if (dotValues[dot] != frame[dot]) {
+                    setLed(dot, frame[dot]);
+                    updated++;
                 }
-                fullAreas.add(iContent,area);
-            }
-            else{
-                fullAreas.add(iContent,null);
             }
-            byteAreas.add(iContent,null);
         }
+        generator.clearDirty();
+        ledsUpdated.set(updated);
     }
     
-    private void clearArea(int iContent){
-        for (int i = (int) visibleArea[iContent].getY(); i < (int) visibleArea[iContent].getHeight(); i++) {
-            for (int j = (int)visibleArea[iContent].getX(); j < (int) visibleArea[iContent].getWidth(); j++) {
-                Integer dot = new Integer(j + i * getSkinnable().ledWidthProperty().intValue());
-                if (dotMap.get(dot) != null) {
-                    ((Circle)dotMap.get(dot)).setFill(COLOR_OFF);
-                }
+    /**
+     * Show the packed color value on a led, the fill is only touched when the value changes
+     */
+    private void setLed(int dot, int val){
+        if (dotValues[dot] != val) {
+            dotValues[dot] = val;
+            if (dotArray != null) {
+                dotArray[dot].setFill(PALETTE[val]);
+            } else {
+                blitLed(dot, val);
             }
         }
     }
     
-    private void animContent(int iContent){
-        if(iContent<Anim.size()){
-            Anim.get(iContent).stop();
-            Anim.remove(iContent);
-        } 
-        Animation iAnim=new Animation(iContent);
-        iAnim.initAnimation();
-        Anim.add(iContent,iAnim);
+    /***************
+     *** IMAGE   ***
+     ***************/
+    /**
+     * Create the image for the new size, with the dots at the same places as the circles would be, and draw all leds again
+     */
+    private void resizeDotsImage(double size, double gapH){
+        final int imageWidth = (int) Math.ceil(width);
+        final int imageHeight = (int) Math.ceil(height);
+        if (imageWidth <= 0 || imageHeight <= 0 || radio <= 0) {
+            return;
+        }
+        spriteSize = Math.max(1, (int) Math.ceil(2d * radio));
+        dotSprites = new int[PALETTE.length][];
+        ledX = new int[dotsWidth];
+        for (int j = 0; j < ledX.length; j++) {
+            ledX[j] = (int) Math.round(0.0841121495 * size + 5d + 2d*radio + j * 3d * radio - spriteSize / 2d);
+        }
+        ledY = new int[dotsWidth == 0 ? 0 : dotValues.length / dotsWidth];
+        for (int i = 0; i < ledY.length; i++) {
+            ledY[i] = (int) Math.round(0.0841121495 * size + 5d + gapH + radio + i * (gapH + 2d * radio) - spriteSize / 2d);
+        }
+        dotsImage = new WritableImage(imageWidth, imageHeight);
+        for (int dot = 0; dot < dotValues.length; dot++) {
+            blitLed(dot, dotValues[dot]);
+        }
+        dotsView.setImage(dotsImage);
     }
     
-    private void checkPairs(){
-        /* Check for Content Pairs */
-        pairs=new ArrayList<>();
-        getSkinnable().getContents().stream().filter(c -> c.getOrder()==RotationOrder.FIRST)
-        .forEach((Content content1) -> {
-            getSkinnable().getContents().stream().filter(c -> c.getOrder()==RotationOrder.SECOND)
-            .forEach((Content content2) -> {
-                if(content1.getArea().getBoundsInLocal().equals(content2.getArea().getBoundsInLocal())){
-                    pairs.add(new ContentPair(getSkinnable().getContents().indexOf(content1),
-                                              getSkinnable().getContents().indexOf(content2)));
-                }
-            });
-        });
-    }
-    private void stop(){
-        if(Anim!=null){
-            Anim.stream().forEach((a) -> a.stop() );
-            Anim.clear();
-            Anim=null;
+    private void blitLed(int dot, int val){
+        if (dotsImage == null) {
+            return;
         }
-        if(fullAreas!=null){
-            fullAreas.clear();
-            fullAreas=null;
+        final int x = ledX[dot % dotsWidth];
+        final int y = ledY[dot / dotsWidth];
+        // dots on the border of the image are skipped, like the circles would be clipped
+        if (x < 0 || y < 0 || x + spriteSize > dotsImage.getWidth() || y + spriteSize > dotsImage.getHeight()) {
+            return;
+        }
+        if (dotSprites[val] == null) {
+            dotSprites[val] = renderSprite(PALETTE[val], spriteSize, radio);
         }
+        dotsImage.getPixelWriter().setPixels(x, y, spriteSize, spriteSize, PixelFormat.getIntArgbInstance(), dotSprites[val], 0, spriteSize);
     }
     
-    private class Animation extends AnimationTimer{
-        private long lastUpdate=0l;
-        private boolean bBlink=false; // heartbit
-        private int contBlink=0;
-        private int iter=0;        
-        private final int iContent;
-        private Content content=null;
-        private int oriX, oriY, endX, endY;
-        private int areaWidth, areaHeight;
-        private int contentWidth, contentHeight;
-        private IntegerProperty posX, posY, posXIni, posYIni;
-//        private int[][] contentArea=null;
-        private int realLapse, advance, limX, limitBlink, iterLeds;
-        private boolean isBlinkEffect;
-        
-        private LinkedHashMap<Integer,int[]> brightLeds=null;
-        private ArrayList<int[]> arrBrightLeds=null;
-        private IntegerProperty incrPos=null;
-        
-        private PauseTransition pTrans=null;
-        
-        public Animation(int iContent){
-            
-            this.iContent=iContent;
-            this.content=getSkinnable().getContents().get(iContent);
-            
-            // bind posX/posY increment (1) to allow for pause time (0) for each content
-            incrPos=new SimpleIntegerProperty(1);
-            
-            visibleContent[iContent]=new SimpleBooleanProperty(true); // SINGLE && FIRST
-            if(content!=null && content.getOrder().equals(Content.RotationOrder.SECOND)){
-                visibleContent[iContent].setValue(false);
-            }
-            
-        }
-        
-        public void initAnimation(){
-//            this.contentArea = fullAreas.get(iContent);            
-
-            oriX = (int) visibleArea[iContent].getX();
-            oriY = (int) visibleArea[iContent].getY();
-            endX = (int) visibleArea[iContent].getWidth();
-            endY = (int) visibleArea[iContent].getHeight();
-            areaWidth = endX-oriX;
-            areaHeight = endY-oriY;
-
-            /*
-            * Total dimensions of area of the content
-            */
-            if(fullAreas!=null && fullAreas.get(iContent)!=null){
-                contentWidth =fullAreas.get(iContent)[0].length;
-                contentHeight = fullAreas.get(iContent).length;
-            }
-            /*
-            * START LOCATION OF CONTENT
-            */
-            posXIni= new SimpleIntegerProperty(0);
-            posYIni = new SimpleIntegerProperty(0);
-            if(content!=null && !content.getEffect().equals(Content.Effect.NONE)){
-                // content at its final position
-                posYIni.set(0);
-                if(content.getTxtAlign().equals(Content.Align.LEFT)){
-                    posXIni.set(0);
-                    // SCROLL_RIGHT: +cW-cW, SCROLL_LEFT: -aW+aW=0, MIRROR: -cW/2+cW/2
-                    limX=0; 
-                } else if(content.getTxtAlign().equals(Content.Align.CENTER)){
-                    posXIni.set(contentWidth/2-areaWidth/2);
-                    //SCROLL_RIGHT: +cW-(aW/2+cW/2) SCROLL_LEFT: -aW+(aW/2+fW/2), MIRROR: -aW/2+cW/2
-                    limX=-areaWidth/2+contentWidth/2; 
-                } else if(content.getTxtAlign().equals(Content.Align.RIGHT)){
-                    posXIni.set(contentWidth-areaWidth);
-                    //SCROLL_RIGHT: +cW-aW, SCROLL_LEFT: -aW+cW=0, MIRROR: cW/2-aW + cW/2
-                    limX=contentWidth-areaWidth; 
-                }
-
-                // moved first if neccessary to start the scrolling effect
-                if (content.getEffect().equals(Content.Effect.SCROLL_RIGHT)){
-                    // content to the left of the visible area
-                    posXIni.set(contentWidth);
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_LEFT)){
-                    // content to the right of the visible area
-                    posXIni.set(-areaWidth);
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_UP)){
-                    // content to the bottom of the visible area
-                    posYIni.set(-areaHeight);
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_DOWN)){
-                    // content to the top of the visible area
-                    posYIni.set(contentHeight);
-                } else if (content.getEffect().equals(Content.Effect.MIRROR)){
-                    // content to the center of the visible area
-                    if(content.getTxtAlign().equals(Content.Align.LEFT)){
-                        posXIni.set(-contentWidth/2);
-                    } else if(content.getTxtAlign().equals(Content.Align.CENTER)){
-                        posXIni.set(0-areaWidth/2);
-                    } else if(content.getTxtAlign().equals(Content.Align.RIGHT)){
-                        posXIni.set(contentWidth/2-areaWidth);
-                    }
-                } 
-            }
-            // +1,-1 to make the translation ot the content, 0 to pause it
-            posX = new SimpleIntegerProperty(posXIni.get());
-            posY = new SimpleIntegerProperty(posYIni.get());
-            
-            // speed = gap of ms to refresh the matrixPanel
-            realLapse = (content!=null && content.getLapse() >= 250)?content.getLapse():250;
-            
-            if(content!=null && content.getLapse()>0){
-                // leds advance per step (int), lower lapse, bigger advance:
-                advance=realLapse/content.getLapse(); 
-                realLapse=advance*content.getLapse();
-            }
-            else{
-                advance=10;
-            }
-            if(content!=null && !content.getEffect().equals(Content.Effect.NONE)){
-            
-                isBlinkEffect=(content.getEffect().equals(Content.Effect.BLINK) || 
-                                content.getEffect().equals(Content.Effect.BLINK_4) ||
-                                content.getEffect().equals(Content.Effect.BLINK_10));
-                limitBlink=(content.getEffect().equals(Content.Effect.BLINK)?10000: 
-                            (content.getEffect().equals(Content.Effect.BLINK_4)?7:
-                             (content.getEffect().equals(Content.Effect.BLINK_10)?19:0)));
-
-                /*
-                 * Effect.SPRAY
-                 */
-                if(content.getEffect().equals(Content.Effect.SPRAY)){
-                    brightLeds = new LinkedHashMap<>();
-                    arrBrightLeds=new ArrayList<>();
-                    int[][] contentArea= fullAreas.get(iContent); 
-                    // list of brighting LEDs: column j, row i, intensity val
-                    for (int i = oriY; i < endY; i++) {
-                        for (int j = oriX; j < endX; j++) {
-                            Integer dot = new Integer(j + i * getSkinnable().ledWidthProperty().intValue());
-                            if (dotMap.get(dot) != null) {
-                                int val;
-                                if (j + posX.intValue() >= oriX && j + posX.intValue() < contentWidth + oriX &&
-                                    i + posY.intValue() >= oriY && i + posY.intValue() < contentHeight + oriY) {
-                                    val = contentArea[i + posY.intValue() - oriY][j + posX.intValue() - oriX];
-                                    if(val>0){
-                                        int[] led={j,i,val};
-                                        arrBrightLeds.add(led);
-                                    }
-                                } 
-                            }
-                        }
-                    }
-
-                    // RANDOMIZE ArrayList 
-                    Collections.shuffle(arrBrightLeds);
-
-                    // Create map with shuffled list
-                    final Iterator<int[]> vIter = arrBrightLeds.iterator();
-                    for (int k=0; k<arrBrightLeds.size(); k++){
-                        brightLeds.put(k, vIter.next());
-                    }
-                    arrBrightLeds.clear();
-
-                    /*
-                     * SPRAY Effect. Number of new leds showed in each step
-                     */
-                    if(brightLeds.size()>0){
-                        if(content!=null && content.getLapse()>0){
-                            iterLeds=brightLeds.size()/content.getLapse();
-                        } else {
-                            iterLeds=brightLeds.size()/10;
+    /**
+     * A filled, antialiased circle in argb pixels, rendered once per color and size
+     */
+    private static int[] renderSprite(Color color, int size, double radius){
+        final int samples = 4;
+        final double center = size / 2d;
+        final double radius2 = radius * radius;
+        final int rgb = ((int) Math.round(color.getRed() * 255) << 16) | ((int) Math.round(color.getGreen() * 255) << 8) | (int) Math.round(color.getBlue() * 255);
+        final int[] sprite = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                // coverage of the pixel by the circle
+                int covered = 0;
+                for (int sy = 0; sy < samples; sy++) {
+                    for (int sx = 0; sx < samples; sx++) {
+                        double dx = x + (sx + 0.5) / samples - center;
+                        double dy = y + (sy + 0.5) / samples - center;
+                        if (dx * dx + dy * dy <= radius2) {
+                            covered++;
                         }
-                    } else {
-                        iterLeds=0;
                     }
                 }
+                final int alpha = (int) Math.round(color.getOpacity() * 255 * covered / (samples * samples));
+                sprite[y * size + x] = (alpha << 24) | rgb;
             }
         }
-                
+        return sprite;
+    }
+    
+    // ******************** Contents ****************************************
+    /*
+     * The contents are run by the generator, stopped and cleared here and started on the next pulse
+     */
+    private void createContents(){
+        clock.stop();
+        generator.prepareContents();
+        commitFrame();
+        Platform.runLater(() -> {
+            generator.startContents();
+            clock.start();
+        });
+    }
+    
+    /*
+     * One clock per panel: each pulse every running content takes its step into the shared frame,
+     * in the order of the contents so later contents are drawn over earlier ones, and the frame is committed once
+     */
+    private final AnimationTimer clock = new AnimationTimer() {
         @Override
         public void handle(long now) {
-            /*
-            *  only make one frame step animation IF enough fps, 
-            *  the content is visible and it isn't in pause
-            */
-            if (now > lastUpdate + realLapse*1000000 && 
-                content!=null && iContent<visibleContent.length && 
-                visibleContent[iContent].getValue() && incrPos.intValue()==1) {  
-
-                /*
-                *  check only the visible area
-                */
-                if(content.getEffect().equals(Content.Effect.SPRAY)){
-                    // show bunch of leds, starting from the end of the shrinking map
-                    for(int buc=0;buc<iterLeds;buc++){
-                        int[] led=(int[])brightLeds.get(brightLeds.size()-iter-1);
-                        final int toneB=(int)(led[LED_INTENSITY]/100);
-                        final int toneG=(int)((led[LED_INTENSITY]-toneB*100)/10);
-                        final int toneR=(int)(led[LED_INTENSITY]-toneB*100-toneG*10);
-                        Integer dot = new Integer(led[LED_COLUMN] + led[LED_ROW] * getSkinnable().ledWidthProperty().intValue());
-                        ((Circle)dotMap.get(dot)).setFill(Color.rgb(toneScale*toneR, toneScale*toneG, toneScale*toneB));
-                        iter=(iter<brightLeds.size()-1)?iter+1:iter;
-                    }                            
-                } else {
-                    int[][] contentArea= fullAreas.get(iContent); 
-                    for (int j = oriX; j < endX; j++) {
-                        for (int i = oriY; i < endY; i++) {
-                            Integer dot = new Integer(j + i * getSkinnable().ledWidthProperty().intValue());
-                            if (dotMap.get(dot) != null) {
-                                int pos=posX.intValue();
-                                if(content.getEffect().equals(Content.Effect.MIRROR)){
-                                    if(content.getTxtAlign().equals(Content.Align.LEFT) && j-oriX>contentWidth/2){
-                                        pos=-pos;
-                                    } else if(content.getTxtAlign().equals(Content.Align.CENTER) && j-oriX>areaWidth/2d){
-                                        pos=-pos-areaWidth+contentWidth;                                                
-                                    } else if(content.getTxtAlign().equals(Content.Align.RIGHT) && j-oriX>-contentWidth/2+areaWidth){
-                                        pos=-pos+2*(contentWidth-areaWidth);
-                                    }                                            
-                                }
-
-                                int val = 0;
-                                if (j + pos >= oriX && j + pos < contentWidth + oriX &&
-                                    i + posY.intValue() >= oriY && i + posY.intValue() < contentHeight + oriY) {
-                                    val = contentArea[i + posY.intValue() - oriY][j + pos - oriX];
-                                } 
-                                if ((val > 0 && !isBlinkEffect) || (val>0 && isBlinkEffect && bBlink)) {
-                                    final int toneB=val/100;
-                                    final int toneG=(val-toneB*100)/10;
-                                    final int toneR=(val-toneB*100-toneG*10);
-                                    ((Circle)dotMap.get(dot)).setFill(Color.rgb(toneScale*toneR, toneScale*toneG, toneScale*toneB));
-                                } else { 
-                                    ((Circle)dotMap.get(dot)).setFill(COLOR_OFF);
-                                }
-                            }
-                        }
-                    }
-                    contentArea=null;
-                }
-                /*
-                 * INCREMENT TRASLATION OF CONTENT 
-                 * CHECK END OF MOVEMENT
-                 */
-                boolean endRotation=false;
-
-                if (content.getEffect().equals(Content.Effect.NONE)) {
-                    endRotation=true;
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_RIGHT)) {
-                    endRotation=(posX.intValue() <= limX); 
-                    if(posX.intValue() - advance*incrPos.getValue() <= limX){ 
-                        posX.set(limX);
-                    }
-                    else{
-                        posX.set(posX.intValue() - advance*incrPos.getValue());
-                    } 
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_LEFT) || 
-                           content.getEffect().equals(Content.Effect.MIRROR)) {
-                    endRotation=(posX.intValue() >= limX); 
-                    if(posX.intValue() + advance*incrPos.getValue() >= limX){ 
-                        posX.set(limX);
-                    }
-                    else{
-                        posX.set(posX.intValue() + advance*incrPos.getValue());
-                    }                    
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_DOWN)) {
-                    endRotation = (posY.intValue() <= 0); // fullHeight-fullHeight
-                    if(posY.intValue() - advance*incrPos.getValue() <= 0){ 
-                        posY.set(0);
-                    }
-                    else{
-                        posY.set(posY.intValue() - advance*incrPos.getValue());
-                    }
-                } else if (content.getEffect().equals(Content.Effect.SCROLL_UP)) {
-                    endRotation = (posY.intValue() >= 0); // -areaHeight+areaHeight
-                    if(posY.intValue() + advance*incrPos.getValue() >= 0){ 
-                        posY.set(0);
-                    }
-                    else{
-                        posY.set(posY.intValue() + advance*incrPos.getValue());
-                    } 
-                } else if (isBlinkEffect){
-                    if(contBlink==limitBlink){
-                        endRotation=true;
-                        contBlink=-1;
-                    } else if(incrPos.getValue()==1){ // not in pause time
-                        endRotation=false;
-                        contBlink+=1;
-                        bBlink=!bBlink;                                
-                    }
-                } else if (content.getEffect().equals(Content.Effect.SPRAY)) {             
-                    if(iter>=brightLeds.size()-1){
-                        endRotation=true;
-                        iter=0;
-                    }
-                    else{
-                        endRotation=false;
-                    }
-                }
-
-                /*
-                * POST EFFECT
-                */
-                if(endRotation) {
-
-                    if(content.getPostEffect().equals(Content.PostEffect.STOP)) { 
-//                        System.out.println("stop content "+iContent);
-                        this.stop();
-                    } else if(content.getPostEffect().equals(Content.PostEffect.REPEAT) || 
-                              content.getPostEffect().equals(Content.PostEffect.PAUSE)){
-                        posX.set(posXIni.get());
-                        posY.set(posYIni.get());                               
-
-                        incrPos.setValue(0);                               
-
-                        /*
-                        * PAUSE BETWEEN ROTATIONS
-                        */
-                        pTrans=new PauseTransition();
-                        if(content.getPostEffect().equals(Content.PostEffect.REPEAT)){
-                            pTrans.setDuration(Duration.millis(10));
-                        } else{
-                            pTrans.setDuration(Duration.millis(content.getPause()));
-                        }
-                        pTrans.setOnFinished((ActionEvent event) -> {
-                            incrPos.setValue(1);
-                            
-                            // clear screen
-                            if(content!=null && (content.getClear() || content.getEffect().equals(Content.Effect.SPRAY))){
-                                for (int i = oriY; i < endY; i++) {
-                                    for (int j = oriX; j < endX; j++) {
-                                        Integer dot = new Integer(j + i * getSkinnable().ledWidthProperty().intValue());
-                                        ((Circle)dotMap.get(dot)).setFill(COLOR_OFF);
-                                    }
-                                }
-                            }
-                            
-                            if(content!=null && !content.getOrder().equals(Content.RotationOrder.SINGLE)){
-                                // at the end of the content display, allow paired content to be displayed
-                                for(ContentPair pair: pairs){
-                                    if(pair.isInPair(iContent)){
-                                        visibleContent[pair.getFirstIndex()].setValue(!pair.isVisibleFirst());
-                                        visibleContent[pair.getSecondIndex()].setValue(!pair.isVisibleSecond());
-                                        pairs.get(pairs.indexOf(pair)).changeIndex();
-                                        break;
-                                    }                                
-                                }
-                            }
-                        });                                        
-                        pTrans.playFromStart();                                
-                    }
-
-                }
-                //System.out.println((now-lastUpdate)/1000000);
-                lastUpdate = now;
-            }
-        }
-        
-        @Override
-        public void stop(){
-            if(brightLeds!=null){
-                brightLeds.clear();
-                brightLeds=null;
-            }
-            if(arrBrightLeds!=null){
-                arrBrightLeds.clear();
-                arrBrightLeds=null;
+            if (generator.tick(now)) {
+                commitFrame();
             }
-            if(pTrans!=null){
-                pTrans.stop();
-                pTrans=null;
+            if (!generator.isRunning()) {
+                stop();
             }
-            content=null;
         }
-        
+    };
+    
+    @Override
+    public void dispose() {
+        clock.stop();
+        generator.stop();
+        super.dispose();
     }
-    private static class ContentPair {
-
-        private int indexFirst;
-        private int indexSecond;
-        private boolean bVisibleFirst;
-        
-        public ContentPair(int index1, int index2) {
-            indexFirst=index1;
-            bVisibleFirst=true;
-            indexSecond=index2; 
-        }
-        
-        public void setFirstIndex(int index){
-            indexFirst=index;
-            bVisibleFirst=true;
-        }
-        public void setSecondIndex(int index){
-            indexSecond=index;
-        }
-        
-        public void changeIndex(){
-            bVisibleFirst=!bVisibleFirst;
-        }
-        public int getFirstIndex() {
-            return indexFirst;
-        }
-        public int getSecondIndex() {
-            return indexSecond;
-        }
+    
 
-        public boolean isVisibleFirst(){
-            return bVisibleFirst;
-        }
-        
-        public boolean isVisibleSecond(){
-            return !bVisibleFirst;
-        }
-        private boolean isInPair(int iContent) {
-            return (indexFirst==iContent || indexSecond==iContent);
-        }
-        
-    }
 }
@@ -36,20 +36,36 @@ import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.BooleanProperty;
@@ -303,6 +319,11 @@ import javafx.util.StringConverter;
  * 		Calendar.class);
  * </pre>
  * 
+ * {@link java.time.LocalDate}, {@link java.time.LocalDateTime} and
+ * {@link java.time.Instant} fields are coerced the same way. Additional
+ * conversions can be added using
+ * {@link #registerCoercion(Class, Class, Function)}.
+ * 
  * </li>
  * <li>
  * <b>{@link javafx.scene.control.TableView} binding:</b>
@@ -346,6 +367,20 @@ import javafx.util.StringConverter;
  * </pre>
  * 
  * </li>
+ * <li>
+ * <b>Updating many fields from a background thread:</b>
+ * 
+ * <pre>
+ * final BeanPathAdapter&lt;Person&gt; personPA = new BeanPathAdapter&lt;&gt;(person);
+ * // on any thread
+ * final BeanPathAdapter.Transaction tx = personPA.begin();
+ * tx.set(&quot;name&quot;, name).set(&quot;address.city&quot;, city);
+ * // applies the values on the JavaFX application thread and notifies
+ * // fieldPathValueProperty() once using FieldPathValueType.BATCH_CHANGE
+ * tx.commit();
+ * </pre>
+ * 
+ * </li>
  * </ol>
  * 
  * @see #bindBidirectional(String, Property)
@@ -606,6 +641,26 @@ public class BeanPathAdapter<B> {
 				FieldBeanOperation.UNBIND);
 	}
 
+	/**
+	 * Registers a coercion that will be used whenever a value of the source
+	 * class (or any of its sub classes) needs to be converted to the target
+	 * class while binding. Coercions are resolved once per pair of classes and
+	 * may be called from any thread.
+	 * 
+	 * @param sourceClass
+	 *            the class of the value that will be coerced
+	 * @param targetClass
+	 *            the class that the value will be coerced to
+	 * @param coercion
+	 *            the coercion
+	 */
+	public static <S, V> void registerCoercion(final Class<S> sourceClass,
+			final Class<V> targetClass,
+			final Function<? super S, ? extends V> coercion) {
+		FieldStringConverter.registerCoercion(sourceClass, targetClass,
+				coercion);
+	}
+
 	/**
 	 * @return the bean of the {@link BeanPathAdapter}
 	 */
@@ -637,6 +692,72 @@ public class BeanPathAdapter<B> {
 		}
 	}
 
+	/**
+	 * Begins a {@link Transaction} that collects field path values that will
+	 * be set on the {@link #getBean()} together. Values can be added to the
+	 * {@link Transaction} from any thread. They are applied on the JavaFX
+	 * application thread when the {@link Transaction} is committed and
+	 * result in a single {@link FieldPathValueType#BATCH_CHANGE}
+	 * notification.
+	 * 
+	 * @see Transaction#set(String, Object)
+	 * @see Transaction#commit()
+	 * @return the new {@link Transaction}
+	 */
+	public Transaction begin() {
+		return new Transaction(this);
+	}
+
+	/**
+	 * Sets the values of a committed {@link Transaction} and notifies the
+	 * {@link #fieldPathValueProperty()} of the resulting changes at once.
+	 * When it is called while another {@link Transaction} is applied (e.g.
+	 * by a listener) its changes are notified together with the ones of the
+	 * other {@link Transaction}. Must be called on the JavaFX application
+	 * thread.
+	 * 
+	 * @param values
+	 *            the <b><code>.</code></b> separated field paths and the
+	 *            values to set on them
+	 */
+	protected void applyTransaction(final Map<String, Object> values) {
+		RuntimeException error = null;
+		List<FieldPathValue> changes;
+		fieldPathValueProperty.beginBatch();
+		try {
+			for (final Map.Entry<String, Object> value : values.entrySet()) {
+				try {
+					getRoot().performOperation(value.getKey(),
+							(Property<Object>) null, null,
+							FieldBeanOperation.CREATE_OR_FIND).set(
+							value.getValue());
+				} catch (final RuntimeException e) {
+					if (error == null) {
+						error = e;
+					} else {
+						error.addSuppressed(e);
+					}
+				}
+			}
+		} finally {
+			changes = fieldPathValueProperty.endBatch();
+		}
+		if (!changes.isEmpty()) {
+			if (hasFieldPathValueTypes(FieldPathValueType.BATCH_CHANGE)) {
+				fieldPathValueProperty.set(new FieldPathValue(null, getBean(),
+						Collections.unmodifiableList(changes),
+						FieldPathValueType.BATCH_CHANGE));
+			} else {
+				for (final FieldPathValue change : changes) {
+					fieldPathValueProperty.set(change);
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
 	/**
 	 * @return the root/top level {@link FieldBean}
 	 */
@@ -737,6 +858,8 @@ public class BeanPathAdapter<B> {
 			ReadOnlyObjectWrapper<FieldPathValue> {
 
 		private final Set<FieldPathValueType> types;
+		private List<FieldPathValue> batch;
+		private int batchDepth;
 
 		/**
 		 * Constructor
@@ -747,6 +870,51 @@ public class BeanPathAdapter<B> {
 			addRemoveTypes(true, FieldPathValueType.values());
 		}
 
+		/**
+		 * Collects the {@link FieldPathValue}s that are set from now on
+		 * instead of notifying about each one of them. Batches can be nested
+		 * (e.g. a listener that commits a {@link Transaction} while another
+		 * one is applied): the {@link FieldPathValue}s of a nested batch are
+		 * collected by the outermost one.
+		 * 
+		 * @see #endBatch()
+		 */
+		public void beginBatch() {
+			if (batchDepth++ == 0) {
+				batch = new ArrayList<>();
+			}
+		}
+
+		/**
+		 * Stops collecting the {@link FieldPathValue}s that are set
+		 * 
+		 * @see #beginBatch()
+		 * @return the {@link FieldPathValue}s that have been set since the
+		 *         outermost {@link #beginBatch()}, or an empty {@link List}
+		 *         when the batch is nested (its {@link FieldPathValue}s
+		 *         remain in the outer batch)
+		 */
+		public List<FieldPathValue> endBatch() {
+			if (batchDepth == 0 || --batchDepth > 0) {
+				return new ArrayList<FieldPathValue>();
+			}
+			final List<FieldPathValue> values = batch;
+			batch = null;
+			return values;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void set(final FieldPathValue newValue) {
+			if (batch != null) {
+				batch.add(newValue);
+			} else {
+				super.set(newValue);
+			}
+		}
+
 		/**
 		 * Adds/Removes {@link FieldPathValueType}(s)
 		 * 
@@ -791,6 +959,112 @@ public class BeanPathAdapter<B> {
 		}
 	}
 
+	/**
+	 * A set of field path values that are applied to the bean of a
+	 * {@link BeanPathAdapter} together. The values can be set from any thread
+	 * (e.g. a background service that loads the bean's data). Setting the same
+	 * path more than once keeps the last value. Nothing is applied until
+	 * {@link #commit()} is called, which hands all of the values to the JavaFX
+	 * application thread at once. There they are applied to the bean that the
+	 * {@link BeanPathAdapter} has at that time.
+	 * 
+	 * @see BeanPathAdapter#begin()
+	 */
+	public static class Transaction {
+
+		private final BeanPathAdapter<?> adapter;
+		private final Map<String, Object> values = new LinkedHashMap<>();
+		private boolean done;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param adapter
+		 *            the {@link BeanPathAdapter} that the values will be
+		 *            applied to
+		 */
+		protected Transaction(final BeanPathAdapter<?> adapter) {
+			this.adapter = adapter;
+		}
+
+		/**
+		 * Sets a value that will be applied when the {@link Transaction} is
+		 * committed
+		 * 
+		 * @param fieldPath
+		 *            the <b><code>.</code></b> separated field paths relative
+		 *            to the {@link BeanPathAdapter#getBean()}
+		 * @param value
+		 *            the value to set (coerced to the field type the same way
+		 *            a bound property value is)
+		 * @return the {@link Transaction}
+		 */
+		public synchronized Transaction set(final String fieldPath,
+				final Object value) {
+			if (fieldPath == null) {
+				throw new NullPointerException("fieldPath cannot be null");
+			}
+			checkNotDone();
+			values.put(fieldPath, value);
+			return this;
+		}
+
+		/**
+		 * Applies all of the values on the JavaFX application thread (right
+		 * away when called from it, otherwise using
+		 * {@link Platform#runLater(Runnable)}). The resulting changes are
+		 * reported by a single {@link FieldPathValueType#BATCH_CHANGE}
+		 * {@link FieldPathValue}. A {@link Transaction} can only be committed
+		 * once.
+		 */
+		public void commit() {
+			final Map<String, Object> committed;
+			synchronized (this) {
+				checkNotDone();
+				done = true;
+				committed = new LinkedHashMap<>(values);
+				values.clear();
+			}
+			if (committed.isEmpty()) {
+				return;
+			}
+			if (Platform.isFxApplicationThread()) {
+				adapter.applyTransaction(committed);
+			} else {
+				Platform.runLater(() -> adapter.applyTransaction(committed));
+			}
+		}
+
+		/**
+		 * Discards all of the values that have been set
+		 */
+		public synchronized void rollback() {
+			checkNotDone();
+			done = true;
+			values.clear();
+		}
+
+		/**
+		 * @return true when the {@link Transaction} has been committed or
+		 *         rolled back
+		 */
+		public synchronized boolean isDone() {
+			return done;
+		}
+
+		/**
+		 * @throws IllegalStateException
+		 *             when the {@link Transaction} has been committed or
+		 *             rolled back
+		 */
+		private void checkNotDone() {
+			if (done) {
+				throw new IllegalStateException(Transaction.class
+						.getSimpleName() + " has already been completed");
+			}
+		}
+	}
+
 	/**
 	 * Field {@link #getPath()}/{@link #getValue()}
 	 */
@@ -948,7 +1222,13 @@ public class BeanPathAdapter<B> {
 		/** Selection item added via content binding */
 		CONTENT_ITEM_ADD_SELECT,
 		/** Selection item removed via content binding */
-		CONTENT_ITEM_REMOVE_SELECT;
+		CONTENT_ITEM_REMOVE_SELECT,
+		/**
+		 * Changes committed together by a {@link Transaction} (the
+		 * {@link FieldPathValue#getValue()} is the {@link List} of
+		 * {@link FieldPathValue}s that the changes resulted in)
+		 */
+		BATCH_CHANGE;
 	}
 
 	/**
@@ -1287,40 +1567,57 @@ public class BeanPathAdapter<B> {
 				final SelectionModel<T> selectionModel,
 				final FieldProperty<?, ?, ?> itemMaster,
 				final FieldBeanOperation operation) {
-			final String[] fieldNames = fieldPath.split("\\" + PATH_SEPARATOR);
-			final boolean isField = fieldNames.length == 1;
-			final String pkey = isField ? fieldNames[0] : "";
-			final boolean isFieldProp = isField
-					&& getFieldProperties().containsKey(pkey);
-			final boolean isFieldSelProp = isField && !isFieldProp
-					&& getFieldSelectionProperties().containsKey(pkey);
-			if (isFieldProp || isFieldSelProp) {
-				final FieldProperty<BT, ?, ?> fp = isFieldSelProp ? getFieldSelectionProperties()
-						.get(pkey) : getFieldProperties().get(pkey);
+			return performOperation(fullFieldPath,
+					FieldPath.of(getBean().getClass(), fieldPath),
+					propertyValueClass, collectionItemPath, observable,
+					collectionItemType, selectionModel, itemMaster, operation);
+		}
+
+		/**
+		 * Performs a {@link FieldBeanOperation} using a compiled
+		 * {@link FieldPath} of the {@link #getBean()} class
+		 * 
+		 * @see #performOperation(String, String, Class, String, Observable,
+		 *      Class, SelectionModel, FieldProperty, FieldBeanOperation)
+		 */
+		protected <T> FieldProperty<?, ?, ?> performOperation(
+				final String fullFieldPath, final FieldPath fieldPath,
+				final Class<T> propertyValueClass,
+				final String collectionItemPath, final Observable observable,
+				final Class<?> collectionItemType,
+				final SelectionModel<T> selectionModel,
+				final FieldProperty<?, ?, ?> itemMaster,
+				final FieldBeanOperation operation) {
+			final String fieldName = fieldPath.getFieldName();
+			final boolean isField = fieldPath.isField();
+			final FieldProperty<BT, ?, ?> fp = isField ? getFieldProperty(fieldName)
+					: null;
+			if (fp != null) {
 				performOperation(fp, observable, propertyValueClass, operation);
 				return fp;
-			} else if (!isField && getFieldBeans().containsKey(fieldNames[0])) {
+			}
+			final FieldBean<BT, ?> fb = isField ? null : getFieldBeans().get(
+					fieldName);
+			if (fb != null) {
 				// progress to the next child field/bean in the path chain
-				final String nextFieldPath = fieldPath.replaceFirst(
-						fieldNames[0] + PATH_SEPARATOR, "");
-				return getFieldBeans().get(fieldNames[0]).performOperation(
-						fullFieldPath, nextFieldPath, propertyValueClass,
-						collectionItemPath, observable, collectionItemType,
-						selectionModel, itemMaster, operation);
+				return fb.performOperation(fullFieldPath,
+						fieldPath.getNext(fb.getBean().getClass()),
+						propertyValueClass, collectionItemPath, observable,
+						collectionItemType, selectionModel, itemMaster,
+						operation);
 			} else if (operation != FieldBeanOperation.UNBIND) {
 				// add a new bean/property chain
 				if (isField) {
-					final Class<?> fieldClass = FieldHandle.getAccessorType(
-							getBean(), fieldNames[0]);
+					final Class<?> fieldClass = fieldPath.getAccessorType();
 					final FieldProperty<BT, ?, ?> childProp = new FieldProperty/*won't compile in JDK8: <>*/(
-							getBean(), fullFieldPath, fieldNames[0],
+							getBean(), fullFieldPath, fieldName,
 							notifyProperty,
 							propertyValueClass == fieldClass ? fieldClass
 									: Object.class, collectionItemPath,
 							observable, collectionItemType, selectionModel,
 							itemMaster);
 					addOrUpdateFieldProperty(childProp);
-					return performOperation(fullFieldPath, fieldNames[0],
+					return performOperation(fullFieldPath, fieldPath,
 							propertyValueClass, collectionItemPath, observable,
 							collectionItemType, selectionModel, itemMaster,
 							operation);
@@ -1330,16 +1627,15 @@ public class BeanPathAdapter<B> {
 					// if the child bean exists on the bean it will remain
 					// unchanged
 					final FieldHandle<BT, Object> pfh = new FieldHandle<>(
-							getBean(), fieldNames[0], Object.class);
+							getBean(), fieldName, Object.class);
 					final FieldBean<BT, ?> childBean = new FieldBean<>(this,
 							pfh, notifyProperty);
 					// progress to the next child field/bean in the path chain
-					final String nextFieldPath = fieldPath.substring(fieldPath
-							.indexOf(PATH_SEPARATOR + fieldNames[1]) + 1);
 					return childBean.performOperation(fullFieldPath,
-							nextFieldPath, propertyValueClass,
-							collectionItemPath, observable, collectionItemType,
-							selectionModel, itemMaster, operation);
+							fieldPath.getNext(childBean.getBean().getClass()),
+							propertyValueClass, collectionItemPath, observable,
+							collectionItemType, selectionModel, itemMaster,
+							operation);
 				}
 			}
 			return null;
@@ -1525,6 +1821,127 @@ public class BeanPathAdapter<B> {
 		}
 	}
 
+	/**
+	 * A <code>.</code> separated field path compiled for a bean class: the
+	 * first field name, the resolved accessor type of that field and the
+	 * compiled remainder of the path. {@link FieldPath}s are immutable apart
+	 * from what they resolve lazily and are cached per bean class and path,
+	 * so walking a path that was bound before involves no string operations.
+	 * The cache is a {@link ClassValue}, so it doesn't keep a bean class from
+	 * being unloaded.
+	 */
+	protected static final class FieldPath {
+
+		private static final ClassValue<ConcurrentMap<String, FieldPath>> PATHS = new ClassValue<ConcurrentMap<String, FieldPath>>() {
+			@Override
+			protected ConcurrentMap<String, FieldPath> computeValue(
+					final Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
+		private final Class<?> beanClass;
+		private final String path;
+		private final String fieldName;
+		private final String lastFieldName;
+		private final String nextPath;
+		private volatile FieldPath next;
+		private volatile Class<?> accessorType;
+
+		/**
+		 * Gets the cached {@link FieldPath}, compiling it on first use
+		 * 
+		 * @param beanClass
+		 *            the class of the bean that the path is relative to
+		 * @param path
+		 *            the <code>.</code> separated field names
+		 * @return the {@link FieldPath}
+		 */
+		public static FieldPath of(final Class<?> beanClass, final String path) {
+			final ConcurrentMap<String, FieldPath> paths = PATHS.get(beanClass);
+			FieldPath fieldPath = paths.get(path);
+			if (fieldPath == null) {
+				fieldPath = new FieldPath(beanClass, path);
+				final FieldPath existing = paths.putIfAbsent(path, fieldPath);
+				if (existing != null) {
+					fieldPath = existing;
+				}
+			}
+			return fieldPath;
+		}
+
+		private FieldPath(final Class<?> beanClass, final String path) {
+			final int separator = path.indexOf(PATH_SEPARATOR);
+			this.beanClass = beanClass;
+			this.path = path;
+			this.fieldName = (separator < 0 ? path : path.substring(0,
+					separator)).intern();
+			this.lastFieldName = path.substring(
+					path.lastIndexOf(PATH_SEPARATOR) + 1).intern();
+			this.nextPath = separator < 0 ? null : path
+					.substring(separator + 1);
+		}
+
+		/**
+		 * @return true when the path is a single field of the bean
+		 */
+		public boolean isField() {
+			return nextPath == null;
+		}
+
+		/**
+		 * @return the first field name of the path
+		 */
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		/**
+		 * @return the last field name of the path
+		 */
+		public String getLastFieldName() {
+			return lastFieldName;
+		}
+
+		/**
+		 * Gets the remainder of the path after {@link #getFieldName()}
+		 * 
+		 * @param childClass
+		 *            the class of the child bean that the remainder is
+		 *            relative to
+		 * @return the compiled remainder (null when {@link #isField()})
+		 */
+		public FieldPath getNext(final Class<?> childClass) {
+			if (nextPath == null) {
+				return null;
+			}
+			FieldPath fieldPath = next;
+			if (fieldPath == null || fieldPath.beanClass != childClass) {
+				fieldPath = of(childClass, nextPath);
+				next = fieldPath;
+			}
+			return fieldPath;
+		}
+
+		/**
+		 * @return the return type of the accessor of {@link #getFieldName()}
+		 *         on the bean class
+		 */
+		public Class<?> getAccessorType() {
+			Class<?> type = accessorType;
+			if (type == null) {
+				type = FieldHandle.accessors(beanClass, fieldName)
+						.getAccessor().type().returnType();
+				accessorType = type;
+			}
+			return type;
+		}
+
+		@Override
+		public String toString() {
+			return path;
+		}
+	}
+
 	/**
 	 * Coercible {@link StringConverter} that handles conversions between
 	 * strings and a target class when used in the binding process
@@ -1537,10 +1954,79 @@ public class BeanPathAdapter<B> {
 	 */
 	protected static class FieldStringConverter<T> extends StringConverter<T> {
 
-		public static final SimpleDateFormat SDF = new SimpleDateFormat(
-				"yyyy-MM-dd'T'HH:mm:ssz");
+		/**
+		 * The pattern used to convert {@link Date}/{@link Calendar} values
+		 * to/from a {@link String}
+		 */
+		public static final String DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ssz";
+		/**
+		 * The {@link DateTimeFormatter} used to convert {@link Date}/
+		 * {@link Calendar} values to a {@link String} (in the default time zone
+		 * when the {@link FieldStringConverter} class is loaded). Unlike a
+		 * {@link java.text.SimpleDateFormat} it can be shared between threads.
+		 */
+		public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+				.ofPattern(DATE_TIME_PATTERN).withZone(ZoneId.systemDefault());
+		private static final DateTimeFormatter DATE_TIME_PARSER = new DateTimeFormatterBuilder()
+				.appendPattern("yyyy-MM-dd'T'HH:mm:ss").optionalStart()
+				.appendZoneText(TextStyle.SHORT,
+						Collections.singleton(ZoneId.systemDefault()))
+				.optionalEnd().optionalStart().appendOffset("+HHMM", "Z")
+				.optionalEnd().toFormatter()
+				.withZone(ZoneId.systemDefault());
+		private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Function<Object, Object>>> COERCIONS = new ConcurrentHashMap<>();
+		private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, ResolvedCoercion>> RESOLVED = new ConcurrentHashMap<>();
+		private static final AtomicInteger REGISTRY_VERSION = new AtomicInteger();
 		private final Class<T> targetClass;
 
+		static {
+			registerCoercion(SelectionModel.class, String.class,
+					v -> v.getSelectedItem() != null ? v.getSelectedItem()
+							.toString() : null);
+			registerCoercion(Date.class, String.class,
+					v -> DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(v
+							.getTime())));
+			registerCoercion(Calendar.class, String.class,
+					v -> DATE_TIME_FORMATTER.format(v.toInstant()));
+			registerCoercion(String.class, Date.class,
+					v -> Date.from(Instant.from(DATE_TIME_PARSER.parse(v))));
+			registerCoercion(String.class, Calendar.class,
+					v -> toCalendar(Instant.from(DATE_TIME_PARSER.parse(v))));
+			registerCoercion(String.class, Instant.class, Instant::parse);
+			registerCoercion(String.class, LocalDate.class, LocalDate::parse);
+			registerCoercion(String.class, LocalDateTime.class,
+					LocalDateTime::parse);
+			// the date/time types are converted between each other using
+			// the instant they represent in the default time zone
+			final Map<Class<?>, Function<Object, Instant>> toInstant = new HashMap<>();
+			toInstant.put(Date.class,
+					v -> Instant.ofEpochMilli(((Date) v).getTime()));
+			toInstant.put(Calendar.class, v -> ((Calendar) v).toInstant());
+			toInstant.put(Instant.class, v -> (Instant) v);
+			toInstant.put(LocalDate.class, v -> ((LocalDate) v).atStartOfDay(
+					ZoneId.systemDefault()).toInstant());
+			toInstant.put(LocalDateTime.class, v -> ((LocalDateTime) v).atZone(
+					ZoneId.systemDefault()).toInstant());
+			final Map<Class<?>, Function<Instant, Object>> fromInstant = new HashMap<>();
+			fromInstant.put(Date.class, Date::from);
+			fromInstant.put(Calendar.class, FieldStringConverter::toCalendar);
+			fromInstant.put(Instant.class, i -> i);
+			fromInstant.put(LocalDate.class, i -> i.atZone(ZoneId.systemDefault())
+					.toLocalDate());
+			fromInstant.put(LocalDateTime.class,
+					i -> LocalDateTime.ofInstant(i, ZoneId.systemDefault()));
+			for (final Map.Entry<Class<?>, Function<Object, Instant>> from : toInstant
+					.entrySet()) {
+				for (final Map.Entry<Class<?>, Function<Instant, Object>> to : fromInstant
+						.entrySet()) {
+					if (from.getKey() != to.getKey()) {
+						putCoercion(from.getKey(), to.getKey(), from.getValue()
+								.andThen(to.getValue()));
+					}
+				}
+			}
+		}
+
 		/**
 		 * Constructor
 		 * 
@@ -1575,6 +2061,173 @@ public class BeanPathAdapter<B> {
 			return targetClass;
 		}
 
+		/**
+		 * Registers a coercion from a source class (or any of its sub
+		 * classes) to a target class. Registered coercions take precedence
+		 * over the default <code>valueOf</code> conversion of the target
+		 * class and can be used to replace the built in {@link Date},
+		 * {@link Calendar}, {@link Instant}, {@link LocalDate} and
+		 * {@link LocalDateTime} coercions. The coercion may be called from
+		 * any thread.
+		 * 
+		 * @param sourceClass
+		 *            the class of the value that will be coerced
+		 * @param targetClass
+		 *            the class that the value will be coerced to
+		 * @param coercion
+		 *            the coercion
+		 */
+		@SuppressWarnings("unchecked")
+		public static <S, V> void registerCoercion(final Class<S> sourceClass,
+				final Class<V> targetClass,
+				final Function<? super S, ? extends V> coercion) {
+			putCoercion(sourceClass, targetClass,
+					(Function<Object, Object>) coercion);
+		}
+
+		/**
+		 * Adds a coercion to the registered coercions and increments the
+		 * version of the registry, so the coercions that have been resolved
+		 * before are resolved again
+		 * 
+		 * @param sourceClass
+		 *            the class of the value that will be coerced
+		 * @param targetClass
+		 *            the class that the value will be coerced to
+		 * @param coercion
+		 *            the coercion
+		 */
+		private static void putCoercion(final Class<?> sourceClass,
+				final Class<?> targetClass,
+				final Function<Object, Object> coercion) {
+			COERCIONS.computeIfAbsent(sourceClass,
+					c -> new ConcurrentHashMap<>()).put(targetClass, coercion);
+			REGISTRY_VERSION.incrementAndGet();
+		}
+
+		/**
+		 * Gets the coercion from a source class to a target class. The
+		 * coercion is resolved on first use and cached for the pair of
+		 * classes along with the version of the registry it was resolved
+		 * from. A coercion that was resolved while another one was being
+		 * registered is therefore never used after the registration.
+		 * 
+		 * @param sourceClass
+		 *            the class of the value that will be coerced
+		 * @param targetClass
+		 *            the class that the value will be coerced to
+		 * @return the coercion
+		 */
+		protected static Function<Object, Object> coercion(
+				final Class<?> sourceClass, final Class<?> targetClass) {
+			final ConcurrentMap<Class<?>, ResolvedCoercion> targets = RESOLVED
+					.computeIfAbsent(sourceClass,
+							c -> new ConcurrentHashMap<>());
+			// read before resolving: a registration during the resolution
+			// makes the result outdated
+			final int version = REGISTRY_VERSION.get();
+			final ResolvedCoercion resolved = targets.get(targetClass);
+			if (resolved != null && resolved.version == version) {
+				return resolved.coercion;
+			}
+			final ResolvedCoercion coercion = new ResolvedCoercion(version,
+					resolveCoercion(sourceClass, targetClass));
+			targets.merge(targetClass, coercion,
+					(r1, r2) -> r1.version > r2.version ? r1 : r2);
+			return coercion.coercion;
+		}
+
+		/**
+		 * Resolves a coercion from a source class to a target class. In order
+		 * of precedence: a coercion registered for the source class or one of
+		 * its super classes/interfaces, {@link Object#toString()} when the
+		 * target is a {@link String}, a coercion of the
+		 * {@link Object#toString()} value when the source is not a
+		 * {@link String}, or the <code>valueOf(String)</code> method of the
+		 * target class.
+		 * 
+		 * @param sourceClass
+		 *            the class of the value that will be coerced
+		 * @param targetClass
+		 *            the class that the value will be coerced to
+		 * @return the coercion
+		 */
+		private static Function<Object, Object> resolveCoercion(
+				final Class<?> sourceClass, final Class<?> targetClass) {
+			final List<Class<?>> classes = new ArrayList<>();
+			classes.add(sourceClass);
+			for (int i = 0; i < classes.size(); i++) {
+				final Class<?> clazz = classes.get(i);
+				final Map<Class<?>, Function<Object, Object>> targets = COERCIONS
+						.get(clazz);
+				if (targets != null && targets.containsKey(targetClass)) {
+					return targets.get(targetClass);
+				}
+				if (clazz.getSuperclass() != null) {
+					classes.add(clazz.getSuperclass());
+				}
+				classes.addAll(Arrays.asList(clazz.getInterfaces()));
+			}
+			if (targetClass == String.class) {
+				return Object::toString;
+			} else if (sourceClass != String.class) {
+				final Function<Object, Object> fromString = coercion(
+						String.class, targetClass);
+				return v -> fromString.apply(v.toString());
+			}
+			final MethodHandle valueOf = FieldHandle.findValueOf(targetClass);
+			if (valueOf == null) {
+				// class doesn't support it
+				return v -> null;
+			}
+			return v -> {
+				try {
+					return valueOf.invoke(v);
+				} catch (final Throwable t) {
+					throw new IllegalArgumentException(String.format(
+							"Unable to invoke valueOf on %1$s using %2$s", v,
+							targetClass), t);
+				}
+			};
+		}
+
+		/**
+		 * A resolved coercion and the version of the registry it was
+		 * resolved from
+		 */
+		private static class ResolvedCoercion {
+			private final int version;
+			private final Function<Object, Object> coercion;
+
+			/**
+			 * Constructor
+			 * 
+			 * @param version
+			 *            the version of the registry
+			 * @param coercion
+			 *            the coercion
+			 */
+			private ResolvedCoercion(final int version,
+					final Function<Object, Object> coercion) {
+				this.version = version;
+				this.coercion = coercion;
+			}
+		}
+
+		/**
+		 * Creates a {@link Calendar} in the default time zone set to the
+		 * specified {@link Instant}
+		 * 
+		 * @param instant
+		 *            the {@link Instant}
+		 * @return the {@link Calendar}
+		 */
+		private static Calendar toCalendar(final Instant instant) {
+			final Calendar cal = new GregorianCalendar();
+			cal.setTimeInMillis(instant.toEpochMilli());
+			return cal;
+		}
+
 		/**
 		 * Attempts to coerce a value into a {@link String}
 		 * 
@@ -1583,21 +2236,10 @@ public class BeanPathAdapter<B> {
 		 * @return the coerced value (null when value failed to be coerced)
 		 */
 		public static <VT> String coerceToString(final VT v) {
-			String cv = null;
-			if (v != null
-					&& SelectionModel.class.isAssignableFrom(v.getClass())) {
-				cv = ((SelectionModel<?>) v).getSelectedItem() != null ? ((SelectionModel<?>) v)
-						.getSelectedItem().toString() : null;
-			} else if (v != null
-					&& (Calendar.class.isAssignableFrom(v.getClass()) || Date.class
-							.isAssignableFrom(v.getClass()))) {
-				final Date date = Date.class.isAssignableFrom(v.getClass()) ? (Date) v
-						: ((Calendar) v).getTime();
-				cv = SDF.format(date);
-			} else if (v != null) {
-				cv = v.toString();
+			if (v == null) {
+				return null;
 			}
-			return cv;
+			return (String) coercion(v.getClass(), String.class).apply(v);
 		}
 
 		/**
@@ -1614,47 +2256,20 @@ public class BeanPathAdapter<B> {
 			if (targetClass == Object.class) {
 				return (VT) v;
 			}
-			VT val;
-			final boolean isStringType = targetClass.equals(String.class);
 			if (v == null
-					|| (!isStringType && v.toString() != null && v.toString()
-							.isEmpty())) {
-				val = (VT) FieldHandle.defaultValue(targetClass);
-			} else if (isStringType
-					|| (v != null && targetClass.isAssignableFrom(v.getClass()))) {
-				val = (VT) targetClass.cast(v);
-			} else if (v != null && Date.class.isAssignableFrom(targetClass)) {
-				if (Calendar.class.isAssignableFrom(v.getClass())) {
-					val = (VT) ((Calendar) v).getTime();
-				} else if (java.util.Date.class.isAssignableFrom(v.getClass())) {
-					val = (VT) (Date) v;
-				} else {
-					try {
-						val = (VT) SDF.parse(v.toString());
-					} catch (final Throwable t) {
-						throw new IllegalArgumentException(String.format(
-								"Unable to convert %1$s to %2$s", v,
-								targetClass), t);
-					}
-				}
-			} else if (v != null
-					&& Calendar.class.isAssignableFrom(targetClass)) {
-				final Calendar cal = Calendar.getInstance();
-				Date date = null;
-				try {
-					date = Date.class.isAssignableFrom(v.getClass()) ? (Date) v
-							: SDF.parse(v.toString());
-					cal.setTime(date);
-					val = (VT) cal;
-				} catch (final Throwable t) {
-					throw new IllegalArgumentException(String.format(
-							"Unable to convert %1$s to %2$s", v, targetClass),
-							t);
-				}
-			} else {
-				val = FieldHandle.valueOf(targetClass, v.toString());
+					|| (targetClass != String.class
+							&& v instanceof CharSequence && ((CharSequence) v)
+							.length() == 0)) {
+				return FieldHandle.defaultValue(targetClass);
+			} else if (targetClass.isInstance(v)) {
+				return (VT) v;
+			}
+			try {
+				return (VT) coercion(v.getClass(), targetClass).apply(v);
+			} catch (final DateTimeException e) {
+				throw new IllegalArgumentException(String.format(
+						"Unable to convert %1$s to %2$s", v, targetClass), e);
 			}
-			return val;
 		}
 	}
 
@@ -1680,10 +2295,14 @@ public class BeanPathAdapter<B> {
 		private boolean isDirtyCollection;
 		private boolean isCollectionListening;
 		private final String collectionItemPath;
+		private final boolean isCollectionItemPath;
+		private String collectionItemFullPath;
 		private final WeakReference<Observable> collectionObservable;
 		private final Class<?> collectionType;
 		private final SelectionModel<Object> collectionSelectionModel;
 		private final FieldProperty<?, ?, ?> itemMaster;
+		private final Map<Object, FieldProperty<?, ?, ?>> itemFieldProperties = new IdentityHashMap<>();
+		private Map<Object, FieldProperty<?, ?, ?>> itemMasterIndex;
 
 		/**
 		 * Constructor
@@ -1739,6 +2358,8 @@ public class BeanPathAdapter<B> {
 				final FieldProperty<?, ?, ?> itemMaster) {
 			super();
 			this.fullPath = fullPath;
+			this.isCollectionItemPath = fullPath
+					.indexOf(COLLECTION_ITEM_PATH_SEPARATOR) >= 0;
 			this.notifyProperty = notifyProperty;
 			this.fieldHandle = new FieldHandle<BT, T>(bean, fieldName,
 					declaredFieldType);
@@ -1844,7 +2465,7 @@ public class BeanPathAdapter<B> {
 				// are not registered (in which case a normal change will be
 				// evaluated
 				if (!isDirty
-						&& (fullPath.indexOf(COLLECTION_ITEM_PATH_SEPARATOR) < 0 || (notifyProperty
+						&& (!isCollectionItemPath || (notifyProperty
 								.hasTypes(FieldPathValueType.FIELD_CHANGE)
 								&& !hasFieldPathValueTypeAddOrRemove(true) && !hasFieldPathValueTypeAddOrRemove(false)))) {
 					final Object cv = getDirty();
@@ -1948,11 +2569,8 @@ public class BeanPathAdapter<B> {
 			}
 			try {
 				isDirtyCollection = true;
-				// TODO : Use a more elegant technique to synchronize the
-				// observable
-				// and the bean collections that doesn't require clearing and
-				// resetting them? (see commented onChange methods from revision
-				// 204)
+				// the observable is only changed where it differs from the bean
+				// collection (see replaceObservableValues)
 				if (this.collectionObservable.get() != null
 						&& Collection.class
 								.isAssignableFrom(this.collectionObservable
@@ -1968,15 +2586,15 @@ public class BeanPathAdapter<B> {
 							final boolean wasColEmpty = col.isEmpty();
 							if (collectionSelectionModel != null) {
 								collectionSelectionModel.clearSelection();
+								if (!wasColEmpty) {
+									syncObservableFromCollectionValues(col, oc);
+								}
 							} else if (!wasColEmpty || isDirty) {
-								oc.clear();
+								syncObservableFromCollectionValues(col, oc);
 								changed = true;
 							} else {
 								changed = syncCollectionValuesFromObservable(col, oc);
 							}
-							if (!wasColEmpty) {
-								syncObservableFromCollectionValues(col, oc);
-							}
 						}
 					} else if (Map.class.isAssignableFrom(values.getClass())) {
 						final Map<Object, Object> map = (Map<Object, Object>) values;
@@ -1987,15 +2605,15 @@ public class BeanPathAdapter<B> {
 							final boolean wasColEmpty = map.isEmpty();
 							if (collectionSelectionModel != null) {
 								collectionSelectionModel.clearSelection();
+								if (!wasColEmpty) {
+									syncObservableFromCollectionValues(map, oc);
+								}
 							} else if (!wasColEmpty || isDirty) {
-								oc.clear();
+								syncObservableFromCollectionValues(map, oc);
 								changed = true;
 							} else {
 								changed = syncCollectionValuesFromObservable(map, oc);
 							}
-							if (!wasColEmpty) {
-								syncObservableFromCollectionValues(map, oc);
-							}
 						}
 					}
 				} else if (this.collectionObservable.get() instanceof ObservableMap) {
@@ -2010,15 +2628,15 @@ public class BeanPathAdapter<B> {
 							final boolean wasColEmpty = col.isEmpty();
 							if (collectionSelectionModel != null) {
 								collectionSelectionModel.clearSelection();
+								if (!wasColEmpty) {
+									syncObservableFromCollectionValues(col, oc);
+								}
 							} else if (!wasColEmpty || isDirty) {
-								oc.clear();
+								syncObservableFromCollectionValues(col, oc);
 								changed = true;
 							} else {
 								changed = syncCollectionValuesFromObservable(col, oc);
 							}
-							if (!wasColEmpty) {
-								syncObservableFromCollectionValues(col, oc);
-							}
 						}
 					} else if (Map.class.isAssignableFrom(values.getClass())) {
 						final Map<Object, Object> map = (Map<Object, Object>) values;
@@ -2029,28 +2647,34 @@ public class BeanPathAdapter<B> {
 							final boolean wasColEmpty = map.isEmpty();
 							if (collectionSelectionModel != null) {
 								collectionSelectionModel.clearSelection();
+								if (!wasColEmpty) {
+									syncObservableFromCollectionValues(map, oc);
+								}
 							} else if (!wasColEmpty || isDirty) {
-								oc.clear();
+								syncObservableFromCollectionValues(map, oc);
 								changed = true;
 							} else {
 								changed = syncCollectionValuesFromObservable(map, oc);
 							}
-							if (!wasColEmpty) {
-								syncObservableFromCollectionValues(map, oc);
-							}
 						}
 					}
 				}
 				return changed || listChange != null || setChange != null
 						|| mapChange != null;
 			} finally {
+				itemMasterIndex = null;
+				if (collectionItemPath != null && !collectionItemPath.isEmpty()) {
+					pruneItemFieldProperties();
+				}
 				isDirtyCollection = false;
 			}
 		}
 
 		/**
 		 * Synchronizes the {@link Collection} values to the supplied
-		 * {@link Observable} {@link Collection}
+		 * {@link Observable} {@link Collection}. Only the differences between
+		 * the two are applied to the {@link Observable} {@link Collection} so
+		 * that any listeners receive the smallest possible change(s).
 		 * 
 		 * @param fromCol
 		 *            the {@link Collection} that synchronization will derive
@@ -2063,33 +2687,17 @@ public class BeanPathAdapter<B> {
 		 */
 		private boolean syncObservableFromCollectionValues(
 				final Collection<Object> fromCol, final Collection<Object> oc) {
-			boolean changed = false;
-			boolean missing = false;
-			FieldProperty<?, ?, ?> fp;
-			Object fpv;
-			int i = -1;
-			final boolean isOcList = List.class.isAssignableFrom(oc.getClass());
-			for (final Object item : fromCol) {
-				fp = genFieldProperty(item, null);
-				fpv = fp != null ? fp.getDirty() : item;
-				missing = !oc.contains(fpv);
-				changed = !changed ? missing : changed;
-				if (collectionSelectionModel == null) {
-					if (isOcList) {
-						((List<Object>) oc).add(++i, fpv);
-					} else {
-						oc.add(fpv);
-					}
-				} else {
-					selectCollectionValue(fpv);
-				}
+			final List<Object> values = genObservableValues(fromCol);
+			if (collectionSelectionModel != null) {
+				return selectCollectionValues(values);
 			}
-			return changed;
+			return replaceObservableValues(oc, values);
 		}
 
 		/**
 		 * Synchronizes the {@link Collection} values to the supplied
-		 * {@link Observable} {@link Map}
+		 * {@link Observable} {@link Map}. Only the differences between the two
+		 * are applied to the {@link Observable} {@link Map}.
 		 * 
 		 * @param fromCol
 		 *            the {@link Collection} that synchronization will derive
@@ -2102,28 +2710,17 @@ public class BeanPathAdapter<B> {
 		 */
 		private boolean syncObservableFromCollectionValues(
 				final Collection<Object> fromCol, final Map<Object, Object> oc) {
-			boolean changed = false;
-			boolean missing = false;
-			FieldProperty<?, ?, ?> fp;
-			Object fpv;
-			int i = -1;
-			for (final Object item : fromCol) {
-				fp = genFieldProperty(item, null);
-				fpv = fp != null ? fp.getDirty() : item;
-				missing = !oc.containsValue(fpv);
-				changed = !changed ? missing : changed;
-				if (collectionSelectionModel == null) {
-					oc.put(++i, fpv);
-				} else {
-					selectCollectionValue(fpv);
-				}
+			final List<Object> values = genObservableValues(fromCol);
+			if (collectionSelectionModel != null) {
+				return selectCollectionValues(values);
 			}
-			return changed;
+			return replaceObservableValues(oc, values);
 		}
 
 		/**
 		 * Synchronizes the {@link Map} values to the supplied
-		 * {@link Observable} {@link Collection}
+		 * {@link Observable} {@link Collection}. Only the differences between
+		 * the two are applied to the {@link Observable} {@link Collection}.
 		 * 
 		 * @param fromMap
 		 *            the {@link Map} that synchronization will derive from
@@ -2135,33 +2732,17 @@ public class BeanPathAdapter<B> {
 		 */
 		private boolean syncObservableFromCollectionValues(
 				final Map<Object, Object> fromMap, final Collection<Object> oc) {
-			boolean changed = false;
-			boolean missing = false;
-			FieldProperty<?, ?, ?> fp;
-			Object fpv;
-			int i = -1;
-			final boolean isOcList = List.class.isAssignableFrom(oc.getClass());
-			for (final Object item : fromMap.values()) {
-				fp = genFieldProperty(item, null);
-				fpv = fp != null ? fp.getDirty() : item;
-				missing = !oc.contains(fpv);
-				changed = !changed ? missing : changed;
-				if (collectionSelectionModel == null) {
-					if (isOcList) {
-						((List<Object>) oc).add(++i, fpv);
-					} else {
-						oc.add(fpv);
-					}
-				} else {
-					selectCollectionValue(fpv);
-				}
+			final List<Object> values = genObservableValues(fromMap.values());
+			if (collectionSelectionModel != null) {
+				return selectCollectionValues(values);
 			}
-			return changed;
+			return replaceObservableValues(oc, values);
 		}
 
 		/**
 		 * Synchronizes the {@link Map} values to the supplied
-		 * {@link Observable} {@link Map}
+		 * {@link Observable} {@link Map}. Only the differences between the two
+		 * are applied to the {@link Observable} {@link Map}.
 		 * 
 		 * @param fromMap
 		 *            the {@link Map} that synchronization will derive from
@@ -2173,25 +2754,153 @@ public class BeanPathAdapter<B> {
 		 */
 		private boolean syncObservableFromCollectionValues(
 				final Map<Object, Object> fromMap, final Map<Object, Object> oc) {
-			boolean changed = false;
-			boolean missing = false;
+			final List<Object> values = genObservableValues(fromMap.values());
+			if (collectionSelectionModel != null) {
+				return selectCollectionValues(values);
+			}
+			return replaceObservableValues(oc, values);
+		}
+
+		/**
+		 * Generates the values that the {@link Observable} collection/map
+		 * should contain for the specified collection items (in iteration
+		 * order)
+		 * 
+		 * @param items
+		 *            the collection items
+		 * @return the {@link FieldProperty#getDirty()} of each item when the
+		 *         items have a {@link #getCollectionItemPath()}, otherwise the
+		 *         items themselves
+		 */
+		private List<Object> genObservableValues(final Collection<Object> items) {
+			final List<Object> values = new ArrayList<>(items.size());
 			FieldProperty<?, ?, ?> fp;
-			Object fpv;
+			for (final Object item : items) {
+				fp = genFieldProperty(item, null);
+				values.add(fp != null ? fp.getDirty() : item);
+			}
+			return values;
+		}
+
+		/**
+		 * Calls the {@link SelectionModel#select(Object)} for each of the
+		 * specified values
+		 * 
+		 * @param values
+		 *            the values to select
+		 * @return true when any values were selected
+		 */
+		private boolean selectCollectionValues(final List<Object> values) {
+			for (final Object value : values) {
+				selectCollectionValue(value);
+			}
+			return !values.isEmpty();
+		}
+
+		/**
+		 * Replaces the content of an {@link Observable} {@link Collection} with
+		 * the specified values by only removing/adding the values that differ.
+		 * A {@link List} is trimmed of the values that are the same (by
+		 * reference) at the beginning and end so that at most one removal and
+		 * one addition will be made to the range in between.
+		 * 
+		 * @param oc
+		 *            the {@link Observable} {@link Collection} to update
+		 * @param values
+		 *            the values that the {@link Collection} should contain
+		 * @return true when the {@link Collection} was changed
+		 */
+		private static boolean replaceObservableValues(
+				final Collection<Object> oc, final List<Object> values) {
+			if (List.class.isAssignableFrom(oc.getClass())) {
+				final List<Object> ol = (List<Object>) oc;
+				final int size = ol.size();
+				final int max = Math.min(size, values.size());
+				int start = 0;
+				while (start < max && ol.get(start) == values.get(start)) {
+					start++;
+				}
+				int end = 0;
+				while (end < max - start
+						&& ol.get(size - 1 - end) == values.get(values.size()
+								- 1 - end)) {
+					end++;
+				}
+				final boolean remove = start < size - end;
+				final boolean add = start < values.size() - end;
+				if (remove) {
+					ol.subList(start, size - end).clear();
+				}
+				if (add) {
+					ol.addAll(start, values.subList(start, values.size() - end));
+				}
+				return remove || add;
+			}
+			boolean changed = false;
+			final Set<Object> keep = newIdentitySet(values);
+			for (final Iterator<Object> itr = oc.iterator(); itr.hasNext();) {
+				if (!keep.contains(itr.next())) {
+					itr.remove();
+					changed = true;
+				}
+			}
+			final Set<Object> current = newIdentitySet(oc);
+			for (final Object value : values) {
+				if (current.add(value)) {
+					changed = oc.add(value) || changed;
+				}
+			}
+			return changed;
+		}
+
+		/**
+		 * Replaces the content of an {@link Observable} {@link Map} with the
+		 * specified values keyed by their index. Only the entries that differ
+		 * (by reference) are put/removed.
+		 * 
+		 * @param oc
+		 *            the {@link Observable} {@link Map} to update
+		 * @param values
+		 *            the values that the {@link Map} should contain
+		 * @return true when the {@link Map} was changed
+		 */
+		private static boolean replaceObservableValues(
+				final Map<Object, Object> oc, final List<Object> values) {
+			boolean changed = false;
+			for (final Iterator<Object> itr = oc.keySet().iterator(); itr
+					.hasNext();) {
+				final Object key = itr.next();
+				if (!(key instanceof Integer) || (Integer) key < 0
+						|| (Integer) key >= values.size()) {
+					itr.remove();
+					changed = true;
+				}
+			}
 			int i = -1;
-			for (final Map.Entry<Object, Object> item : fromMap.entrySet()) {
-				fp = genFieldProperty(item.getValue(), null);
-				fpv = fp != null ? fp.getDirty() : item.getValue();
-				missing = !oc.containsValue(fpv);
-				changed = !changed ? missing : changed;
-				if (collectionSelectionModel == null) {
-					oc.put(++i, fpv);
-				} else {
-					selectCollectionValue(fpv);
+			for (final Object value : values) {
+				if (oc.get(++i) != value || !oc.containsKey(i)) {
+					oc.put(i, value);
+					changed = true;
 				}
 			}
 			return changed;
 		}
 
+		/**
+		 * Creates a {@link Set} that compares its items by reference
+		 * 
+		 * @param items
+		 *            the initial items of the {@link Set}
+		 * @return the {@link Set}
+		 */
+		private static Set<Object> newIdentitySet(final Collection<?> items) {
+			final Set<Object> set = Collections
+					.newSetFromMap(new IdentityHashMap<Object, Boolean>(
+							items.size()));
+			set.addAll(items);
+			return set;
+		}
+
 		/**
 		 * Calls the {@link SelectionModel#select(Object)} the specified value
 		 * 
@@ -2224,12 +2933,13 @@ public class BeanPathAdapter<B> {
 			final List<FieldPathValue> fvs = new ArrayList<>();
 			FieldProperty<?, ?, ?> fp;
 			Object fpv;
-			final List<Object> nc = new ArrayList<>();
+			final Set<Object> toIndex = new HashSet<>(toCol);
+			final List<Object> nc = new ArrayList<>(oc.size());
 			for (final Object item : oc) {
 				if (item != null) {
 					fp = genFieldProperty(null, item);
 					fpv = fp == null ? item : fp.getBean();
-					missing = !toCol.contains(fpv);
+					missing = !toIndex.contains(fpv);
 					changed = !changed ? missing : changed;
 					nc.add(fpv);
 					if (missing && hasFieldPathValueTypeAddOrRemove(true)) {
@@ -2238,8 +2948,9 @@ public class BeanPathAdapter<B> {
 				}
 			}
 			if (hasFieldPathValueTypeAddOrRemove(false)) {
+				final Set<Object> ncIndex = new HashSet<>(nc);
 				for (final Object item : toCol) {
-					if (!nc.contains(item)) {
+					if (!ncIndex.contains(item)) {
 						fp = genFieldProperty(item, null);
 						fpv = fp == null ? item : fp.getBean();
 						fvs.add(newSyncCollectionFieldPathValue(fp, fpv, false));
@@ -2272,12 +2983,13 @@ public class BeanPathAdapter<B> {
 			FieldProperty<?, ?, ?> fp;
 			Object fpv;
 			int i = -1;
+			final Set<Object> toIndex = new HashSet<>(toMap.values());
 			final Map<Object, Object> nc = new HashMap<>();
 			for (final Object item : oc) {
 				if (item != null) {
 					fp = genFieldProperty(null, item);
 					fpv = fp == null ? item : fp.getBean();
-					missing = !toMap.containsValue(fpv);
+					missing = !toIndex.contains(fpv);
 					changed = !changed ? missing : changed;
 					nc.put(++i, fpv);
 					if (missing && hasFieldPathValueTypeAddOrRemove(true)) {
@@ -2286,8 +2998,9 @@ public class BeanPathAdapter<B> {
 				}
 			}
 			if (hasFieldPathValueTypeAddOrRemove(false)) {
+				final Set<Object> ncIndex = new HashSet<>(nc.values());
 				for (final Object item : toMap.values()) {
-					if (!nc.containsValue(item)) {
+					if (!ncIndex.contains(item)) {
 						fp = genFieldProperty(item, null);
 						fpv = fp == null ? item : fp.getBean();
 						fvs.add(newSyncCollectionFieldPathValue(fp, fpv, false));
@@ -2320,12 +3033,13 @@ public class BeanPathAdapter<B> {
 			final List<FieldPathValue> fvs = new ArrayList<>();
 			FieldProperty<?, ?, ?> fp;
 			Object fpv;
-			final List<Object> nc = new ArrayList<>();
+			final Set<Object> toIndex = new HashSet<>(toCol);
+			final List<Object> nc = new ArrayList<>(oc.size());
 			for (final Map.Entry<Object, Object> item : oc.entrySet()) {
 				if (item != null && item.getValue() != null) {
 					fp = genFieldProperty(null, item.getValue());
 					fpv = fp == null ? item.getValue() : fp.getBean();
-					missing = !toCol.contains(fpv);
+					missing = !toIndex.contains(fpv);
 					changed = !changed ? missing : changed;
 					nc.add(fpv);
 					if (missing && hasFieldPathValueTypeAddOrRemove(true)) {
@@ -2334,8 +3048,9 @@ public class BeanPathAdapter<B> {
 				}
 			}
 			if (hasFieldPathValueTypeAddOrRemove(false)) {
+				final Set<Object> ncIndex = new HashSet<>(nc);
 				for (final Object item : toCol) {
-					if (!nc.contains(item)) {
+					if (!ncIndex.contains(item)) {
 						fp = genFieldProperty(item, null);
 						fpv = fp == null ? item : fp.getBean();
 						fvs.add(newSyncCollectionFieldPathValue(fp, fpv, false));
@@ -2369,12 +3084,13 @@ public class BeanPathAdapter<B> {
 			FieldProperty<?, ?, ?> fp;
 			Object fpv;
 			int i = -1;
+			final Set<Object> toIndex = new HashSet<>(toMap.values());
 			final Map<Object, Object> nc = new HashMap<>();
 			for (final Map.Entry<Object, Object> item : oc.entrySet()) {
 				if (item != null && item.getValue() != null) {
 					fp = genFieldProperty(null, item.getValue());
 					fpv = fp == null ? item.getValue() : fp.getBean();
-					missing = !toMap.containsValue(fpv);
+					missing = !toIndex.contains(fpv);
 					changed = !changed ? missing : changed;
 					nc.put(i, fpv);
 					if (missing && hasFieldPathValueTypeAddOrRemove(true)) {
@@ -2383,8 +3099,9 @@ public class BeanPathAdapter<B> {
 				}
 			}
 			if (hasFieldPathValueTypeAddOrRemove(false)) {
+				final Set<Object> ncIndex = new HashSet<>(nc.values());
 				for (final Object item : toMap.values()) {
-					if (!nc.containsValue(item)) {
+					if (!ncIndex.contains(item)) {
 						fp = genFieldProperty(item, null);
 						fpv = fp == null ? item : fp.getBean();
 						fvs.add(newSyncCollectionFieldPathValue(fp, fpv, false));
@@ -2498,6 +3215,15 @@ public class BeanPathAdapter<B> {
 							"Both itemBeanValue and itemBeanPropertyValue cannot be null");
 				}
 				Object value = itemBeanPropertyValue;
+				if (itemBeanValue == null && isDirtyCollection) {
+					// the same value has already been looked up in the item
+					// master during the current synchronization
+					final FieldProperty<?, ?, ?> imfp = getItemMasterIndex()
+							.get(value);
+					if (imfp != null) {
+						return imfp;
+					}
+				}
 				Object bean = itemBeanValue == null ? collectionType
 						.newInstance() : itemBeanValue;
 				FieldProperty<?, ?, ?> fp = genCollectionFieldProperty(bean);
@@ -2506,7 +3232,13 @@ public class BeanPathAdapter<B> {
 				} else {
 					value = fp.getDirty();
 				}
-				if (itemBeanPropertyValue != null) {
+				if (itemBeanPropertyValue != null && isDirtyCollection) {
+					final FieldProperty<?, ?, ?> imfp = getItemMasterIndex()
+							.get(value);
+					if (imfp != null) {
+						return imfp;
+					}
+				} else if (itemBeanPropertyValue != null) {
 					// ensure that any selection values come from the item
 					// master and any updates to an existing bean return a field
 					// property of the same bean reference/target
@@ -2550,15 +3282,88 @@ public class BeanPathAdapter<B> {
 		protected FieldProperty<?, ?, ?> genCollectionFieldProperty(
 				final Object bean) {
 			FieldBean<Void, Object> fb;
-			FieldProperty<?, ?, ?> fp;
+			FieldProperty<?, ?, ?> fp = itemFieldProperties.get(bean);
+			if (fp != null) {
+				return fp;
+			}
 			fb = new FieldBean<>(null, bean, null, notifyProperty);
-			fp = fb.performOperation(fullPath + COLLECTION_ITEM_PATH_SEPARATOR
-					+ collectionItemPath, collectionItemPath, Object.class,
-					null, null, null, collectionSelectionModel, null,
-					FieldBeanOperation.CREATE_OR_FIND);
+			if (collectionItemFullPath == null) {
+				collectionItemFullPath = fullPath
+						+ COLLECTION_ITEM_PATH_SEPARATOR + collectionItemPath;
+			}
+			fp = fb.performOperation(collectionItemFullPath,
+					FieldPath.of(bean.getClass(), collectionItemPath),
+					Object.class, null, null, null, collectionSelectionModel,
+					null, FieldBeanOperation.CREATE_OR_FIND);
+			itemFieldProperties.put(bean, fp);
 			return fp;
 		}
 
+		/**
+		 * Gets the item master {@link FieldProperty}(s) indexed by their
+		 * {@link FieldProperty#getDirty()} reference. The index is built on
+		 * first use and only lives for the duration of a single collection
+		 * synchronization (the first item with a given value wins).
+		 * 
+		 * @return the item master index
+		 */
+		private Map<Object, FieldProperty<?, ?, ?>> getItemMasterIndex() {
+			if (itemMasterIndex == null) {
+				itemMasterIndex = new IdentityHashMap<>();
+				final Object im = itemMaster != null ? itemMaster.getDirty()
+						: getDirty();
+				for (final Object ib : itemValues(im)) {
+					final FieldProperty<?, ?, ?> imfp = genCollectionFieldProperty(ib);
+					final Object value = imfp.getDirty();
+					if (!itemMasterIndex.containsKey(value)) {
+						itemMasterIndex.put(value, imfp);
+					}
+				}
+			}
+			return itemMasterIndex;
+		}
+
+		/**
+		 * Removes the cached collection item {@link FieldProperty}(s) of the
+		 * beans that are no longer contained in the {@link #getDirty()} or the
+		 * {@link #itemMaster} collection/map so that they do not outlive their
+		 * beans
+		 */
+		private void pruneItemFieldProperties() {
+			if (itemFieldProperties.isEmpty()) {
+				return;
+			}
+			final Set<Object> beans = newIdentitySet(itemValues(getDirty()));
+			if (itemMaster != null) {
+				beans.addAll(itemValues(itemMaster.getDirty()));
+			}
+			itemFieldProperties.keySet().retainAll(beans);
+		}
+
+		/**
+		 * @return the number of cached collection item {@link FieldProperty}(s)
+		 */
+		int getItemFieldPropertyCount() {
+			return itemFieldProperties.size();
+		}
+
+		/**
+		 * Gets the items of a collection/map
+		 * 
+		 * @param items
+		 *            the {@link Collection} or {@link Map}
+		 * @return the {@link Collection} items or {@link Map} values (empty
+		 *         when neither)
+		 */
+		private static Collection<?> itemValues(final Object items) {
+			if (items instanceof Collection) {
+				return (Collection<?>) items;
+			} else if (items instanceof Map) {
+				return ((Map<?, ?>) items).values();
+			}
+			return Collections.emptyList();
+		}
+
 		/**
 		 * Updates the underlying collection item value
 		 * 
@@ -2828,8 +3633,9 @@ public class BeanPathAdapter<B> {
 		 */
 		protected FieldProperty<Object, ?, ?> extractCollectionItemFieldProperty(
 				final FieldBean<Void, Object> fieldBean) {
-			final String[] cip = collectionItemPath.split("\\.");
-			return fieldBean.getFieldProperty(cip[cip.length - 1]);
+			return fieldBean.getFieldProperty(FieldPath.of(
+					fieldBean.getBean().getClass(), collectionItemPath)
+					.getLastFieldName());
 		}
 
 		/**
@@ -2924,6 +3730,20 @@ public class BeanPathAdapter<B> {
 			DFLTS.put(BigInteger.class, BigInteger.valueOf(0L));
 			DFLTS.put(BigDecimal.class, BigDecimal.valueOf(0D));
 		}
+		/**
+		 * The unbound accessor/setter {@link MethodHandle}s per bean class and
+		 * field name, shared by all {@link BeanPathAdapter}s so that a new
+		 * target of the same class only needs to be bound to them. Held by a
+		 * {@link ClassValue} so that they don't keep a bean class (and its
+		 * class loader) from being unloaded.
+		 */
+		private static final ClassValue<ConcurrentMap<String, Accessors>> ACCESSORS = new ClassValue<ConcurrentMap<String, Accessors>>() {
+			@Override
+			protected ConcurrentMap<String, Accessors> computeValue(
+					final Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
 		private final String fieldName;
 		private MethodHandle accessor;
 		private MethodHandle setter;
@@ -2956,10 +3776,40 @@ public class BeanPathAdapter<B> {
 		 * {@link MethodHandle}s are immutable so new ones are created.
 		 */
 		protected void updateMethodHandles() {
-			this.accessor = buildAccessorWithLikelyPrefixes(getTarget(),
-					getFieldName());
-			this.setter = buildSetter(getAccessor(), getTarget(),
+			final Accessors accessors = accessors(getTarget().getClass(),
 					getFieldName());
+			this.accessor = accessors.accessor.bindTo(getTarget());
+			this.setter = accessors.setter.bindTo(getTarget());
+		}
+
+		/**
+		 * Gets the cached unbound accessor/setter {@link MethodHandle}s for a
+		 * field of a class, resolving them on first use
+		 * 
+		 * @param targetClass
+		 *            the class that declares the accessor and setter
+		 * @param fieldName
+		 *            the field name
+		 * @return the {@link Accessors}
+		 */
+		protected static Accessors accessors(final Class<?> targetClass,
+				final String fieldName) {
+			final ConcurrentMap<String, Accessors> fields = ACCESSORS
+					.get(targetClass);
+			Accessors accessors = fields.get(fieldName);
+			if (accessors == null) {
+				// resolved outside of the map so a failure is not cached
+				final MethodHandle accessor = findAccessorWithLikelyPrefixes(
+						targetClass, fieldName);
+				accessors = new Accessors(accessor, findSetter(accessor,
+						targetClass, fieldName));
+				final Accessors existing = fields.putIfAbsent(fieldName,
+						accessors);
+				if (existing != null) {
+					accessors = existing;
+				}
+			}
+			return accessors;
 		}
 
 		/**
@@ -2974,7 +3824,7 @@ public class BeanPathAdapter<B> {
 		 */
 		public static Class<?> getAccessorType(final Object target,
 				final String fieldName) {
-			return buildAccessorWithLikelyPrefixes(target, fieldName).type()
+			return accessors(target.getClass(), fieldName).accessor.type()
 					.returnType();
 		}
 
@@ -2990,11 +3840,28 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildAccessorWithLikelyPrefixes(
 				final Object target, final String fieldName) {
-			final MethodHandle mh = buildAccessor(target, fieldName, "get",
-					"is", "has", "use");
+			return accessors(target.getClass(), fieldName).accessor
+					.bindTo(target);
+		}
+
+		/**
+		 * Attempts to find an unbound {@link MethodHandle} accessor for the
+		 * field name using common prefixes used for methods to access a field
+		 * 
+		 * @param targetClass
+		 *            the class that the accessor is for
+		 * @param fieldName
+		 *            the field name that the accessor is for
+		 * @return the accessor {@link MethodHandle}
+		 */
+		protected static MethodHandle findAccessorWithLikelyPrefixes(
+				final Class<?> targetClass, final String fieldName) {
+			final MethodHandle mh = findAccessor(targetClass, fieldName,
+					"get", "is", "has", "use");
 			if (mh == null) {
 				// throw new NoSuchMethodException(fieldName + " on " + target);
-				throw new IllegalArgumentException(fieldName + " on " + target);
+				throw new IllegalArgumentException(fieldName + " on "
+						+ targetClass);
 			}
 			return mh;
 		}
@@ -3014,21 +3881,38 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildAccessor(final Object target,
 				final String fieldName, final String... fieldNamePrefix) {
+			final MethodHandle mh = findAccessor(target.getClass(), fieldName,
+					fieldNamePrefix);
+			return mh == null ? null : mh.bindTo(target);
+		}
+
+		/**
+		 * Attempts to find an unbound {@link MethodHandle} accessor for the
+		 * field name using the given prefixes, in order
+		 * 
+		 * @param targetClass
+		 *            the class that the accessor is for
+		 * @param fieldName
+		 *            the field name that the accessor is for
+		 * @param fieldNamePrefix
+		 *            the prefix of the method for the field name
+		 * @return the accessor {@link MethodHandle} (null when none of the
+		 *         prefixes match)
+		 */
+		protected static MethodHandle findAccessor(final Class<?> targetClass,
+				final String fieldName, final String... fieldNamePrefix) {
 			final String accessorName = buildMethodName(fieldNamePrefix[0],
 					fieldName);
 			try {
-				return MethodHandles
-						.lookup()
-						.findVirtual(
-								target.getClass(),
-								accessorName,
-								MethodType.methodType(target.getClass()
-										.getMethod(accessorName)
-										.getReturnType())).bindTo(target);
+				return MethodHandles.lookup().findVirtual(
+						targetClass,
+						accessorName,
+						MethodType.methodType(targetClass.getMethod(
+								accessorName).getReturnType()));
 			} catch (final NoSuchMethodException e) {
-				return fieldNamePrefix.length <= 1 ? null : buildAccessor(
-						target, fieldName, Arrays.copyOfRange(fieldNamePrefix,
-								1, fieldNamePrefix.length));
+				return fieldNamePrefix.length <= 1 ? null : findAccessor(
+						targetClass, fieldName, Arrays.copyOfRange(
+								fieldNamePrefix, 1, fieldNamePrefix.length));
 			} catch (final Throwable t) {
 				throw new IllegalArgumentException(
 						"Unable to resolve accessor " + accessorName, t);
@@ -3049,15 +3933,30 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildSetter(final MethodHandle accessor,
 				final Object target, final String fieldName) {
+			return findSetter(accessor, target.getClass(), fieldName).bindTo(
+					target);
+		}
+
+		/**
+		 * Finds an unbound setter {@link MethodHandle}
+		 * 
+		 * @param accessor
+		 *            the field's accesssor that will be used as the parameter
+		 *            type for the setter
+		 * @param targetClass
+		 *            the class that the setter is for
+		 * @param fieldName
+		 *            the field name that the setter is for
+		 * @return the setter {@link MethodHandle}
+		 */
+		protected static MethodHandle findSetter(final MethodHandle accessor,
+				final Class<?> targetClass, final String fieldName) {
 			try {
-				final MethodHandle mh1 = MethodHandles
-						.lookup()
-						.findVirtual(
-								target.getClass(),
-								buildMethodName("set", fieldName),
-								MethodType.methodType(void.class, accessor
-										.type().returnType())).bindTo(target);
-				return mh1;
+				return MethodHandles.lookup().findVirtual(
+						targetClass,
+						buildMethodName("set", fieldName),
+						MethodType.methodType(void.class, accessor.type()
+								.returnType()));
 			} catch (final Throwable t) {
 				throw new IllegalArgumentException("Unable to resolve setter "
 						+ fieldName, t);
@@ -3092,15 +3991,7 @@ public class BeanPathAdapter<B> {
 			if (value != null && String.class.isAssignableFrom(valueOfClass)) {
 				return (VT) value.toString();
 			}
-			final Class<?> clazz = PRIMS.containsKey(valueOfClass) ? PRIMS
-					.get(valueOfClass) : valueOfClass;
-			MethodHandle mh1 = null;
-			try {
-				mh1 = MethodHandles.lookup().findStatic(clazz, "valueOf",
-						MethodType.methodType(clazz, String.class));
-			} catch (final Throwable t) {
-				// class doesn't support it- do nothing
-			}
+			final MethodHandle mh1 = findValueOf(valueOfClass);
 			if (mh1 != null) {
 				try {
 					return (VT) mh1.invoke(value);
@@ -3113,6 +4004,27 @@ public class BeanPathAdapter<B> {
 			return null;
 		}
 
+		/**
+		 * Finds the static <code>valueOf(String)</code> method of the
+		 * specified class (or of its wrapper class when it is a primitive)
+		 * 
+		 * @param valueOfClass
+		 *            the class to find the <code>valueOf</code> method on
+		 * @return the <code>valueOf</code> method (null when the class doesn't
+		 *         have one)
+		 */
+		protected static MethodHandle findValueOf(final Class<?> valueOfClass) {
+			final Class<?> clazz = PRIMS.containsKey(valueOfClass) ? PRIMS
+					.get(valueOfClass) : valueOfClass;
+			try {
+				return MethodHandles.lookup().findStatic(clazz, "valueOf",
+						MethodType.methodType(clazz, String.class));
+			} catch (final Throwable t) {
+				// class doesn't support it
+				return null;
+			}
+		}
+
 		/**
 		 * Determines if a {@link Class} has a default value designated
 		 * 
@@ -3294,5 +4206,34 @@ public class BeanPathAdapter<B> {
 		public boolean hasDefaultDerived() {
 			return hasDefaultDerived;
 		}
+
+		/**
+		 * The unbound accessor and setter {@link MethodHandle}s of a field
+		 */
+		protected static final class Accessors {
+			private final MethodHandle accessor;
+			private final MethodHandle setter;
+
+			private Accessors(final MethodHandle accessor,
+					final MethodHandle setter) {
+				this.accessor = accessor;
+				this.setter = setter;
+			}
+
+			/**
+			 * @return the unbound accessor, taking the target as parameter
+			 */
+			public MethodHandle getAccessor() {
+				return accessor;
+			}
+
+			/**
+			 * @return the unbound setter, taking the target and the value as
+			 *         parameters
+			 */
+			public MethodHandle getSetter() {
+				return setter;
+			}
+		}
 	}
 }
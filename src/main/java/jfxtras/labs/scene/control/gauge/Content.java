@@ -29,14 +29,22 @@
 
 package jfxtras.labs.scene.control.gauge;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
 import javafx.geometry.Point2D;
 import javafx.scene.shape.Rectangle;
 
@@ -130,6 +138,11 @@ public class Content {
     private ObjectProperty<MatrixFont>      matrixFont;
     private ObjectProperty<Gap>             fontGap;
     private ObjectProperty<Align>           txtAlign;
+    // values of the {name} placeholders in txtContent, and the text with the values filled in
+    private ObservableMap<String, ObservableValue<?>> txtBindings;
+    private ReadOnlyStringWrapper           resolvedTxt;
+    private final InvalidationListener      resolveListener = (o) -> resolvedTxt.set(resolveTxt());
+    private final WeakInvalidationListener  weakResolveListener = new WeakInvalidationListener(resolveListener);
     
     public Content(){
         this(MatrixColor.RED, Type.TEXT, new Point2D(0,0), new Rectangle(0,0,20000,20000), "", MatrixFont.FF_5x7,
@@ -165,6 +178,18 @@ public class Content {
         order      = new SimpleObjectProperty<>(ORDER);
         clear      = new SimpleBooleanProperty(CLEAR);
         
+        txtBindings = FXCollections.observableHashMap();
+        resolvedTxt = new ReadOnlyStringWrapper(this, "resolvedTxt", resolveTxt());
+        txtContent.addListener(weakResolveListener);
+        txtBindings.addListener((MapChangeListener.Change<? extends String, ? extends ObservableValue<?>> change) -> {
+            if (change.wasRemoved()) {
+                change.getValueRemoved().removeListener(weakResolveListener);
+            }
+            if (change.wasAdded()) {
+                change.getValueAdded().addListener(weakResolveListener);
+            }
+            resolvedTxt.set(resolveTxt());
+        });
     }
 
     public final MatrixColor getColor(){
@@ -239,6 +264,54 @@ public class Content {
         return txtContent;
     }
 
+    /**
+     * The values of the placeholders in the text, e.g. "QUEUE: {count}" with a binding for "count".
+     * When a value changes the panel only redraws the characters that changed, without restarting the effect.
+     */
+    public final ObservableMap<String, ObservableValue<?>> getTxtBindings(){
+        return txtBindings;
+    }
+
+    public void bindTxt(String NAME, ObservableValue<?> VALUE){
+        txtBindings.put(NAME, VALUE);
+    }
+
+    /**
+     * The text to show: txtContent with the values of the bound placeholders filled in
+     */
+    public final String getResolvedTxt(){
+        return resolvedTxt.get();
+    }
+
+    public final ReadOnlyStringProperty resolvedTxtProperty(){
+        return resolvedTxt.getReadOnlyProperty();
+    }
+
+    private String resolveTxt(){
+        final String TXT = txtContent.get();
+        if (TXT == null || txtBindings.isEmpty() || TXT.indexOf('{') < 0) {
+            return TXT;
+        }
+        final StringBuilder sb = new StringBuilder(TXT.length());
+        int pos = 0;
+        while (pos < TXT.length()) {
+            final int open = TXT.indexOf('{', pos);
+            final int close = open < 0 ? -1 : TXT.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            final ObservableValue<?> VALUE = txtBindings.get(TXT.substring(open + 1, close));
+            if (VALUE == null) {
+                // not bound, shown as it is
+                sb.append(TXT, pos, close + 1);
+            } else {
+                sb.append(TXT, pos, open).append(VALUE.getValue());
+            }
+            pos = close + 1;
+        }
+        return sb.append(TXT.substring(pos)).toString();
+    }
+
     public final MatrixFont getMatrixFont(){
         return matrixFont.get();
     }
@@ -43,7 +43,11 @@ import javafx.scene.paint.Stop;
  * Time: 09:14
  */
 public class GradientLookup {
-    private Map<Double, Stop> stops;
+    public static final int       DEFAULT_TABLE_SIZE = 1024;
+    private TreeMap<Double, Stop> stops;
+    // table mode: the gradient baked at TABLE_SIZE evenly spaced positions, filled once and only read afterwards
+    private Color[]               colorTable;
+    private int[]                 argbTable;
 
     // ******************** Constructors **************************************
     public GradientLookup(final Stop... STOPS) {
@@ -54,46 +58,123 @@ public class GradientLookup {
         init();
     }
 
+    /**
+     * A lookup that bakes the gradient into a table of TABLE_SIZE colors, positions are rounded to the nearest entry
+     * but a lookup takes constant time and allocates nothing
+     */
+    public GradientLookup(final int TABLE_SIZE, final Stop... STOPS) {
+        this(STOPS);
+        if (TABLE_SIZE < 2) {
+            throw new IllegalArgumentException("A table needs at least 2 entries");
+        }
+        colorTable = new Color[TABLE_SIZE];
+        argbTable  = new int[TABLE_SIZE];
+        // walk the stops along with the positions
+        final Stop[] SORTED_STOPS = stops.values().toArray(new Stop[stops.size()]);
+        int upper = SORTED_STOPS.length > 1 ? 1 : 0;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            final double POSITION = (double) i / (TABLE_SIZE - 1);
+            while (upper < SORTED_STOPS.length - 1 && SORTED_STOPS[upper].getOffset() < POSITION) {
+                upper++;
+            }
+            argbTable[i]  = upper == 0 ? toArgb(SORTED_STOPS[0].getColor()) : interpolateArgb(SORTED_STOPS[upper - 1], SORTED_STOPS[upper], POSITION);
+            colorTable[i] = interpolate(POSITION);
+        }
+    }
+
 
     // ******************** Initialization ************************************
     private void init() {
-        double minFraction = 1;
-        double maxFraction = 0;
-        for (Double fraction : stops.keySet()) {
-            minFraction = Math.min(fraction, minFraction);
-            maxFraction = Math.max(fraction, maxFraction);
+        if (stops.isEmpty()) {
+            throw new IllegalArgumentException("A gradient needs at least one stop");
         }
-        if (minFraction > 0) {
-            stops.put(0.0, new Stop(0.0, stops.get(minFraction).getColor()));
+        if (stops.firstKey() > 0) {
+            stops.put(0.0, new Stop(0.0, stops.firstEntry().getValue().getColor()));
         }
-        if (maxFraction < 1){
-            stops.put(1.0, new Stop(1.0, stops.get(maxFraction).getColor()));
+        if (stops.lastKey() < 1){
+            stops.put(1.0, new Stop(1.0, stops.lastEntry().getValue().getColor()));
         }
     }
 
 
     // ******************** Methods *******************************************
+    public final boolean isTableMode() {
+        return colorTable != null;
+    }
+
+    public final int getTableSize() {
+        return colorTable == null ? 0 : colorTable.length;
+    }
+
     public Color getColorAt(final double POSITION_OF_COLOR) {
-        final double POSITION = POSITION_OF_COLOR < 0 ? 0 : (POSITION_OF_COLOR > 1 ? 1 : POSITION_OF_COLOR);
-        final Color COLOR;
-        if (stops.size() == 1) {
-            final Map<Double, Color> ONE_ENTRY = (Map<Double, Color>) stops.entrySet().iterator().next();
-            COLOR = stops.get(ONE_ENTRY.keySet().iterator().next()).getColor();
+        if (colorTable != null) {
+            return colorTable[tableIndex(POSITION_OF_COLOR)];
+        }
+        return interpolate(POSITION_OF_COLOR);
+    }
+
+    /**
+     * The color at the position packed as argb int
+     */
+    public int getArgbAt(final double POSITION_OF_COLOR) {
+        if (argbTable != null) {
+            return argbTable[tableIndex(POSITION_OF_COLOR)];
+        }
+        return toArgb(interpolate(POSITION_OF_COLOR));
+    }
+
+    /**
+     * Bulk lookup for rasterizers: the colors at the POSITIONS, packed as argb ints into ARGB_COLORS
+     */
+    public void getColorsAt(final double[] POSITIONS, final int[] ARGB_COLORS) {
+        getColorsAt(POSITIONS, ARGB_COLORS, 0);
+    }
+
+    /**
+     * Bulk lookup for rasterizers: the colors at the POSITIONS, packed as argb ints into ARGB_COLORS from OFFSET on
+     * (e.g. the start of a row in a raster)
+     */
+    public void getColorsAt(final double[] POSITIONS, final int[] ARGB_COLORS, final int OFFSET) {
+        if (ARGB_COLORS.length - OFFSET < POSITIONS.length) {
+            throw new IllegalArgumentException("The output needs room for " + POSITIONS.length + " colors");
+        }
+        if (argbTable != null) {
+            final int LAST = argbTable.length - 1;
+            for (int i = 0; i < POSITIONS.length; i++) {
+                final double POSITION = POSITIONS[i] < 0 ? 0 : (POSITIONS[i] > 1 ? 1 : POSITIONS[i]);
+                ARGB_COLORS[OFFSET + i] = argbTable[(int) (POSITION * LAST + 0.5)];
+            }
         } else {
-            Stop lowerBound = stops.get(0.0);
-            Stop upperBound = stops.get(1.0);
-            for (Double fraction : stops.keySet()) {
-                if (Double.compare(fraction,POSITION) < 0) {
-                    lowerBound = stops.get(fraction);
-                }
-                if (Double.compare(fraction, POSITION) > 0) {
-                    upperBound = stops.get(fraction);
-                    break;
-                }
+            for (int i = 0; i < POSITIONS.length; i++) {
+                ARGB_COLORS[OFFSET + i] = toArgb(interpolate(POSITIONS[i]));
             }
-            COLOR = interpolateColor(lowerBound, upperBound, POSITION);
         }
-        return COLOR;
+    }
+
+    private int tableIndex(final double POSITION_OF_COLOR) {
+        final double POSITION = POSITION_OF_COLOR < 0 ? 0 : (POSITION_OF_COLOR > 1 ? 1 : POSITION_OF_COLOR);
+        return (int) (POSITION * (colorTable.length - 1) + 0.5);
+    }
+
+    private Color interpolate(final double POSITION_OF_COLOR) {
+        final double POSITION = POSITION_OF_COLOR < 0 ? 0 : (POSITION_OF_COLOR > 1 ? 1 : POSITION_OF_COLOR);
+        if (stops.size() == 1) {
+            return stops.firstEntry().getValue().getColor();
+        }
+        final Map.Entry<Double, Stop> LOWER_BOUND = stops.floorEntry(POSITION);
+        final Map.Entry<Double, Stop> UPPER_BOUND = stops.ceilingEntry(POSITION);
+        if (LOWER_BOUND.getKey().equals(UPPER_BOUND.getKey())) {
+            // exactly on a stop
+            return LOWER_BOUND.getValue().getColor();
+        }
+        return interpolateColor(LOWER_BOUND.getValue(), UPPER_BOUND.getValue(), POSITION);
+    }
+
+    private static int toArgb(final Color COLOR) {
+        return (int) Math.round(COLOR.getOpacity() * 255) << 24 |
+               (int) Math.round(COLOR.getRed() * 255) << 16 |
+               (int) Math.round(COLOR.getGreen() * 255) << 8 |
+               (int) Math.round(COLOR.getBlue() * 255);
     }
 
     private Color interpolateColor(final Stop LOWER_BOUND, final Stop UPPER_BOUND, final double POSITION) {
@@ -116,4 +197,19 @@ public class GradientLookup {
 
         return Color.color(red, green, blue, opacity);
     }
+
+    private int interpolateArgb(final Stop LOWER_BOUND, final Stop UPPER_BOUND, final double POSITION) {
+        final double POS   = (POSITION - LOWER_BOUND.getOffset()) / (UPPER_BOUND.getOffset() - LOWER_BOUND.getOffset());
+        final Color  LOWER = LOWER_BOUND.getColor();
+        final Color  UPPER = UPPER_BOUND.getColor();
+        return channel(LOWER.getOpacity(), UPPER.getOpacity(), POS) << 24 |
+               channel(LOWER.getRed(), UPPER.getRed(), POS) << 16 |
+               channel(LOWER.getGreen(), UPPER.getGreen(), POS) << 8 |
+               channel(LOWER.getBlue(), UPPER.getBlue(), POS);
+    }
+
+    private static int channel(final double LOWER, final double UPPER, final double POS) {
+        final double VALUE = LOWER + (UPPER - LOWER) * POS;
+        return (int) Math.round((VALUE < 0 ? 0 : (VALUE > 1 ? 1 : VALUE)) * 255);
+    }
 }
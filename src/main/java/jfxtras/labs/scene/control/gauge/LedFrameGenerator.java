@@ -0,0 +1,922 @@
+/**
+ * LedFrameGenerator.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.gauge;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javax.imageio.ImageIO;
+import jfxtras.labs.scene.control.gauge.Content.MatrixColor;
+import jfxtras.labs.scene.control.gauge.Content.RotationOrder;
+
+
+/**
+ * Runs the contents of a MatrixPanel, with their effects, into a frame of packed led values
+ * (red + 10 * green + 100 * blue, each one a level 0-3, indexed by row * ledWidth + column).
+ * The MatrixPanelSkin shows the frames, but they can as well be generated without any stage,
+ * e.g. to export the animation of a sign as PNG images: call createContents, and then tick with increasing times.
+ */
+public class LedFrameGenerator {
+    private final int           ledWidth;
+    private final int           ledHeight;
+    private final List<Content> contents;
+    // the frame, and the rectangle (columns and rows, inclusive) in which it changed since clearDirty
+    private final int[]         frame;
+    private int                 dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+    private boolean[]           visibleContent = null;
+    private Random              random = new Random();
+
+    // ******************** Constructors **************************************
+    /**
+     * @param CONTENTS the contents to show, the list is used as it is
+     */
+    public LedFrameGenerator(final int LED_WIDTH, final int LED_HEIGHT, final List<Content> CONTENTS) {
+        ledWidth  = LED_WIDTH;
+        ledHeight = LED_HEIGHT;
+        contents  = CONTENTS;
+        frame     = new int[LED_WIDTH * LED_HEIGHT];
+        clearDirty();
+    }
+
+
+    // ******************** Methods *******************************************
+    public final int getLedWidth() {
+        return ledWidth;
+    }
+
+    public final int getLedHeight() {
+        return ledHeight;
+    }
+
+    /**
+     * The current frame; it is changed in place by the next tick
+     */
+    public final int[] getFrame() {
+        return frame;
+    }
+
+    public final boolean isDirty() {
+        return dirtyMaxX >= 0;
+    }
+
+    public final int getDirtyMinX() {
+        return dirtyMinX;
+    }
+
+    public final int getDirtyMinY() {
+        return dirtyMinY;
+    }
+
+    public final int getDirtyMaxX() {
+        return dirtyMaxX;
+    }
+
+    public final int getDirtyMaxY() {
+        return dirtyMaxY;
+    }
+
+    /**
+     * Called when the changes of the frame are shown
+     */
+    public final void clearDirty() {
+        dirtyMinX = Integer.MAX_VALUE;
+        dirtyMinY = Integer.MAX_VALUE;
+        dirtyMaxX = -1;
+        dirtyMaxY = -1;
+    }
+
+    /**
+     * The order in which the SPRAY effect lights the leds, set a seeded Random for repeatable frames
+     */
+    public final void setRandom(final Random RANDOM) {
+        random = RANDOM;
+    }
+
+    /**
+     * Set the packed color value of a led in the frame
+     */
+    private void drawLed(int dot, int val){
+        if (frame[dot] != val) {
+            frame[dot] = val;
+            final int x = dot % ledWidth;
+            final int y = dot / ledWidth;
+            dirtyMinX = Math.min(dirtyMinX, x);
+            dirtyMaxX = Math.max(dirtyMaxX, x);
+            dirtyMinY = Math.min(dirtyMinY, y);
+            dirtyMaxY = Math.max(dirtyMaxY, y);
+        }
+    }
+
+
+    // ******************** Export ********************************************
+    /**
+     * The argb color of a packed led value, off leds are the translucent gray of the panel
+     */
+    public static int toArgb(final int VALUE) {
+        if (VALUE == 0) {
+            return 0x40272727;
+        }
+        final int toneB = VALUE / 100;
+        final int toneG = (VALUE - toneB * 100) / 10;
+        final int toneR = VALUE - toneB * 100 - toneG * 10;
+        return 0xff000000 | (85 * toneR) << 16 | (85 * toneG) << 8 | 85 * toneB;
+    }
+
+    /**
+     * Writes the frame as a PNG image, every led a dot of LED_SIZE pixels
+     */
+    public void writePng(final OutputStream STREAM, final int LED_SIZE) throws IOException {
+        final BufferedImage IMAGE = new BufferedImage(ledWidth * LED_SIZE, ledHeight * LED_SIZE, BufferedImage.TYPE_INT_ARGB);
+        final double RADIUS = LED_SIZE / 2d;
+        for (int row = 0; row < ledHeight; row++) {
+            for (int column = 0; column < ledWidth; column++) {
+                final int ARGB = toArgb(frame[row * ledWidth + column]);
+                for (int y = 0; y < LED_SIZE; y++) {
+                    for (int x = 0; x < LED_SIZE; x++) {
+                        final double DX = x + 0.5 - RADIUS;
+                        final double DY = y + 0.5 - RADIUS;
+                        if (LED_SIZE < 3 || DX * DX + DY * DY <= RADIUS * RADIUS) {
+                            IMAGE.setRGB(column * LED_SIZE + x, row * LED_SIZE + y, ARGB);
+                        }
+                    }
+                }
+            }
+        }
+        ImageIO.write(IMAGE, "png", STREAM);
+    }
+
+
+    // ******************** Content *****************************************
+    private final int LED_COLUMN    = 0;
+    private final int LED_ROW       = 1;
+    private final int LED_INTENSITY = 2;
+    /*
+     * full area required for each content, even not visible
+     */
+    private ArrayList<int[][]> fullAreas = null;
+    /*
+     * TEXT contents: the text (placeholders filled in) and the template their area was rasterized from
+     */
+    private String[] fullTexts = null;
+    private String[] fullTemplates = null;
+    /*
+     * visible AREAS in the panel, one per content
+     */
+    private Rectangle2D[] visibleArea = null;
+    /* 
+     * PAIRS of contents in the same area
+     */
+    private ArrayList<ContentPair> pairs=null;
+    /*
+     * ANIMATION of each content
+     */
+    private ArrayList<Animation> Anim=null;
+    
+    /**
+     * Clears the frame and starts all the contents from scratch
+     */
+    public void createContents() {
+        prepareContents();
+        startContents();
+    }
+    
+    /**
+     * Stops the contents and clears the frame, the contents are set up again by startContents
+     */
+    public void prepareContents() {
+        // stop previous animations, if any
+        stop();
+        // reset leds
+        for (int dot = 0; dot < frame.length; dot++) {
+            drawLed(dot, 0);
+        }
+        
+        if (0 == contents.size()) {
+            return;
+        }
+        
+        fullAreas = new ArrayList<>();
+        visibleArea = new Rectangle2D[contents.size()];
+        fullTexts = new String[contents.size()];
+        fullTemplates = new String[contents.size()];
+        Anim=new ArrayList<>();
+        visibleContent=new boolean[contents.size()];
+            
+        checkPairs();
+    }
+    
+    /**
+     * Initializes and animates every content
+     */
+    public void startContents() {
+        if (Anim == null) {
+            return;
+        }
+        for (int iContent = 0; iContent < contents.size(); iContent++) {
+            initializeContent(iContent);
+            animContent(iContent);
+        }
+        Anim.stream().forEach((a) -> a.start());            
+    }
+    
+    /**
+     * The content itself changed: its area is created again and its effect restarted
+     */
+    public void recreateContent(int iContent) {
+        if (Anim == null) {
+            return;
+        }
+        initializeContent(iContent);
+        animContent(iContent);
+        Anim.get(iContent).start();
+    }
+    
+    /**
+     * The effect of the content changed: the effect is restarted
+     */
+    public void restartContent(int iContent) {
+        if (Anim == null) {
+            return;
+        }
+        animContent(iContent);
+        Anim.get(iContent).start();
+    }
+    
+    /**
+     * The rotation order of a content changed: the pairs are checked again and all effects restarted
+     */
+    public void restartPairs() {
+        if (Anim == null) {
+            return;
+        }
+        checkPairs();
+        Anim.stream().forEach((a) -> a.stop() );
+        for (int iContent = 0; iContent < contents.size(); iContent++) {
+            animContent(iContent);
+        }
+        Anim.stream().forEach((a) -> a.start() );
+    }
+    
+    private void initializeContent(int iContent){
+        
+        if(iContent<Anim.size()){
+            Anim.get(iContent).stop();
+        } 
+        if(iContent<fullAreas.size()){
+            clearArea(iContent);
+            fullAreas.remove(iContent);
+        }
+        
+        final Content content=contents.get(iContent);
+        
+        int x0 = (int) content.getOrigin().getX() + (int) content.getArea().getX();
+        int y0 = (int) content.getOrigin().getY() + (int) content.getArea().getY();
+        int maxX = Math.min((int) content.getArea().getWidth(), ledWidth);
+        int maxY = Math.min((int) content.getArea().getHeight(), ledHeight);
+        visibleArea[iContent] = new Rectangle2D(Math.max(x0, 0), Math.max(y0, 0), maxX, maxY);
+
+        if (content.getType().equals(Content.Type.IMAGE)) {
+            // decoded once per image and color, each content gets its own copy
+            final int[][] area = LedImageDecoder.getArea(content.getBmpName(), content.getColor());
+            if (area == null) {
+                System.out.println("Error, image null: "+content.getBmpName());
+            }
+            fullAreas.add(iContent,area);
+        } else if (content.getType().equals(Content.Type.TEXT)) {
+            final int color=(content.getColor().equals(MatrixColor.RED)?3:
+                    (content.getColor().equals(MatrixColor.GREEN)?30:
+                    (content.getColor().equals(MatrixColor.BLUE)?300:
+                    (content.getColor().equals(MatrixColor.YELLOW)?33:333))));
+            // glyph columns copied straight into the area
+            fullAreas.add(iContent,MatrixPanel.DotFont.rasterize(content.getResolvedTxt(), content.getMatrixFont(), content.getFontGap().getGapWidth(), color));
+            fullTexts[iContent]=content.getResolvedTxt();
+            fullTemplates[iContent]=content.getTxtContent();
+        }
+    }
+    
+    /**
+     * A bound value of a text content changed: only the chars that differ are rasterized again, 
+     * into the area in use, and the effect goes on where it is
+     * @return true if the frame was drawn
+     */
+    public boolean updateText(int iContent){
+        if (fullAreas==null || Anim==null || iContent>=fullAreas.size() || iContent>=Anim.size() || fullTexts[iContent]==null) {
+            return false;
+        }
+        final Content content=contents.get(iContent);
+        final String oldTxt=fullTexts[iContent];
+        final String newTxt=content.getResolvedTxt();
+        if (!content.getTxtContent().equals(fullTemplates[iContent])) {
+            // a new template is created from scratch
+            return false;
+        }
+        if (newTxt.equals(oldTxt)) {
+            return false;
+        }
+        if (content.getEffect().equals(Content.Effect.SPRAY)) {
+            // the leds to spray are chosen from the whole text
+            recreateContent(iContent);
+            return true;
+        }
+        
+        final int color=(content.getColor().equals(MatrixColor.RED)?3:
+                (content.getColor().equals(MatrixColor.GREEN)?30:
+                (content.getColor().equals(MatrixColor.BLUE)?300:
+                (content.getColor().equals(MatrixColor.YELLOW)?33:333))));
+        final int charWidth=MatrixPanel.DotFont.getGlyphWidth(content.getMatrixFont())+content.getFontGap().getGapWidth();
+        int[][] area=fullAreas.get(iContent);
+        final int kept=Math.min(oldTxt.length(), newTxt.length());
+        if (oldTxt.length()!=newTxt.length()) {
+            // other width: the columns of the chars that are kept are copied
+            final int[][] resized=new int[area.length][charWidth*newTxt.length()];
+            for (int row = 0; row < area.length; row++) {
+                System.arraycopy(area[row], 0, resized[row], 0, charWidth*kept);
+            }
+            area=resized;
+            fullAreas.set(iContent,area);
+        }
+        for (int i = 0; i < newTxt.length(); i++) {
+            if (i>=kept || newTxt.charAt(i)!=oldTxt.charAt(i)) {
+                MatrixPanel.DotFont.drawChar(newTxt.charAt(i), content.getMatrixFont(), area, i*charWidth, color);
+            }
+        }
+        fullTexts[iContent]=newTxt;
+        return Anim.get(iContent).areaChanged();
+    }
+    
+    private void clearArea(int iContent){
+        for (int i = (int) visibleArea[iContent].getMinY(); i < (int) visibleArea[iContent].getHeight(); i++) {
+            for (int j = (int)visibleArea[iContent].getMinX(); j < (int) visibleArea[iContent].getWidth(); j++) {
+                int dot = j + i * ledWidth;
+                if (dot < frame.length) {
+                    drawLed(dot, 0);
+                }
+            }
+        }
+    }
+    
+    private void animContent(int iContent){
+        if(iContent<Anim.size()){
+            Anim.get(iContent).stop();
+            Anim.remove(iContent);
+        } 
+        Animation iAnim=new Animation(iContent);
+        iAnim.initAnimation();
+        Anim.add(iContent,iAnim);
+    }
+    
+    private void checkPairs(){
+        /* Check for Content Pairs: every FIRST content with every SECOND content in the same area */
+        pairs=new ArrayList<>();
+        final Map<Bounds, List<Integer>> seconds=new HashMap<>();
+        for (int i = 0; i < contents.size(); i++) {
+            if (contents.get(i).getOrder()==RotationOrder.SECOND) {
+                seconds.computeIfAbsent(contents.get(i).getArea().getBoundsInLocal(), (b) -> new ArrayList<>()).add(i);
+            }
+        }
+        for (int i = 0; i < contents.size(); i++) {
+            if (contents.get(i).getOrder()==RotationOrder.FIRST) {
+                final List<Integer> paired=seconds.get(contents.get(i).getArea().getBoundsInLocal());
+                if (paired != null) {
+                    for (Integer second : paired) {
+                        pairs.add(new ContentPair(i, second));
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Every running content takes its step into the frame, in the order of the contents so later contents are drawn over earlier ones
+     * @param now in nanoseconds, like the pulses of an AnimationTimer
+     * @return true if the frame was drawn
+     */
+    public boolean tick(long now){
+        if (Anim == null) {
+            return false;
+        }
+        boolean stepped = false;
+        for (int i = 0; i < Anim.size(); i++) {
+            final Animation animation = Anim.get(i);
+            if (animation.isRunning()) {
+                stepped |= animation.step(now);
+            }
+        }
+        return stepped;
+    }
+    
+    /**
+     * @return true while any content is running
+     */
+    public boolean isRunning(){
+        if (Anim != null) {
+            for (Animation animation : Anim) {
+                if (animation.isRunning()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    public void stop(){
+        if(Anim!=null){
+            Anim.stream().forEach((a) -> a.stop() );
+            Anim.clear();
+            Anim=null;
+        }
+        if(fullAreas!=null){
+            fullAreas.clear();
+            fullAreas=null;
+        }
+    }
+    
+    /**
+     * The state machine of one content, stepped by tick
+     */
+    private class Animation {
+        private boolean running=false;
+        private long pauseEnd=-1l; // while paused between rotations, the moment (ns) the pause ends
+        private long lastUpdate=0l;
+        private boolean bBlink=false; // heartbit
+        private int contBlink=0;
+        private int iter=0;        
+        private final int iContent;
+        private Content content=null;
+        private final Content source; // kept when stopped, to draw a changed text
+        private int oriX, oriY, endX, endY;
+        private int areaWidth, areaHeight;
+        private int contentWidth, contentHeight;
+        private IntegerProperty posX, posY, posXIni, posYIni;
+//        private int[][] contentArea=null;
+        private int realLapse, advance, limX, limitBlink, iterLeds;
+        private boolean isBlinkEffect;
+        
+        private int[][] brightLeds=null;
+        private ArrayList<int[]> arrBrightLeds=null;
+        private IntegerProperty incrPos=null;
+        
+        public Animation(int iContent){
+            
+            this.iContent=iContent;
+            this.content=contents.get(iContent);
+            this.source=content;
+            
+            // bind posX/posY increment (1) to allow for pause time (0) for each content
+            incrPos=new SimpleIntegerProperty(1);
+            
+            visibleContent[iContent]=true; // SINGLE && FIRST
+            if(content!=null && content.getOrder().equals(Content.RotationOrder.SECOND)){
+                visibleContent[iContent]=false;
+            }
+            
+        }
+        
+        public void initAnimation(){
+//            this.contentArea = fullAreas.get(iContent);            
+
+            oriX = (int) visibleArea[iContent].getMinX();
+            oriY = (int) visibleArea[iContent].getMinY();
+            endX = (int) visibleArea[iContent].getWidth();
+            endY = (int) visibleArea[iContent].getHeight();
+            areaWidth = endX-oriX;
+            areaHeight = endY-oriY;
+
+            /*
+            * Total dimensions of area of the content
+            */
+            if(fullAreas!=null && fullAreas.get(iContent)!=null){
+                contentWidth =fullAreas.get(iContent)[0].length;
+                contentHeight = fullAreas.get(iContent).length;
+            }
+            /*
+            * START LOCATION OF CONTENT
+            */
+            posXIni= new SimpleIntegerProperty(0);
+            posYIni = new SimpleIntegerProperty(0);
+            initLimits();
+            // +1,-1 to make the translation ot the content, 0 to pause it
+            posX = new SimpleIntegerProperty(posXIni.get());
+            posY = new SimpleIntegerProperty(posYIni.get());
+            
+            // speed = gap of ms to refresh the matrixPanel
+            realLapse = (content!=null && content.getLapse() >= 250)?content.getLapse():250;
+            
+            if(content!=null && content.getLapse()>0){
+                // leds advance per step (int), lower lapse, bigger advance:
+                advance=realLapse/content.getLapse(); 
+                realLapse=advance*content.getLapse();
+            }
+            else{
+                advance=10;
+            }
+            if(content!=null && !content.getEffect().equals(Content.Effect.NONE)){
+            
+                isBlinkEffect=(content.getEffect().equals(Content.Effect.BLINK) || 
+                                content.getEffect().equals(Content.Effect.BLINK_4) ||
+                                content.getEffect().equals(Content.Effect.BLINK_10));
+                limitBlink=(content.getEffect().equals(Content.Effect.BLINK)?10000: 
+                            (content.getEffect().equals(Content.Effect.BLINK_4)?7:
+                             (content.getEffect().equals(Content.Effect.BLINK_10)?19:0)));
+
+                /*
+                 * Effect.SPRAY
+                 */
+                if(content.getEffect().equals(Content.Effect.SPRAY)){
+                    arrBrightLeds=new ArrayList<>();
+                    int[][] contentArea= fullAreas.get(iContent); 
+                    // list of brighting LEDs: column j, row i, intensity val
+                    for (int i = oriY; i < endY; i++) {
+                        for (int j = oriX; j < endX; j++) {
+                            int dot = j + i * ledWidth;
+                            if (dot < frame.length) {
+                                int val;
+                                if (j + posX.intValue() >= oriX && j + posX.intValue() < contentWidth + oriX &&
+                                    i + posY.intValue() >= oriY && i + posY.intValue() < contentHeight + oriY) {
+                                    val = contentArea[i + posY.intValue() - oriY][j + posX.intValue() - oriX];
+                                    if(val>0){
+                                        int[] led={j,i,val};
+                                        arrBrightLeds.add(led);
+                                    }
+                                } 
+                            }
+                        }
+                    }
+
+                    // RANDOMIZE ArrayList 
+                    Collections.shuffle(arrBrightLeds, random);
+
+                    // array with shuffled list
+                    brightLeds = arrBrightLeds.toArray(new int[arrBrightLeds.size()][]);
+                    arrBrightLeds.clear();
+
+                    /*
+                     * SPRAY Effect. Number of new leds showed in each step
+                     */
+                    if(brightLeds.length>0){
+                        if(content!=null && content.getLapse()>0){
+                            iterLeds=brightLeds.length/content.getLapse();
+                        } else {
+                            iterLeds=brightLeds.length/10;
+                        }
+                    } else {
+                        iterLeds=0;
+                    }
+                }
+            }
+        }
+                
+ 
+        /*
+        * START LOCATION OF CONTENT and end of the scroll, for the current content dimensions
+        */
+        private void initLimits(){
+            posXIni.set(0);
+            posYIni.set(0);
+            if(source!=null && !source.getEffect().equals(Content.Effect.NONE)){
+                // content at its final position
+                posYIni.set(0);
+                if(source.getTxtAlign().equals(Content.Align.LEFT)){
+                    posXIni.set(0);
+                    // SCROLL_RIGHT: +cW-cW, SCROLL_LEFT: -aW+aW=0, MIRROR: -cW/2+cW/2
+                    limX=0; 
+                } else if(source.getTxtAlign().equals(Content.Align.CENTER)){
+                    posXIni.set(contentWidth/2-areaWidth/2);
+                    //SCROLL_RIGHT: +cW-(aW/2+cW/2) SCROLL_LEFT: -aW+(aW/2+fW/2), MIRROR: -aW/2+cW/2
+                    limX=-areaWidth/2+contentWidth/2; 
+                } else if(source.getTxtAlign().equals(Content.Align.RIGHT)){
+                    posXIni.set(contentWidth-areaWidth);
+                    //SCROLL_RIGHT: +cW-aW, SCROLL_LEFT: -aW+cW=0, MIRROR: cW/2-aW + cW/2
+                    limX=contentWidth-areaWidth; 
+                }
+
+                // moved first if neccessary to start the scrolling effect
+                if (source.getEffect().equals(Content.Effect.SCROLL_RIGHT)){
+                    // content to the left of the visible area
+                    posXIni.set(contentWidth);
+                } else if (source.getEffect().equals(Content.Effect.SCROLL_LEFT)){
+                    // content to the right of the visible area
+                    posXIni.set(-areaWidth);
+                } else if (source.getEffect().equals(Content.Effect.SCROLL_UP)){
+                    // content to the bottom of the visible area
+                    posYIni.set(-areaHeight);
+                } else if (source.getEffect().equals(Content.Effect.SCROLL_DOWN)){
+                    // content to the top of the visible area
+                    posYIni.set(contentHeight);
+                } else if (source.getEffect().equals(Content.Effect.MIRROR)){
+                    // content to the center of the visible area
+                    if(source.getTxtAlign().equals(Content.Align.LEFT)){
+                        posXIni.set(-contentWidth/2);
+                    } else if(source.getTxtAlign().equals(Content.Align.CENTER)){
+                        posXIni.set(0-areaWidth/2);
+                    } else if(source.getTxtAlign().equals(Content.Align.RIGHT)){
+                        posXIni.set(contentWidth/2-areaWidth);
+                    }
+                } 
+            }
+        }
+        
+        /**
+         * Draws the visible area of the content at its current position into the frame
+         */
+        private void draw(){
+            int[][] contentArea= fullAreas.get(iContent); 
+            final boolean isMirror=source.getEffect().equals(Content.Effect.MIRROR);
+            final Content.Align align=source.getTxtAlign();
+            final int posXNow=posX.get(), posYNow=posY.get();
+            for (int j = oriX; j < endX; j++) {
+                int pos=posXNow;
+                if(isMirror){
+                    if(align.equals(Content.Align.LEFT) && j-oriX>contentWidth/2){
+                        pos=-pos;
+                    } else if(align.equals(Content.Align.CENTER) && j-oriX>areaWidth/2d){
+                        pos=-pos-areaWidth+contentWidth;                                                
+                    } else if(align.equals(Content.Align.RIGHT) && j-oriX>-contentWidth/2+areaWidth){
+                        pos=-pos+2*(contentWidth-areaWidth);
+                    }                                            
+                }
+                for (int i = oriY; i < endY; i++) {
+                    int dot = j + i * ledWidth;
+                    if (dot < frame.length) {
+                        int val = 0;
+                        if (j + pos >= oriX && j + pos < contentWidth + oriX &&
+                            i + posYNow >= oriY && i + posYNow < contentHeight + oriY) {
+                            val = contentArea[i + posYNow - oriY][j + pos - oriX];
+                        } 
+                        drawLed(dot, (isBlinkEffect && !bBlink) ? 0 : val);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * The area of the content was changed in place: keep the position of the effect,
+         * adapt its limits to the new width and show the change right away
+         * @return true if the content was drawn
+         */
+        public boolean areaChanged(){
+            final int[][] contentArea=fullAreas.get(iContent);
+            contentWidth = contentArea.length > 0 ? contentArea[0].length : 0;
+            contentHeight = contentArea.length;
+            initLimits();
+            if (iContent<visibleContent.length && visibleContent[iContent]) {
+                draw();
+                return true;
+            }
+            return false;
+        }
+        
+        public void start(){
+            running=true;
+        }
+        
+        public boolean isRunning(){
+            return running;
+        }
+        
+        /**
+         * @return true if the content was drawn
+         */
+        public boolean step(long now) {
+            boolean stepped=false;
+            if (pauseEnd >= 0 && now >= pauseEnd) {
+                pauseEnd=-1l;
+                stepped=endPause();
+            }
+            /*
+            *  only make one frame step animation IF enough fps, 
+            *  the content is visible and it isn't in pause
+            */
+            if (now > lastUpdate + realLapse*1000000l && 
+                content!=null && iContent<visibleContent.length && 
+                visibleContent[iContent] && incrPos.intValue()==1) {  
+
+                /*
+                *  check only the visible area
+                */
+                if(content.getEffect().equals(Content.Effect.SPRAY)){
+                    // show bunch of leds, starting from the end of the shrinking map
+                    for(int buc=0;buc<iterLeds;buc++){
+                        int[] led=brightLeds[brightLeds.length-iter-1];
+                        drawLed(led[LED_COLUMN] + led[LED_ROW] * ledWidth, led[LED_INTENSITY]);
+                        iter=(iter<brightLeds.length-1)?iter+1:iter;
+                    }                            
+                } else {
+                    draw();
+                }
+                stepped=true;
+                /*
+                 * INCREMENT TRASLATION OF CONTENT 
+                 * CHECK END OF MOVEMENT
+                 */
+                boolean endRotation=false;
+
+                if (content.getEffect().equals(Content.Effect.NONE)) {
+                    endRotation=true;
+                } else if (content.getEffect().equals(Content.Effect.SCROLL_RIGHT)) {
+                    endRotation=(posX.intValue() <= limX); 
+                    if(posX.intValue() - advance*incrPos.getValue() <= limX){ 
+                        posX.set(limX);
+                    }
+                    else{
+                        posX.set(posX.intValue() - advance*incrPos.getValue());
+                    } 
+                } else if (content.getEffect().equals(Content.Effect.SCROLL_LEFT) || 
+                           content.getEffect().equals(Content.Effect.MIRROR)) {
+                    endRotation=(posX.intValue() >= limX); 
+                    if(posX.intValue() + advance*incrPos.getValue() >= limX){ 
+                        posX.set(limX);
+                    }
+                    else{
+                        posX.set(posX.intValue() + advance*incrPos.getValue());
+                    }                    
+                } else if (content.getEffect().equals(Content.Effect.SCROLL_DOWN)) {
+                    endRotation = (posY.intValue() <= 0); // fullHeight-fullHeight
+                    if(posY.intValue() - advance*incrPos.getValue() <= 0){ 
+                        posY.set(0);
+                    }
+                    else{
+                        posY.set(posY.intValue() - advance*incrPos.getValue());
+                    }
+                } else if (content.getEffect().equals(Content.Effect.SCROLL_UP)) {
+                    endRotation = (posY.intValue() >= 0); // -areaHeight+areaHeight
+                    if(posY.intValue() + advance*incrPos.getValue() >= 0){ 
+                        posY.set(0);
+                    }
+                    else{
+                        posY.set(posY.intValue() + advance*incrPos.getValue());
+                    } 
+                } else if (isBlinkEffect){
+                    if(contBlink==limitBlink){
+                        endRotation=true;
+                        contBlink=-1;
+                    } else if(incrPos.getValue()==1){ // not in pause time
+                        endRotation=false;
+                        contBlink+=1;
+                        bBlink=!bBlink;                                
+                    }
+                } else if (content.getEffect().equals(Content.Effect.SPRAY)) {             
+                    if(iter>=brightLeds.length-1){
+                        endRotation=true;
+                        iter=0;
+                    }
+                    else{
+                        endRotation=false;
+                    }
+                }
+
+                /*
+                * POST EFFECT
+                */
+                if(endRotation) {
+
+                    if(content.getPostEffect().equals(Content.PostEffect.STOP)) { 
+//                        System.out.println("stop content "+iContent);
+                        this.stop();
+                    } else if(content.getPostEffect().equals(Content.PostEffect.REPEAT) || 
+                              content.getPostEffect().equals(Content.PostEffect.PAUSE)){
+                        posX.set(posXIni.get());
+                        posY.set(posYIni.get());                               
+
+                        incrPos.setValue(0);                               
+
+                        /*
+                        * PAUSE BETWEEN ROTATIONS
+                        */
+                        if(content.getPostEffect().equals(Content.PostEffect.REPEAT)){
+                            pauseEnd=now+10*1000000l;
+                        } else{
+                            pauseEnd=now+content.getPause()*1000000l;
+                        }
+                    }
+
+                }
+                //System.out.println((now-lastUpdate)/1000000);
+                lastUpdate = now;
+            }
+            return stepped;
+        }
+        
+        /**
+         * @return true if the content was cleared
+         */
+        private boolean endPause(){
+            incrPos.setValue(1);
+            boolean cleared=false;
+            
+            // clear screen
+            if(content!=null && (content.getClear() || content.getEffect().equals(Content.Effect.SPRAY))){
+                for (int i = oriY; i < endY; i++) {
+                    for (int j = oriX; j < endX; j++) {
+                        drawLed(j + i * ledWidth, 0);
+                    }
+                }
+                cleared=true;
+            }
+            
+            if(content!=null && !content.getOrder().equals(Content.RotationOrder.SINGLE)){
+                // at the end of the content display, allow paired content to be displayed
+                for(ContentPair pair: pairs){
+                    if(pair.isInPair(iContent)){
+                        visibleContent[pair.getFirstIndex()]=!pair.isVisibleFirst();
+                        visibleContent[pair.getSecondIndex()]=!pair.isVisibleSecond();
+                        pair.changeIndex();
+                        break;
+                    }                                
+                }
+            }
+            return cleared;
+        }
+        
+        public void stop(){
+            running=false;
+            pauseEnd=-1l;
+            brightLeds=null;
+            if(arrBrightLeds!=null){
+                arrBrightLeds.clear();
+                arrBrightLeds=null;
+            }
+            content=null;
+        }
+        
+    }
+    private static class ContentPair {
+
+        private int indexFirst;
+        private int indexSecond;
+        private boolean bVisibleFirst;
+        
+        public ContentPair(int index1, int index2) {
+            indexFirst=index1;
+            bVisibleFirst=true;
+            indexSecond=index2; 
+        }
+        
+        public void setFirstIndex(int index){
+            indexFirst=index;
+            bVisibleFirst=true;
+        }
+        public void setSecondIndex(int index){
+            indexSecond=index;
+        }
+        
+        public void changeIndex(){
+            bVisibleFirst=!bVisibleFirst;
+        }
+        public int getFirstIndex() {
+            return indexFirst;
+        }
+        public int getSecondIndex() {
+            return indexSecond;
+        }
+
+        public boolean isVisibleFirst(){
+            return bVisibleFirst;
+        }
+        
+        public boolean isVisibleSecond(){
+            return !bVisibleFirst;
+        }
+        private boolean isInPair(int iContent) {
+            return (indexFirst==iContent || indexSecond==iContent);
+        }
+        
+    }}
@@ -0,0 +1,368 @@
+/**
+ * LedImageDecoder.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.gauge;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import jfxtras.labs.scene.control.gauge.Content.MatrixColor;
+
+
+/**
+ * Decodes the images of MatrixPanel contents straight into areas of packed led values
+ * (red + 10 * green + 100 * blue, each one a level 0-3), without temporary files.
+ * BMP files (1, 4, 8, 24 and 32 bits, RLE4 and RLE8) are decoded here, other formats like PNG through javafx Image.
+ * The decoded areas are cached by name and color, the least recently used ones are dropped,
+ * and an image from the file system is decoded again when its file was modified.
+ */
+public class LedImageDecoder {
+    // a channel is lit at level 1, 2 or 3 from these values on
+    private static final int[] LEVELS = { 65, 127, 190 };
+    public static final int MAX_CACHED = 32;
+    private static final Map<String, Cached> CACHE = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<String, Cached> ELDEST) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private LedImageDecoder() {
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * The area of the image for the color, decoded on first use or when its file was modified since
+     * @param NAME a resource in the classpath or a file; without extension .bmp is assumed
+     * @return a copy of the area, area[row][column], or null if the image can't be read
+     */
+    public static int[][] getArea(final String NAME, final MatrixColor COLOR) {
+        final String KEY = NAME + "|" + COLOR;
+        final String PATH = path(NAME);
+        // resources in the classpath don't change
+        final long LAST_MODIFIED = LedImageDecoder.class.getResource(PATH) == null ? new File(PATH).lastModified() : 0;
+        Cached cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(KEY);
+        }
+        if (cached == null || cached.lastModified != LAST_MODIFIED) {
+            final Pixels PIXELS;
+            try {
+                PIXELS = read(NAME);
+            } catch (IOException e) {
+                System.out.println("Error with image " + NAME + ": " + e.getMessage());
+                return null;
+            }
+            cached = new Cached(toArea(PIXELS, COLOR), LAST_MODIFIED);
+            synchronized (CACHE) {
+                CACHE.put(KEY, cached);
+            }
+        }
+        final int[][] AREA = new int[cached.area.length][];
+        for (int y = 0; y < AREA.length; y++) {
+            AREA[y] = cached.area[y].clone();
+        }
+        return AREA;
+    }
+
+    /**
+     * Drops the areas of the image, for every color
+     */
+    public static void invalidate(final String NAME) {
+        synchronized (CACHE) {
+            CACHE.keySet().removeIf(KEY -> KEY.startsWith(NAME + "|"));
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    public static int getCacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Converts argb pixels into packed led values, only the channels of the color are used
+     */
+    public static int[][] toArea(final Pixels PIXELS, final MatrixColor COLOR) {
+        final boolean RED   = COLOR == MatrixColor.RED || COLOR == MatrixColor.YELLOW || COLOR == MatrixColor.RGB;
+        final boolean GREEN = COLOR == MatrixColor.GREEN || COLOR == MatrixColor.YELLOW || COLOR == MatrixColor.RGB;
+        final boolean BLUE  = COLOR == MatrixColor.BLUE || COLOR == MatrixColor.RGB;
+        final int[][] AREA = new int[PIXELS.height][PIXELS.width];
+        for (int y = 0; y < PIXELS.height; y++) {
+            for (int x = 0; x < PIXELS.width; x++) {
+                final int ARGB = PIXELS.argb[y * PIXELS.width + x];
+                if ((ARGB >>> 24) < 128) {
+                    // transparent
+                    continue;
+                }
+                AREA[y][x] = (RED ? level((ARGB >> 16) & 0xff) : 0) +
+                             (GREEN ? 10 * level((ARGB >> 8) & 0xff) : 0) +
+                             (BLUE ? 100 * level(ARGB & 0xff) : 0);
+            }
+        }
+        return AREA;
+    }
+
+    private static int level(final int CHANNEL) {
+        return (CHANNEL >= LEVELS[0] ? 1 : 0) + (CHANNEL >= LEVELS[1] ? 1 : 0) + (CHANNEL >= LEVELS[2] ? 1 : 0);
+    }
+
+    /**
+     * Reads the image from the classpath or else from the file system
+     */
+    public static Pixels read(final String NAME) throws IOException {
+        final String PATH = path(NAME);
+        InputStream stream = LedImageDecoder.class.getResourceAsStream(PATH);
+        if (stream == null) {
+            final File FILE = new File(PATH);
+            if (!FILE.exists()) {
+                throw new IOException("not found");
+            }
+            stream = new FileInputStream(FILE);
+        }
+        try (InputStream is = stream) {
+            return decode(is);
+        }
+    }
+
+    /**
+     * Decodes a BMP, or any format javafx Image supports
+     */
+    public static Pixels decode(final InputStream STREAM) throws IOException {
+        // read it at once, a BMP is parsed by offset
+        byte[] bytes = new byte[8192];
+        int length = 0;
+        for (int n; (n = STREAM.read(bytes, length, bytes.length - length)) != -1; ) {
+            length += n;
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+        }
+        final ByteBuffer BUFFER = ByteBuffer.wrap(bytes, 0, length);
+        if (length > 1 && bytes[0] == 'B' && bytes[1] == 'M') {
+            return decodeBmp(BUFFER);
+        }
+        final Image IMAGE = new Image(new ByteArrayInputStream(bytes, 0, length));
+        if (IMAGE.isError() || IMAGE.getPixelReader() == null) {
+            throw new IOException("unsupported image format");
+        }
+        final Pixels PIXELS = new Pixels((int) IMAGE.getWidth(), (int) IMAGE.getHeight());
+        final PixelReader READER = IMAGE.getPixelReader();
+        for (int y = 0; y < PIXELS.height; y++) {
+            for (int x = 0; x < PIXELS.width; x++) {
+                PIXELS.argb[y * PIXELS.width + x] = READER.getArgb(x, y);
+            }
+        }
+        return PIXELS;
+    }
+
+    /**
+     * Decodes a BMP file, from the start of the buffer
+     */
+    public static Pixels decodeBmp(final ByteBuffer BMP) throws IOException {
+        final ByteBuffer BUFFER = BMP.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (BUFFER.getShort(0) != 0x4d42) {
+                throw new IOException("not a BMP file");
+            }
+            final int OFFSET = BUFFER.getInt(10);
+            final int HEADER_SIZE = BUFFER.getInt(14);
+            final int WIDTH, HEIGHT, BITS, COMPRESSION, PALETTE_ENTRY;
+            int colors;
+            if (HEADER_SIZE == 12) {
+                // OS/2 core header
+                WIDTH = BUFFER.getShort(18);
+                HEIGHT = BUFFER.getShort(20);
+                BITS = BUFFER.getShort(24);
+                COMPRESSION = 0;
+                colors = 0;
+                PALETTE_ENTRY = 3;
+            } else {
+                WIDTH = BUFFER.getInt(18);
+                HEIGHT = BUFFER.getInt(22);
+                BITS = BUFFER.getShort(28);
+                COMPRESSION = BUFFER.getInt(30);
+                colors = BUFFER.getInt(46);
+                PALETTE_ENTRY = 4;
+            }
+            final boolean TOP_DOWN = HEIGHT < 0;
+            final int ROWS = Math.abs(HEIGHT);
+            if (WIDTH <= 0 || ROWS == 0) {
+                throw new IOException("empty BMP");
+            }
+            if (colors == 0 && BITS <= 8) {
+                colors = 1 << BITS;
+            }
+            final int[] PALETTE = new int[BITS <= 8 ? colors : 0];
+            for (int i = 0; i < PALETTE.length; i++) {
+                final int ENTRY = 14 + HEADER_SIZE + i * PALETTE_ENTRY;
+                PALETTE[i] = 0xff000000 | ((BUFFER.get(ENTRY + 2) & 0xff) << 16) | ((BUFFER.get(ENTRY + 1) & 0xff) << 8) | (BUFFER.get(ENTRY) & 0xff);
+            }
+
+            final Pixels PIXELS = new Pixels(WIDTH, ROWS);
+            switch (COMPRESSION) {
+                case 0:
+                    decodeRows(BUFFER, OFFSET, BITS, PALETTE, TOP_DOWN, PIXELS);
+                    break;
+                case 1:
+                case 2:
+                    decodeRle(BUFFER, OFFSET, COMPRESSION == 2, PALETTE, PIXELS);
+                    break;
+                default:
+                    throw new IOException("BMP compression " + COMPRESSION + " not supported");
+            }
+            return PIXELS;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("truncated BMP file");
+        }
+    }
+
+    private static void decodeRows(final ByteBuffer BUFFER, final int OFFSET, final int BITS, final int[] PALETTE, final boolean TOP_DOWN, final Pixels PIXELS) throws IOException {
+        if (BITS != 1 && BITS != 4 && BITS != 8 && BITS != 24 && BITS != 32) {
+            throw new IOException(BITS + " bits per pixel not supported");
+        }
+        // rows are padded to 4 bytes, and stored from the bottom up unless the height is negative
+        final int ROW_SIZE = ((PIXELS.width * BITS + 31) / 32) * 4;
+        for (int row = 0; row < PIXELS.height; row++) {
+            final int Y = TOP_DOWN ? row : PIXELS.height - 1 - row;
+            final int START = OFFSET + row * ROW_SIZE;
+            for (int x = 0; x < PIXELS.width; x++) {
+                final int ARGB;
+                switch (BITS) {
+                    case 24:
+                    case 32: {
+                        final int P = START + x * (BITS / 8);
+                        ARGB = 0xff000000 | ((BUFFER.get(P + 2) & 0xff) << 16) | ((BUFFER.get(P + 1) & 0xff) << 8) | (BUFFER.get(P) & 0xff);
+                        break;
+                    }
+                    default: {
+                        final int BIT = x * BITS;
+                        final int INDEX = ((BUFFER.get(START + BIT / 8) & 0xff) >> (8 - BITS - BIT % 8)) & ((1 << BITS) - 1);
+                        ARGB = INDEX < PALETTE.length ? PALETTE[INDEX] : 0xff000000;
+                        break;
+                    }
+                }
+                PIXELS.argb[Y * PIXELS.width + x] = ARGB;
+            }
+        }
+    }
+
+    private static void decodeRle(final ByteBuffer BUFFER, final int OFFSET, final boolean RLE4, final int[] PALETTE, final Pixels PIXELS) {
+        // always bottom up; pixels that are skipped stay black
+        Arrays.fill(PIXELS.argb, PALETTE.length > 0 ? PALETTE[0] : 0xff000000);
+        int p = OFFSET;
+        int x = 0;
+        int y = PIXELS.height - 1;
+        while (p + 1 < BUFFER.limit() && y >= 0) {
+            final int COUNT = BUFFER.get(p++) & 0xff;
+            final int VALUE = BUFFER.get(p++) & 0xff;
+            if (COUNT > 0) {
+                // a run of COUNT pixels, RLE4 alternates the two nibbles
+                for (int i = 0; i < COUNT; i++) {
+                    final int INDEX = RLE4 ? ((i & 1) == 0 ? VALUE >> 4 : VALUE & 0x0f) : VALUE;
+                    set(PIXELS, x++, y, PALETTE, INDEX);
+                }
+            } else if (VALUE == 0) {
+                // end of line
+                x = 0;
+                y--;
+            } else if (VALUE == 1) {
+                // end of bitmap
+                break;
+            } else if (VALUE == 2) {
+                // delta
+                x += BUFFER.get(p++) & 0xff;
+                y -= BUFFER.get(p++) & 0xff;
+            } else {
+                // VALUE pixels as they are, padded to 2 bytes
+                final int BYTES = RLE4 ? (VALUE + 1) / 2 : VALUE;
+                for (int i = 0; i < VALUE; i++) {
+                    final int B = BUFFER.get(p + (RLE4 ? i / 2 : i)) & 0xff;
+                    final int INDEX = RLE4 ? ((i & 1) == 0 ? B >> 4 : B & 0x0f) : B;
+                    set(PIXELS, x++, y, PALETTE, INDEX);
+                }
+                p += BYTES + (BYTES & 1);
+            }
+        }
+    }
+
+    private static String path(final String NAME) {
+        return NAME.lastIndexOf('.') > NAME.lastIndexOf('/') ? NAME : NAME + ".bmp";
+    }
+
+    private static void set(final Pixels PIXELS, final int X, final int Y, final int[] PALETTE, final int INDEX) {
+        if (X < PIXELS.width && Y >= 0 && INDEX < PALETTE.length) {
+            PIXELS.argb[Y * PIXELS.width + X] = PALETTE[INDEX];
+        }
+    }
+
+
+    // ******************** Internal classes **********************************
+    private static class Cached {
+        final int[][] area;
+        // of the file, 0 for a resource in the classpath
+        final long    lastModified;
+
+        Cached(final int[][] AREA, final long LAST_MODIFIED) {
+            area         = AREA;
+            lastModified = LAST_MODIFIED;
+        }
+    }
+
+    /**
+     * Decoded pixels, argb, row by row from the top
+     */
+    public static class Pixels {
+        public final int   width;
+        public final int   height;
+        public final int[] argb;
+
+        public Pixels(final int WIDTH, final int HEIGHT) {
+            width  = WIDTH;
+            height = HEIGHT;
+            argb   = new int[WIDTH * HEIGHT];
+        }
+    }
+}
@@ -29,7 +29,6 @@
 
 package jfxtras.labs.scene.control.gauge;
 
-import java.util.BitSet;
 import java.util.List;
 
 import javafx.beans.property.BooleanProperty;
@@ -999,6 +998,15 @@ public class MatrixPanel extends Control {
         }
     }
     
+    /**
+     * How the skin draws the LEDs: CIRCLES uses one Circle node per LED,
+     * IMAGE blits pre-rendered dots into a single WritableImage, for big panels
+     */
+    public static enum LedRendering {
+        CIRCLES,
+        IMAGE
+    }
+    
     private static final String                 DEFAULT_STYLE_CLASS = "matrix-panel";
     private IntegerProperty                     ledWidth;
     private IntegerProperty                     ledHeight;
@@ -1007,6 +1015,7 @@ public class MatrixPanel extends Control {
     private ObjectProperty<Color>               frameBaseColor;
     private ObjectProperty<String>              frameCustomPath;
     private BooleanProperty                     frameVisible;
+    private ObjectProperty<LedRendering>        ledRendering;
     
     // ******************** Constructors **************************************
     public MatrixPanel() {
@@ -1025,6 +1034,7 @@ public class MatrixPanel extends Control {
         frameBaseColor = new SimpleObjectProperty<>(Color.rgb(160, 160, 160));
         frameCustomPath = new SimpleObjectProperty<>("");
         frameVisible= new SimpleBooleanProperty(true);        
+        ledRendering= new SimpleObjectProperty<>(LedRendering.CIRCLES);
     }
 
 
@@ -1089,9 +1099,11 @@ public class MatrixPanel extends Control {
                                      CONTENT.getPause(),CONTENT.getLapse(),CONTENT.getOrder(),CONTENT.getClear()));
         }
         else{
-            contents.add(new Content(CONTENT.getColor(),CONTENT.getType(),CONTENT.getOrigin(),CONTENT.getArea(),CONTENT.getTxtContent(), 
+            final Content COPY = new Content(CONTENT.getColor(),CONTENT.getType(),CONTENT.getOrigin(),CONTENT.getArea(),CONTENT.getTxtContent(), 
                                      CONTENT.getMatrixFont(),CONTENT.getFontGap(), CONTENT.getTxtAlign(), CONTENT.getEffect(),CONTENT.getPostEffect(),
-                                     CONTENT.getPause(),CONTENT.getLapse(),CONTENT.getOrder(),CONTENT.getClear()));
+                                     CONTENT.getPause(),CONTENT.getLapse(),CONTENT.getOrder(),CONTENT.getClear());
+            COPY.getTxtBindings().putAll(CONTENT.getTxtBindings());
+            contents.add(COPY);
         }
     }
 
@@ -1156,6 +1168,18 @@ public class MatrixPanel extends Control {
     public final BooleanProperty frameVisibleProperty() {
         return frameVisible;
     }
+
+    public final LedRendering getLedRendering() {
+        return ledRendering.get();
+    }
+
+    public final void setLedRendering(final LedRendering LED_RENDERING) {
+        ledRendering.set(LED_RENDERING);
+    }
+
+    public final ObjectProperty<LedRendering> ledRenderingProperty() {
+        return ledRendering;
+    }
     
     // ******************** Style related *************************************
     @Override protected Skin createDefaultSkin() {
@@ -1172,10 +1196,82 @@ public class MatrixPanel extends Control {
         private boolean[][] dotString;
 
         public DotFont(final String TEXT, final Content.MatrixFont MATRIX_FONT, final int GAP) {
+            final Glyphs GLYPHS = getGlyphs(MATRIX_FONT);
+            dotString = new boolean[GLYPHS.height][(GLYPHS.width + GAP) * TEXT.length()];
+            for (int i = 0; i < TEXT.length(); i++) {
+                final int[] COLUMNS = GLYPHS.getColumns(TEXT.charAt(i));
+                if (COLUMNS == null) {
+                    continue;
+                }
+                for (int j = 0; j < GLYPHS.width; j++) {
+                    for (int k = 0; k < GLYPHS.height; k++) {
+                        dotString[k][j + (GLYPHS.width + GAP) * i] = (COLUMNS[j] & (1 << k)) != 0;
+                    }
+                }
+            }
+        }
+
+        public boolean[][] getDotString() {
+            return dotString;
+        }
+
+        /**
+         * Rasterizes the text straight into a new area of packed led values
+         * @param VALUE the packed color value of the lit leds
+         * @return area[row][column], (glyph width + GAP) columns per char
+         */
+        public static int[][] rasterize(final String TEXT, final Content.MatrixFont MATRIX_FONT, final int GAP, final int VALUE) {
+            final Glyphs GLYPHS = getGlyphs(MATRIX_FONT);
+            final int[][] AREA = new int[GLYPHS.height][(GLYPHS.width + GAP) * TEXT.length()];
+            for (int i = 0; i < TEXT.length(); i++) {
+                drawChar(TEXT.charAt(i), MATRIX_FONT, AREA, (GLYPHS.width + GAP) * i, VALUE);
+            }
+            return AREA;
+        }
+
+        /**
+         * Writes the columns of one char into the area, starting at column X; a char without glyph clears them
+         */
+        public static void drawChar(final char CHAR, final Content.MatrixFont MATRIX_FONT, final int[][] AREA, final int X, final int VALUE) {
+            final Glyphs GLYPHS = getGlyphs(MATRIX_FONT);
+            final int[] COLUMNS = GLYPHS.getColumns(CHAR);
+            for (int j = 0; j < GLYPHS.width; j++) {
+                final int COLUMN = COLUMNS == null ? 0 : COLUMNS[j];
+                for (int k = 0; k < GLYPHS.height; k++) {
+                    AREA[k][X + j] = (COLUMN & (1 << k)) != 0 ? VALUE : 0;
+                }
+            }
+        }
+
+        public static int getGlyphWidth(final Content.MatrixFont MATRIX_FONT) {
+            return getGlyphs(MATRIX_FONT).width;
+        }
+
+        public static int getGlyphHeight(final Content.MatrixFont MATRIX_FONT) {
+            return getGlyphs(MATRIX_FONT).height;
+        }
+
+        // ******************** Glyph tables **************************************
+        /*
+         * compiled on first use of each font: per char below 256 the columns of the glyph,
+         * bit k of a column is row k, null if the font has no glyph for the char
+         */
+        private static final Glyphs[] GLYPHS = new Glyphs[Content.MatrixFont.values().length];
+
+        private static synchronized Glyphs getGlyphs(final Content.MatrixFont MATRIX_FONT) {
+            Glyphs glyphs = GLYPHS[MATRIX_FONT.ordinal()];
+            if (glyphs == null) {
+                glyphs = compile(MATRIX_FONT);
+                GLYPHS[MATRIX_FONT.ordinal()] = glyphs;
+            }
+            return glyphs;
+        }
+
+        private static Glyphs compile(final Content.MatrixFont MATRIX_FONT) {
             int height = 0;
             int width  = 0;
             int bytes  = 1;
-            IDD[] values = null;
+            IDD[] values = new IDD[0];
             switch (MATRIX_FONT) {
                 case FF_5x7:
                     values = DD1.values();
@@ -1210,34 +1306,47 @@ public class MatrixPanel extends Control {
                     width  = 15; height = 32; bytes  = 4;
                     break;
             }
-            dotString = new boolean[height][(width + GAP) * TEXT.length()];
-            for (int i = 0; i < TEXT.length(); i++) {
-
-                int decChar = Integer.parseInt(UtilHex.dec2hexStr((int)TEXT.charAt(i)),16);
-
-                for (IDD let : values) {
-                    if (let.getDecLetra() == decChar) {
-
-                        // array of hex values for each column of dots
-                        String[] hxV = let.getHexLetra().split(" ");
-                        for (int j = 0; j < bytes * width; j += bytes) {
-                            for(int b=0; b<bytes; b++){
-                                // binaryValue of column, b 8 leds
-                                BitSet bs=BitSet.valueOf(UtilHex.toBytes(hxV[j + b])); 
-                                for (int k = 8*b; k < Math.min(8*(b+1),height); k++) {
-                                    dotString[k][j / bytes + (width + GAP) * i] = bs.get(7-k+8*b);
-                                }
+            final Glyphs GLYPHS = new Glyphs(width, height);
+            for (IDD let : values) {
+                final int CHAR = let.getDecLetra();
+                if (CHAR < 0 || CHAR >= GLYPHS.columns.length || GLYPHS.columns[CHAR] != null) {
+                    // as before, the first glyph of a char wins
+                    continue;
+                }
+                // each column is written as bytes hex values, the most significant bit of a byte is its top row
+                final byte[] HEX = UtilHex.toBytes(let.getHexLetra());
+                final int[] COLUMNS = new int[width];
+                for (int j = 0; j < width; j++) {
+                    for (int b = 0; b < bytes; b++) {
+                        final int BYTE = HEX[j * bytes + b] & 0xff;
+                        for (int k = 8 * b; k < Math.min(8 * (b + 1), height); k++) {
+                            if ((BYTE & (0x80 >> (k - 8 * b))) != 0) {
+                                COLUMNS[j] |= 1 << k;
                             }
                         }
-                        break;
                     }
                 }
+                GLYPHS.columns[CHAR] = COLUMNS;
             }
-
+            return GLYPHS;
         }
 
-        public boolean[][] getDotString() {
-            return dotString;
+        private static class Glyphs {
+            private final int     width;
+            private final int     height;
+            private final int[][] columns = new int[256][];
+
+            private Glyphs(final int WIDTH, final int HEIGHT) {
+                width  = WIDTH;
+                height = HEIGHT;
+            }
+
+            /**
+             * @return the columns of the glyph, null for a char without glyph (including everything above U+00FF)
+             */
+            private int[] getColumns(final char CHAR) {
+                return CHAR < columns.length ? columns[CHAR] : null;
+            }
         }
     }
 
@@ -43,6 +43,7 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.paint.Color;
 import jfxtras.labs.scene.control.gauge.MatrixPanel.FrameDesign;
+import jfxtras.labs.scene.control.gauge.MatrixPanel.LedRendering;
 
 
 /**
@@ -161,6 +162,17 @@ public class MatrixPanelBuilder <B extends MatrixPanelBuilder<B>> {
         return this;
     }
 
+    /**
+     * Set how the LEDs are drawn
+     * @param LED_RENDERING CIRCLES (default) for one node per LED, or IMAGE to draw all the LEDs 
+     * into one image, which scales better for panels with many LEDs
+     * @return 
+     */
+    public final MatrixPanelBuilder ledRendering(final LedRendering LED_RENDERING) {
+        properties.put("ledRendering", new SimpleObjectProperty<>(LED_RENDERING));
+        return this;
+    }
+
     /**
      * Set the preferred width of the control
      * @param PREF_WIDTH related to scene dimensions, to keep an aspectRatio of the matrixPanel control equals
@@ -219,6 +231,9 @@ public class MatrixPanelBuilder <B extends MatrixPanelBuilder<B>> {
                 case "frameVisible":
                     CONTROL.setFrameVisible(((BooleanProperty) properties.get(key)).get());
                     break;
+                case "ledRendering":
+                    CONTROL.setLedRendering(((ObjectProperty<LedRendering>) properties.get(key)).get());
+                    break;
             }
         });
         return CONTROL;
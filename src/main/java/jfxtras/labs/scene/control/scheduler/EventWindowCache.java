@@ -0,0 +1,324 @@
+package jfxtras.labs.scene.control.scheduler;
+
+import javafx.application.Platform;
+import javafx.beans.Observable;
+import javafx.beans.property.ObjectProperty;
+import javafx.collections.ObservableList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Loads the events of the Scheduler's event provider in windows of a fixed number of days, and adds them to the Scheduler's events.
+ * The loaded windows are kept in a least-recently-used cache; when it is full, the events of the window that was not shown for the longest time are removed again.
+ * The windows adjacent to the displayed range are prefetched after the displayed range has been loaded, so browsing forward or backward does not have to wait.
+ * Only the calls to the provider for prefetching run on the prefetch executor; the provided events are merged on the FX thread.
+ * When the resources or the provider change, everything that was loaded is removed and loaded again.
+ *
+ * The skin calls show with the range it displays, whenever that range changes.
+ */
+public class EventWindowCache {
+
+    /**
+     * @param batchUpdate runs the changes to the events as one batch, see Scheduler.batchUpdate
+     */
+    EventWindowCache(ObservableList<Scheduler.Event> events, ObservableList<Scheduler.Resource> resources, ObjectProperty<Scheduler.EventProvider> eventProviderProperty, Consumer<Runnable> batchUpdate) {
+        this(events, resources, eventProviderProperty, batchUpdate, Platform::runLater);
+    }
+
+    /**
+     * @param fxExecutor runs the merging of prefetched events on the FX thread
+     */
+    EventWindowCache(ObservableList<Scheduler.Event> events, ObservableList<Scheduler.Resource> resources, ObjectProperty<Scheduler.EventProvider> eventProviderProperty, Consumer<Runnable> batchUpdate, Executor fxExecutor) {
+        this.events = events;
+        this.resources = resources;
+        this.eventProviderProperty = eventProviderProperty;
+        this.batchUpdate = batchUpdate;
+        this.fxExecutor = fxExecutor;
+
+        // everything that was loaded is invalid when the resources or the provider change
+        resources.addListener((Observable observable) -> {
+            reload();
+        });
+        eventProviderProperty.addListener((observable) -> {
+            reload();
+        });
+    }
+    final private ObservableList<Scheduler.Event> events;
+    final private ObservableList<Scheduler.Resource> resources;
+    final private ObjectProperty<Scheduler.EventProvider> eventProviderProperty;
+    final private Consumer<Runnable> batchUpdate;
+    final private Executor fxExecutor;
+
+    // window index -> the events loaded for it, in access order
+    final private LinkedHashMap<Long, List<Scheduler.Event>> windows = new LinkedHashMap<>(16, 0.75f, true);
+    final private Set<Long> displayedWindows = new HashSet<>();
+    final private Set<Long> prefetchingWindows = new HashSet<>();
+    private Scheduler.LocalDateTimeRange displayedRange = null;
+    private int loadCount = 0;
+    // incremented on every reload, so prefetched events of before the reload are dropped
+    private int generation = 0;
+
+    /**
+     * windowDays: the number of days that are loaded in one call to the provider
+     */
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("A window must be at least one day");
+        }
+        this.windowDays = value;
+        reload();
+    }
+
+    public EventWindowCache withWindowDays(int value) {
+        setWindowDays(value);
+        return this;
+    }
+
+    private int windowDays = 7;
+
+    /**
+     * maxWindows: the number of windows kept, the displayed windows are always kept even if there are more
+     */
+    public int getMaxWindows() {
+        return maxWindows;
+    }
+
+    public void setMaxWindows(int value) {
+        this.maxWindows = value;
+        evict();
+    }
+
+    public EventWindowCache withMaxWindows(int value) {
+        setMaxWindows(value);
+        return this;
+    }
+
+    private int maxWindows = 8;
+
+    /**
+     * prefetchWindows: the number of windows loaded before and after the displayed range
+     */
+    public int getPrefetchWindows() {
+        return prefetchWindows;
+    }
+
+    public void setPrefetchWindows(int value) {
+        this.prefetchWindows = value;
+    }
+
+    public EventWindowCache withPrefetchWindows(int value) {
+        setPrefetchWindows(value);
+        return this;
+    }
+
+    private int prefetchWindows = 1;
+
+    /**
+     * prefetchExecutor: runs the calls to the provider for prefetching, by default after the current pulse on the FX thread, so the displayed range is rendered first.
+     * It may be an executor with background threads; the provided events are always merged on the FX thread.
+     */
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    public void setPrefetchExecutor(Executor value) {
+        this.prefetchExecutor = value;
+    }
+
+    public EventWindowCache withPrefetchExecutor(Executor value) {
+        setPrefetchExecutor(value);
+        return this;
+    }
+
+    private Executor prefetchExecutor = Platform::runLater;
+
+    /**
+     * The number of times the provider was called, for testing
+     */
+    public int getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * The number of windows currently loaded
+     */
+    public int size() {
+        return windows.size();
+    }
+
+    /**
+     * Make sure the events for the range are loaded, and prefetch the adjacent windows
+     *
+     * @param range start inclusive, end exclusive
+     */
+    public void show(Scheduler.LocalDateTimeRange range) {
+        displayedRange = range;
+        displayedWindows.clear();
+        if (eventProviderProperty.get() == null) {
+            return;
+        }
+
+        // load what is displayed
+        long lFirstWindow = windowOf(range.getStartLocalDateTime());
+        long lLastWindow = windowOf(range.getEndLocalDateTime().minusNanos(1));
+        for (long lWindow = lFirstWindow; lWindow <= lLastWindow; lWindow++) {
+            displayedWindows.add(lWindow);
+        }
+        load(displayedWindows);
+
+        // and what will probably be displayed next
+        for (int i = 1; i <= prefetchWindows; i++) {
+            prefetch(lLastWindow + i);
+            prefetch(lFirstWindow - i);
+        }
+    }
+
+    /**
+     * Remove all loaded events and load the displayed range again
+     */
+    public void reload() {
+        generation++;
+        prefetchingWindows.clear();
+        if (windows.isEmpty() == false) {
+            Set<Scheduler.Event> lEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (List<Scheduler.Event> lWindowEvents : windows.values()) {
+                lEvents.addAll(lWindowEvents);
+            }
+            windows.clear();
+            events.removeAll(lEvents);
+        }
+        if (displayedRange != null) {
+            show(displayedRange);
+        }
+    }
+
+    /**
+     * Load the windows that are not loaded yet (and mark the others as recently used)
+     */
+    private void load(Iterable<Long> windowIdxs) {
+        Scheduler.EventProvider lEventProvider = eventProviderProperty.get();
+        if (lEventProvider == null) {
+            return;
+        }
+        Set<Long> lResourceIds = resourceIds();
+
+        List<Scheduler.Event> lLoadedEvents = new ArrayList<>();
+        for (Long lWindow : windowIdxs) {
+            if (windows.get(lWindow) != null) {
+                continue;
+            }
+            List<Scheduler.Event> lEvents = lEventProvider.provideEvents(lResourceIds, windowRange(lWindow));
+            loadCount++;
+            prefetchingWindows.remove(lWindow);
+            lEvents = lEvents == null ? new ArrayList<>() : new ArrayList<>(lEvents);
+            windows.put(lWindow, lEvents);
+            lLoadedEvents.addAll(lEvents);
+        }
+        if (lLoadedEvents.isEmpty() == false) {
+            batchUpdate.accept(() -> {
+                events.addAll(lLoadedEvents);
+                evict();
+            });
+        }
+        else {
+            evict();
+        }
+    }
+
+    /**
+     * Call the provider for a window that is not loaded yet on the prefetch executor, and merge the result on the FX thread
+     */
+    private void prefetch(long window) {
+        Scheduler.EventProvider lEventProvider = eventProviderProperty.get();
+        if (lEventProvider == null || windows.get(window) != null || prefetchingWindows.add(window) == false) {
+            return;
+        }
+        Set<Long> lResourceIds = resourceIds();
+        Scheduler.LocalDateTimeRange lRange = windowRange(window);
+        int lGeneration = generation;
+        loadCount++;
+        prefetchExecutor.execute(() -> {
+            List<Scheduler.Event> lEvents = lEventProvider.provideEvents(lResourceIds, lRange);
+            fxExecutor.execute(() -> merge(window, lEvents, lGeneration));
+        });
+    }
+
+    /**
+     * Add the prefetched events of a window, unless everything was reloaded in the mean time or the window was loaded already
+     */
+    private void merge(long window, List<Scheduler.Event> providedEvents, int generation) {
+        if (generation != this.generation || prefetchingWindows.remove(window) == false || windows.containsKey(window)) {
+            return;
+        }
+        List<Scheduler.Event> lEvents = providedEvents == null ? new ArrayList<>() : new ArrayList<>(providedEvents);
+        windows.put(window, lEvents);
+        if (lEvents.isEmpty() == false) {
+            batchUpdate.accept(() -> {
+                events.addAll(lEvents);
+                evict();
+            });
+        }
+        else {
+            evict();
+        }
+    }
+
+    private Set<Long> resourceIds() {
+        Set<Long> lResourceIds = new HashSet<>();
+        for (Scheduler.Resource lResource : resources) {
+            lResourceIds.add(lResource.getId());
+        }
+        return lResourceIds;
+    }
+
+    /**
+     * @return the days of a window, start inclusive, end exclusive
+     */
+    private Scheduler.LocalDateTimeRange windowRange(long window) {
+        LocalDateTime lStart = LocalDate.ofEpochDay(window * windowDays + FIRST_MONDAY_EPOCH_DAY).atStartOfDay();
+        return new Scheduler.LocalDateTimeRange(lStart, lStart.plusDays(windowDays));
+    }
+
+    /**
+     * Remove the least recently used windows that are not displayed, until there are at most maxWindows
+     */
+    private void evict() {
+        Set<Scheduler.Event> lEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        int lSize = windows.size();
+        for (Iterator<Map.Entry<Long, List<Scheduler.Event>>> lIterator = windows.entrySet().iterator(); lIterator.hasNext() && lSize > maxWindows; ) {
+            Map.Entry<Long, List<Scheduler.Event>> lEntry = lIterator.next();
+            if (displayedWindows.contains(lEntry.getKey())) {
+                continue;
+            }
+            lEvents.addAll(lEntry.getValue());
+            lIterator.remove();
+            lSize--;
+        }
+        if (lEvents.isEmpty() == false) {
+            events.removeAll(lEvents);
+        }
+    }
+
+    private long windowOf(LocalDateTime localDateTime) {
+        return Math.floorDiv(localDateTime.toLocalDate().toEpochDay() - FIRST_MONDAY_EPOCH_DAY, windowDays);
+    }
+
+    // windows start on a monday, so a week with the default window size is one window
+    final static private long FIRST_MONDAY_EPOCH_DAY = 4;
+}
@@ -0,0 +1,58 @@
+package jfxtras.labs.scene.control.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An event provider that serves events from memory, sorted on start time, mainly for testing and demos.
+ */
+public class InMemoryEventProvider implements Scheduler.EventProvider {
+
+    final private TreeMap<LocalDateTime, List<Scheduler.Event>> eventsByStartTime = new TreeMap<>();
+    private int size = 0;
+
+    public InMemoryEventProvider() {
+    }
+
+    public InMemoryEventProvider(Collection<? extends Scheduler.Event> events) {
+        addAll(events);
+    }
+
+    public void add(Scheduler.Event event) {
+        eventsByStartTime.computeIfAbsent(event.getStartTime(), (startTime) -> new ArrayList<>()).add(event);
+        size++;
+    }
+
+    public void addAll(Collection<? extends Scheduler.Event> events) {
+        for (Scheduler.Event lEvent : events) {
+            add(lEvent);
+        }
+    }
+
+    public InMemoryEventProvider withEvents(Collection<? extends Scheduler.Event> events) {
+        addAll(events);
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Scheduler.Event> provideEvents(Set<Long> resourceIds, Scheduler.LocalDateTimeRange range) {
+        List<Scheduler.Event> lEvents = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, List<Scheduler.Event>> lEntry : eventsByStartTime.subMap(range.getStartLocalDateTime(), true, range.getEndLocalDateTime(), false).entrySet()) {
+            for (Scheduler.Event lEvent : lEntry.getValue()) {
+                if (resourceIds.contains(lEvent.getResourceId())) {
+                    lEvents.add(lEvent);
+                }
+            }
+        }
+        return lEvents;
+    }
+}
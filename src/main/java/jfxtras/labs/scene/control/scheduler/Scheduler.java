@@ -11,7 +11,9 @@ import jfxtras.labs.scene.control.scheduler.skin.SchedulerSkin;
 
 import java.time.LocalDateTime;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * @author Tom Eugelink
@@ -312,6 +314,51 @@ public class Scheduler extends Control {
     }
 
 
+    /**
+     * eventProvider: when set, the events are loaded from the provider in windows around the displayed range (see eventWindowCache),
+     * so not all events need to be present in events() up front.
+     * Events that are added to events() directly are still shown.
+     */
+    public ObjectProperty<EventProvider> eventProviderProperty() {
+        return eventProviderObjectProperty;
+    }
+
+    final private ObjectProperty<EventProvider> eventProviderObjectProperty = new SimpleObjectProperty<EventProvider>(this, "eventProvider", null);
+
+    public EventProvider getEventProvider() {
+        return this.eventProviderObjectProperty.getValue();
+    }
+
+    public void setEventProvider(EventProvider value) {
+        this.eventProviderObjectProperty.setValue(value);
+    }
+
+    public Scheduler withEventProvider(EventProvider value) {
+        setEventProvider(value);
+        return this;
+    }
+
+    /**
+     * The windows of events that were loaded from the event provider
+     */
+    public EventWindowCache eventWindowCache() {
+        return eventWindowCache;
+    }
+
+    final private EventWindowCache eventWindowCache = new EventWindowCache(events, resources, eventProviderObjectProperty, this::batchUpdate);
+
+    /**
+     * Loads events on demand
+     */
+    public interface EventProvider {
+        /**
+         * @param resourceIds the resources to load the events for
+         * @param range start inclusive, end exclusive
+         * @return the events of the resources that start within the range
+         */
+        List<Event> provideEvents(Set<Long> resourceIds, LocalDateTimeRange range);
+    }
+
     /**
      * A Datetime range, for callbacks
      */
@@ -338,6 +385,42 @@ public class Scheduler extends Control {
         }
     }
 
+    /**
+     * batchUpdate: changes made to the events and resources while the runnable executes, are not processed by the skin one-by-one,
+     * but collected and processed in one go when the runnable is done.
+     * Calls may be nested, the outermost call determines when the changes are processed.
+     */
+    public void batchUpdate(Runnable runnable) {
+        batchUpdateDepth++;
+        if (batchUpdateDepth == 1) {
+            batchUpdatingObjectProperty.set(true);
+        }
+        try {
+            runnable.run();
+        }
+        finally {
+            batchUpdateDepth--;
+            if (batchUpdateDepth == 0) {
+                batchUpdatingObjectProperty.set(false);
+            }
+        }
+    }
+
+    private int batchUpdateDepth = 0;
+
+    /**
+     * batchUpdating: true while a batchUpdate is being executed
+     */
+    public ReadOnlyBooleanProperty batchUpdatingProperty() {
+        return batchUpdatingObjectProperty.getReadOnlyProperty();
+    }
+
+    final private ReadOnlyBooleanWrapper batchUpdatingObjectProperty = new ReadOnlyBooleanWrapper(this, "batchUpdating", false);
+
+    public boolean isBatchUpdating() {
+        return batchUpdatingObjectProperty.get();
+    }
+
     /**
      * Force the agenda to completely refresh itself
      */
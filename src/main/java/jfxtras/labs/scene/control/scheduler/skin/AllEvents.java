@@ -1,6 +1,5 @@
 package jfxtras.labs.scene.control.scheduler.skin;
 
-import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.WeakListChangeListener;
@@ -9,7 +8,6 @@ import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author Tom Eugelink
@@ -21,19 +19,53 @@ public class AllEvents {
      */
     public AllEvents(ObservableList<Event> events) {
         this.events = events;
+        eventIntervalIndex.rebuild(events);
 
         events.addListener(new WeakListChangeListener<>(listChangeListener));
 
     }
 
     final private ObservableList<Event> events;
+    final private EventIntervalIndex eventIntervalIndex = new EventIntervalIndex();
     final private ListChangeListener<Event> listChangeListener = new ListChangeListener<Event>() {
         @Override
         public void onChanged(javafx.collections.ListChangeListener.Change<? extends Event> changes) {
+            // keep the index in sync
+            while (changes.next()) {
+                if (changes.wasPermutated()) {
+                    continue; // order is irrelevant for the index
+                }
+                if (changes.wasUpdated()) {
+                    for (Event lEvent : changes.getList().subList(changes.getFrom(), changes.getTo())) {
+                        eventIntervalIndex.update(lEvent);
+                    }
+                    continue;
+                }
+                for (Event lEvent : changes.getRemoved()) {
+                    eventIntervalIndex.remove(lEvent);
+                }
+                for (Event lEvent : changes.getAddedSubList()) {
+                    eventIntervalIndex.add(lEvent);
+                }
+            }
             fireOnChangeListener();
         }
     };
 
+    /**
+     * Events are not observed, so when the resource, start or end time of an event is changed, this must be called to keep the index up to date.
+     */
+    public void reindex(Event event) {
+        eventIntervalIndex.update(event);
+    }
+
+    /**
+     * Rebuild the index from scratch, for when events may have been changed without anyone calling reindex (e.g. Scheduler.refresh()).
+     */
+    public void reindex() {
+        eventIntervalIndex.rebuild(events);
+    }
+
     /**
      * fires when something changes in the events
      */
@@ -48,33 +80,36 @@ public class AllEvents {
     private List<Runnable> runnables = new ArrayList<>();
 
     private void fireOnChangeListener() {
-        for (Runnable runnable : runnables) {
-//            runnable.run();
-            Platform.runLater(runnable);
+        if (runnables.isEmpty()) {
+            return;
         }
+        pulseCoalescer.request(); // all changes until the next pulse result in one call per listener
     }
 
+    final PulseCoalescer pulseCoalescer = new PulseCoalescer(() -> {
+        for (Runnable runnable : new ArrayList<>(runnables)) {
+            runnable.run();
+        }
+    });
+
     /**
+     * Uses the interval index to find the candidates overlapping the displayed dates, and then applies the same date criteria as always:
+     * the event must start or end on one of the displayed dates.
+     *
      * @param resourceId
      * @return
      */
     public List<Event> collectRegularForResourceAndDates(long resourceId, LocalDate minDate, LocalDate maxDate) {
-        List<Event> collectedEvents =  events.parallelStream().filter(c ->
-                c.getResourceId().equals(resourceId)
-    &&(  ( (c.getStartTime().toLocalDate().isAfter(minDate) || c.getStartTime().toLocalDate().isEqual(minDate))
+        List<Event> collectedEvents = eventIntervalIndex.collect(resourceId, minDate.atStartOfDay(), maxDate.plusDays(1).atStartOfDay().minusNanos(1));
+        collectedEvents.removeIf(c -> !startsOrEndsWithinDates(c, minDate, maxDate));
+        return collectedEvents;
+    }
+
+    static boolean startsOrEndsWithinDates(Event c, LocalDate minDate, LocalDate maxDate) {
+        return ( (c.getStartTime().toLocalDate().isAfter(minDate) || c.getStartTime().toLocalDate().isEqual(minDate))
                         && (c.getStartTime().toLocalDate().isBefore(maxDate) || c.getStartTime().toLocalDate().isEqual(maxDate))  )
 
     || ((c.getEndTime().toLocalDate().isBefore(maxDate) || c.getEndTime().toLocalDate().isEqual(maxDate))
-                        && (c.getEndTime().toLocalDate().isAfter(minDate) || c.getEndTime().toLocalDate().isEqual(minDate))))   )
-                .collect(Collectors.toList());
-/*
-        // scan all events and filter the ones for this resource
-        for (Event lEvent : events) {
-            if (lEvent.getResourceId().equals(resourceId)) {
-                collectedEvents.add(lEvent);
-            }
-
-        }*/
-        return collectedEvents;
+                        && (c.getEndTime().toLocalDate().isAfter(minDate) || c.getEndTime().toLocalDate().isEqual(minDate)));
     }
 }
@@ -1,6 +1,5 @@
 package jfxtras.labs.scene.control.scheduler.skin;
 
-import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.WeakListChangeListener;
@@ -43,12 +42,18 @@ public class AllResources {
     private List<Runnable> runnables = new ArrayList<>();
 
     private void fireOnChangeListener() {
-        for (Runnable runnable : runnables) {
-//            runnable.run();
-            Platform.runLater(runnable);
+        if (runnables.isEmpty()) {
+            return;
         }
+        pulseCoalescer.request(); // all changes until the next pulse result in one call per listener
     }
 
+    final PulseCoalescer pulseCoalescer = new PulseCoalescer(() -> {
+        for (Runnable runnable : new ArrayList<>(runnables)) {
+            runnable.run();
+        }
+    });
+
     List<Scheduler.Resource> collectRegular() {
         return resources;
     }
@@ -58,6 +58,7 @@ abstract class EventAbstractPane extends Pane {
 
         // react to changes in the selected events
         layoutHelp.skinnable.selectedEvents().addListener(new WeakListChangeListener<>(listChangeListener));
+        setOrRemoveSelected();
     }
 
 
@@ -4,10 +4,9 @@ package jfxtras.labs.scene.control.scheduler.skin;
 import jfxtras.labs.scene.control.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -108,68 +107,22 @@ public class EventAbstractTrackedPane extends EventAbstractPane {
      */
     static List<? extends EventAbstractTrackedPane> determineTracks(List<? extends EventAbstractTrackedPane> eventAbstractTrackedPanes) {
 
-        // sort on start time and then decreasing duration
-        Collections.sort(eventAbstractTrackedPanes, new Comparator<EventAbstractTrackedPane>() {
-            @Override
-            public int compare(EventAbstractTrackedPane o1, EventAbstractTrackedPane o2) {
-                // if not same start, then compare on starttime
-                if (!o1.startDateTime.isEqual(o2.startDateTime)) {
-                    return o1.startDateTime.compareTo(o2.startDateTime);
-                }
+        // the actual placing is done by the track layout, which sorts on start time and then decreasing duration
+        TrackLayout<? extends EventAbstractTrackedPane> lTrackLayout = TrackLayout.layout(eventAbstractTrackedPanes, EventAbstractTrackedPane::startInMS, EventAbstractTrackedPane::endInMS);
 
-/*                // task after appointment
-                if (o1 instanceof EventRegularBodyPane *//*&& o2 instanceof AppointmentTaskBodyPane*//*) {
-                    return -1;
-                }
-                if (o1 instanceof AppointmentTaskBodyPane && o2 instanceof AppointmentRegularBodyPane) {
-                    return 1;
-                }*/
-
-                // longest last
-                return o1.durationInMS == o2.durationInMS ? 0 : (o1.durationInMS > o2.durationInMS ? -1 : 1);
-            }
-        });
-
-        // start placing appointments in the tracks
-        EventAbstractTrackedPane lClusterOwner = null;
-        for (EventAbstractTrackedPane lAppointmentPane : eventAbstractTrackedPanes) {
-            // if there is no cluster owner
-            if (lClusterOwner == null) {
-
-                // than the current becomes an owner
-                // only create a minimal cluster, because it will be setup fully in the code below
-                lClusterOwner = lAppointmentPane;
-                lClusterOwner.clusterTracks = new ArrayList<List<EventAbstractTrackedPane>>();
-            }
-
-            // in which track should it be added
-            int lTrackNr = determineTrackWhereAppointmentCanBeAdded(lClusterOwner.clusterTracks, lAppointmentPane);
-            // if it can be added to track 0, then we have a "situation". Track 0 could mean
-            // - we must start a new cluster
-            // - the appointment is still linked to the running cluster by means of a linking appointment in the higher tracks
-            if (lTrackNr == 0) {
-
-                // So let's see if there is a linking appointment higher up
-                boolean lOverlaps = false;
-                for (int i = 1; i < lClusterOwner.clusterTracks.size() && lOverlaps == false; i++) {
-                    lOverlaps = checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(lClusterOwner.clusterTracks, i, lAppointmentPane);
-                }
-
-                // if it does not overlap, we start a new cluster
-                if (lOverlaps == false) {
-                    lClusterOwner = lAppointmentPane;
-                    lClusterOwner.clusterMembers = new ArrayList<EventAbstractTrackedPane>();
-                    lClusterOwner.clusterTracks = new ArrayList<List<EventAbstractTrackedPane>>();
-                    lClusterOwner.clusterTracks.add(new ArrayList<EventAbstractTrackedPane>());
-                }
+        // copy the clusters onto the panes
+        for (TrackLayout.Cluster<? extends EventAbstractTrackedPane> lCluster : lTrackLayout.getClusters()) {
+            EventAbstractTrackedPane lClusterOwner = lCluster.getOwner();
+            lClusterOwner.clusterMembers = new ArrayList<EventAbstractTrackedPane>(lCluster.getMembers());
+            lClusterOwner.clusterTracks = new ArrayList<List<EventAbstractTrackedPane>>();
+            for (List<? extends EventAbstractTrackedPane> lTrack : lCluster.getTracks()) {
+                lClusterOwner.clusterTracks.add(new ArrayList<EventAbstractTrackedPane>(lTrack));
             }
-
-            // add it to the track (and setup all other cluster data)
-            lClusterOwner.clusterMembers.add(lAppointmentPane);
-            lClusterOwner.clusterTracks.get(lTrackNr).add(lAppointmentPane);
-            lAppointmentPane.clusterOwner = lClusterOwner;
-            lAppointmentPane.clusterTrackIdx = lTrackNr;
-            // for debug  System.out.println("----"); for (int i = 0; i < lClusterOwner.clusterTracks.size(); i++) { System.out.println(i + ": " + lClusterOwner.clusterTracks.get(i) ); } System.out.println("----");
+        }
+        for (int i = 0; i < eventAbstractTrackedPanes.size(); i++) {
+            EventAbstractTrackedPane lAppointmentPane = eventAbstractTrackedPanes.get(i);
+            lAppointmentPane.clusterOwner = lTrackLayout.getCluster(i).getOwner();
+            lAppointmentPane.clusterTrackIdx = lTrackLayout.getTrackIdx(i);
         }
 
         // done
@@ -177,60 +130,18 @@ public class EventAbstractTrackedPane extends EventAbstractPane {
     }
 
     /**
-     *
+     * Start and end as used for determining the tracks, an event without end time is considered to take 10 minutes
      */
-    static private int determineTrackWhereAppointmentCanBeAdded(List<List<EventAbstractTrackedPane>> tracks, EventAbstractTrackedPane eventPane) {
-        int lTrackNr = 0;
-        while (true) {
-            // make sure there is a arraylist for this track
-            if (lTrackNr == tracks.size()) {
-                tracks.add(new ArrayList<EventAbstractTrackedPane>());
-            }
-
-            // scan all existing appointments in this track and see if there is an overlap
-            if (checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(tracks, lTrackNr, eventPane) == false) {
-                // no overlap, it can be added here
-                return lTrackNr;
-            }
-
-            // overlap, try next track
-            lTrackNr++;
-        }
+    private long startInMS() {
+        return toMS(startDateTime);
     }
 
-    /**
-     *
-     */
-    static private boolean checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(List<List<EventAbstractTrackedPane>> tracks, int tracknr, EventAbstractTrackedPane newEventPane) {
-        // get the track
-        List<EventAbstractTrackedPane> lTrack = tracks.get(tracknr);
-
-        // scan all existing appointments in this track
-        for (EventAbstractTrackedPane lEventPane : lTrack) {
-            // There is an overlap:
-            // if the start time of the already placed appointment is before or equals the new appointment's end time
-            // and the end time of the already placed appointment is after the new appointment's start time (equals will put two consequative appointments into separate tracks)
-            // ...PPPPPPPPP...
-            // .NNNN.......... -> Ps <= Ne & Pe >= Ns -> overlap
-            // .....NNNNN..... -> Ps <= Ne & Pe >= Ns -> overlap
-            // ..........NNN.. -> Ps <= Ne & Pe >= Ns -> overlap
-            // .NNNNNNNNNNNNN. -> Ps <= Ne & Pe >= Ns -> overlap
-            // .N............. -> false    & Pe >= Ns -> no overlap
-            // .............N. -> Ps <= Ne & false	  -> no overlap
-            LocalDateTime lPlacedStart = lEventPane.startDateTime;
-            LocalDateTime lPlacedEnd = (lEventPane.endDateTime != null ? lEventPane.endDateTime : lEventPane.startDateTime.plusMinutes(10));
-            LocalDateTime lNewStart = newEventPane.startDateTime;
-            LocalDateTime lNewEnd = (newEventPane.endDateTime != null ? newEventPane.endDateTime : newEventPane.startDateTime.plusMinutes(10));
-            if ((lPlacedStart.isEqual(lNewStart) || lNewEnd == null || lPlacedStart.isBefore(lNewEnd))
-                    && lPlacedEnd != null && lPlacedEnd.isAfter(lNewStart)
-                    ) {
-                // overlap
-                return true;
-            }
-        }
+    private long endInMS() {
+        return toMS(endDateTime != null ? endDateTime : startDateTime.plusMinutes(10));
+    }
 
-        // no overlap
-        return false;
+    static long toMS(LocalDateTime localDateTime) {
+        return localDateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + localDateTime.getNano() / 1000000;
     }
 
     /**
@@ -0,0 +1,275 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import jfxtras.labs.scene.control.scheduler.Scheduler.Event;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over events, keyed by resource id, with per resource an interval tree on the start and end time.
+ * This allows a resource + time range query in O(log n + k) instead of scanning all events.
+ *
+ * The index remembers under which resource and times an event was indexed, so it can be removed again even after the event itself was changed.
+ * Events are mutable, so whoever changes an event's resource, start or end time must call {@link #update(Event)} afterwards.
+ *
+ * The tree is an AVL tree ordered on start time (ties are broken by insertion sequence), where each node is augmented with the maximum end time in its subtree.
+ */
+class EventIntervalIndex {
+
+    final private Map<Long, Node> rootPerResource = new HashMap<>();
+    final private Map<Event, Node> nodePerEvent = new IdentityHashMap<>();
+    private long sequence = 0;
+
+    /**
+     * Number of events in the index
+     */
+    int size() {
+        return nodePerEvent.size();
+    }
+
+    /**
+     * Remove everything and index all events anew
+     */
+    void rebuild(Collection<? extends Event> events) {
+        rootPerResource.clear();
+        nodePerEvent.clear();
+        for (Event lEvent : events) {
+            add(lEvent);
+        }
+    }
+
+    /**
+     * Add an event to the index, if the event already was indexed, it is updated instead
+     */
+    void add(Event event) {
+        if (nodePerEvent.containsKey(event)) {
+            update(event);
+            return;
+        }
+        Node lNode = new Node(event, sequence++);
+        nodePerEvent.put(event, lNode);
+        rootPerResource.put(lNode.resourceId, insert(rootPerResource.get(lNode.resourceId), lNode));
+    }
+
+    /**
+     * Remove an event from the index, using the resource and times it was indexed under
+     */
+    void remove(Event event) {
+        Node lNode = nodePerEvent.remove(event);
+        if (lNode == null) {
+            return;
+        }
+        Node lRoot = delete(rootPerResource.get(lNode.resourceId), lNode);
+        if (lRoot == null) {
+            rootPerResource.remove(lNode.resourceId);
+        }
+        else {
+            rootPerResource.put(lNode.resourceId, lRoot);
+        }
+    }
+
+    /**
+     * Reindex an event after its resource, start or end time has changed
+     * @return true if the event's position in the index actually changed
+     */
+    boolean update(Event event) {
+        Node lNode = nodePerEvent.get(event);
+        if (lNode == null) {
+            return false;
+        }
+        if (lNode.resourceId == resourceIdOf(event) && lNode.start == toMillis(event.getStartTime()) && lNode.end == toMillis(endTimeOf(event))) {
+            return false;
+        }
+        remove(event);
+        add(event);
+        return true;
+    }
+
+    /**
+     * Collect the events of a resource that overlap the closed interval [from, to], in order of start time
+     */
+    List<Event> collect(long resourceId, LocalDateTime from, LocalDateTime to) {
+        List<Event> lCollectedEvents = new ArrayList<>();
+        collect(rootPerResource.get(resourceId), toMillis(from), toMillis(to), lCollectedEvents);
+        return lCollectedEvents;
+    }
+
+    private static void collect(Node node, long from, long to, List<Event> collectedEvents) {
+        // nothing in this subtree ends after the start of the interval
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, collectedEvents);
+        // everything to the right starts at or after this node, so if this node starts after the interval, we're done
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            collectedEvents.add(node.event);
+        }
+        collect(node.right, from, to, collectedEvents);
+    }
+
+    // ==================================================================================================================
+    // TREE
+
+    static private class Node {
+        Node(Event event, long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+            this.resourceId = resourceIdOf(event);
+            this.start = toMillis(event.getStartTime());
+            this.end = toMillis(endTimeOf(event));
+            this.maxEnd = end;
+        }
+        final Event event;
+        final long sequence;
+        final long resourceId;
+        final long start;
+        final long end;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        int compareTo(Node other) {
+            if (start != other.start) {
+                return start < other.start ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            node.left = null;
+            node.right = null;
+            node.height = 1;
+            node.maxEnd = node.end;
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+        }
+        else {
+            root.right = insert(root.right, node);
+        }
+        return balance(root);
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int lCompare = node.compareTo(root);
+        if (lCompare < 0) {
+            root.left = delete(root.left, node);
+            return balance(root);
+        }
+        if (lCompare > 0) {
+            root.right = delete(root.right, node);
+            return balance(root);
+        }
+
+        // this is the node to remove
+        if (root.left == null) {
+            return root.right;
+        }
+        if (root.right == null) {
+            return root.left;
+        }
+        // replace by the smallest node of the right subtree
+        Node lSuccessor = root.right;
+        while (lSuccessor.left != null) {
+            lSuccessor = lSuccessor.left;
+        }
+        lSuccessor.right = deleteMin(root.right);
+        lSuccessor.left = root.left;
+        return balance(lSuccessor);
+    }
+
+    private static Node deleteMin(Node root) {
+        if (root.left == null) {
+            return root.right;
+        }
+        root.left = deleteMin(root.left);
+        return balance(root);
+    }
+
+    private static Node balance(Node node) {
+        recalculate(node);
+        int lBalance = height(node.left) - height(node.right);
+        if (lBalance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (lBalance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node lLeft = node.left;
+        node.left = lLeft.right;
+        lLeft.right = node;
+        recalculate(node);
+        recalculate(lLeft);
+        return lLeft;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node lRight = node.right;
+        node.right = lRight.left;
+        lRight.left = node;
+        recalculate(node);
+        recalculate(lRight);
+        return lRight;
+    }
+
+    private static void recalculate(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long lMaxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > lMaxEnd) {
+            lMaxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > lMaxEnd) {
+            lMaxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = lMaxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // ==================================================================================================================
+    // SUPPORT
+
+    private static long resourceIdOf(Event event) {
+        Long lResourceId = event.getResourceId();
+        return lResourceId == null ? 0 : lResourceId;
+    }
+
+    private static LocalDateTime endTimeOf(Event event) {
+        return event.getEndTime() != null ? event.getEndTime() : event.getStartTime();
+    }
+
+    /**
+     * The offset is irrelevant, this only needs to be a monotonic mapping onto a long
+     */
+    private static long toMillis(LocalDateTime localDateTime) {
+        return localDateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + localDateTime.getNano() / 1000000;
+    }
+}
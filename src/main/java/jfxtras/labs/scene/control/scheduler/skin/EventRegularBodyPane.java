@@ -7,6 +7,8 @@ import javafx.scene.CacheHint;
 import javafx.scene.text.Text;
 import jfxtras.labs.scene.control.scheduler.Scheduler;
 
+import java.util.Objects;
+
 /**
  * @author Tom Eugelink
  * @author Islam Khachmakhov
@@ -30,7 +32,8 @@ public class EventRegularBodyPane extends EventAbstractTrackedPane {
         }
 
         // add summary
-        Text lSummaryText = new Text(event.getText());
+        this.text = event.getText();
+        Text lSummaryText = new Text(text);
         {
             lSummaryText.getStyleClass().add("EventLabel");
             lSummaryText.setX( layoutHelp.paddingProperty.get() );
@@ -53,6 +56,16 @@ public class EventRegularBodyPane extends EventAbstractTrackedPane {
     }
     private String startAsString;
     private String endAsString;
+    private final String text;
+
+    /**
+     * The pane renders the event as it was when the pane was created, this tells if the event has not been changed since
+     */
+    boolean isUpToDate() {
+        return startDateTime.equals(event.getStartTime())
+            && endDateTime.equals(event.getEndTime())
+            && Objects.equals(text, event.getText());
+    }
     final private InvalidationListener allowResizeInvalidationListener = new InvalidationListener() {
         @Override
         public void invalidated(Observable arg0) {
@@ -0,0 +1,54 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps items (event panes) ordered on the moment they become history, so moving "now" forward only touches the items that crossed it.
+ * Everything before the cursor is history, everything from the cursor on is not yet.
+ */
+class HistoryTracker<T> {
+
+    /**
+     * @param historySince the moment (in ms) from which on the item is history
+     */
+    HistoryTracker(ToLongFunction<? super T> historySince) {
+        this.historySince = historySince;
+    }
+    final private ToLongFunction<? super T> historySince;
+    final private List<T> items = new ArrayList<>();
+    private int cursor = 0;
+
+    /**
+     * Track a new set of items
+     *
+     * @return the items that are history at the given moment
+     */
+    List<T> reset(List<? extends T> items, long now) {
+        this.items.clear();
+        this.items.addAll(items);
+        Collections.sort(this.items, (o1, o2) -> Long.compare(historySince.applyAsLong(o1), historySince.applyAsLong(o2)));
+        cursor = 0;
+        return advance(now);
+    }
+
+    /**
+     * Move now forward
+     *
+     * @return the items that became history since the previous call
+     */
+    List<T> advance(long now) {
+        int lFrom = cursor;
+        while (cursor < items.size() && historySince.applyAsLong(items.get(cursor)) < now) {
+            cursor++;
+        }
+        return items.subList(lFrom, cursor);
+    }
+
+    void clear() {
+        items.clear();
+        cursor = 0;
+    }
+}
@@ -0,0 +1,88 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import jfxtras.labs.scene.control.scheduler.skin.ResourceCanvasBodyPane.PaintedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The hit-test index of the events painted in a ResourceCanvasBodyPane; buckets of a fixed number of pixels wide that list the events painted over them.
+ * This is pure data, so it can be used (and tested) without any nodes.
+ *
+ * Every bucket lists the painted events that overlap it in paint order, stored consecutively in one array,
+ * so a hit-test only checks the events of a single bucket instead of all painted events.
+ * The painted events do not move by themselves, so the index must be rebuilt whenever they are positioned again.
+ */
+class HitTestIndex {
+
+    final static double BUCKET_WIDTH = 32;
+
+    private List<PaintedEvent> paintedEvents = Collections.emptyList();
+    private double width = 0;
+    private int numberOfBuckets = 1;
+    private int[] bucketStarts = new int[2];
+    private int[] bucketPaintedEventIdxs = new int[0];
+
+    /**
+     * Remove everything and index the painted events anew
+     * @param paintedEvents in the order they are painted, positioned
+     * @param width the width of the area they are painted on, a hit-test outside of it never hits
+     */
+    void rebuild(List<PaintedEvent> paintedEvents, double width) {
+        this.paintedEvents = new ArrayList<>(paintedEvents);
+        this.width = width;
+        numberOfBuckets = Math.max(1, (int) Math.ceil(width / BUCKET_WIDTH));
+        int lNumberOfBuckets = numberOfBuckets;
+        int[] lCounts = new int[lNumberOfBuckets + 1];
+        for (PaintedEvent lPaintedEvent : this.paintedEvents) {
+            for (int b = bucket(lPaintedEvent.x); b <= bucket(lPaintedEvent.x + lPaintedEvent.width); b++) {
+                lCounts[b + 1]++;
+            }
+        }
+        for (int b = 0; b < lNumberOfBuckets; b++) {
+            lCounts[b + 1] += lCounts[b];
+        }
+        bucketStarts = lCounts;
+        bucketPaintedEventIdxs = new int[lCounts[lNumberOfBuckets]];
+        int[] lNext = new int[lNumberOfBuckets];
+        System.arraycopy(lCounts, 0, lNext, 0, lNumberOfBuckets);
+        for (int i = 0; i < this.paintedEvents.size(); i++) {
+            PaintedEvent lPaintedEvent = this.paintedEvents.get(i);
+            for (int b = bucket(lPaintedEvent.x); b <= bucket(lPaintedEvent.x + lPaintedEvent.width); b++) {
+                bucketPaintedEventIdxs[lNext[b]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Remove everything
+     */
+    void clear() {
+        rebuild(Collections.emptyList(), 0);
+    }
+
+    private int bucket(double x) {
+        return Math.max(0, Math.min(numberOfBuckets - 1, (int) (x / BUCKET_WIDTH)));
+    }
+
+    /**
+     * @param x local coordinate
+     * @param y local coordinate
+     * @return the event that is painted on top at that location, or null
+     */
+    PaintedEvent hitTest(double x, double y) {
+        if (x < 0 || x >= width) {
+            return null;
+        }
+        int lBucket = bucket(x);
+        // the last painted is on top
+        for (int i = bucketStarts[lBucket + 1] - 1; i >= bucketStarts[lBucket]; i--) {
+            PaintedEvent lPaintedEvent = paintedEvents.get(bucketPaintedEventIdxs[i]);
+            if (lPaintedEvent.contains(x, y)) {
+                return lPaintedEvent;
+            }
+        }
+        return null;
+    }
+}
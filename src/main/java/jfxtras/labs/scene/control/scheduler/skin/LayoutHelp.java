@@ -164,6 +164,9 @@ public class LayoutHelp {
     void callEventChangedCallback(Scheduler.Event event) {
         // ignore temp appointments
         if (!(event instanceof EventAbstractPane.EventImplForDrag)) {
+            // the event may have moved in time or to another resource
+            skin.reindex(event);
+
             Callback<Scheduler.Event, Void> lChangedCallback = skinnable.getAppointmentChangedCallback();
             if (lChangedCallback != null) {
                 lChangedCallback.call(event);
@@ -0,0 +1,65 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.application.Platform;
+
+/**
+ * Collapses any number of change requests into a single run of the flush runnable.
+ * The first request schedules the flush with Platform.runLater, so everything that changes before the next pulse is handled in one go.
+ * While held (e.g. during Scheduler.batchUpdate) nothing is scheduled, the flush is done directly when the last hold is released.
+ */
+class PulseCoalescer {
+
+    PulseCoalescer(Runnable flush) {
+        this.flush = flush;
+    }
+    final private Runnable flush;
+
+    private boolean dirty = false;
+    private boolean scheduled = false;
+    private int holdCount = 0;
+
+    /**
+     * Something changed, make sure the flush will run
+     */
+    void request() {
+        dirty = true;
+        if (holdCount > 0 || scheduled) {
+            return;
+        }
+        scheduled = true;
+        Platform.runLater(() -> {
+            scheduled = false;
+            if (holdCount == 0) {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Postpone flushing until release is called the same number of times
+     */
+    void hold() {
+        holdCount++;
+    }
+
+    void release() {
+        if (holdCount == 0) {
+            return;
+        }
+        holdCount--;
+        if (holdCount == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Run the flush now if anything was requested
+     */
+    void flush() {
+        if (dirty == false) {
+            return;
+        }
+        dirty = false;
+        flush.run();
+    }
+}
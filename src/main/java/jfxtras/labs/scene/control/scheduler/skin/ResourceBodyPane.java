@@ -15,8 +15,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Tom Eugelink
@@ -26,7 +30,7 @@ public class ResourceBodyPane extends Pane {
 
     final AllEvents allEvents;
     final LayoutHelp layoutHelp;
-    final Scheduler.Resource resource;
+    Scheduler.Resource resource;
     List<LocalDate> displayedLocalDates;
     ObjectProperty<LocalDate> minDateObjectProperty = new SimpleObjectProperty<>();
     ObjectProperty<LocalDate> maxDateObjectProperty = new SimpleObjectProperty<>();
@@ -43,6 +47,30 @@ public class ResourceBodyPane extends Pane {
         construct();
     }
 
+    /**
+     * Show another resource, so the pane can be recycled when scrolling
+     */
+    void setResource(Scheduler.Resource resource) {
+        this.resource = resource;
+        setId("ResourceBodyPane" + resource.getId()); // for testing
+        setupEvents();
+    }
+
+    /**
+     * Remove all events, for when the pane is not displayed anymore
+     */
+    void clearEvents() {
+        Map<Integer, Pane> lEventNodeMap = ((SchedulerSkinAbstract<?>) layoutHelp.skin).eventNodeMap();
+        for (EventRegularBodyPane lEventPane : regularEventBodyPanes) {
+            lEventNodeMap.remove(System.identityHashCode(lEventPane.event), lEventPane);
+        }
+        getChildren().removeAll(regularEventBodyPanes);
+        regularEventBodyPanes.clear();
+        regularEvents.clear();
+        trackedEventBodyPanes.clear();
+        historyTracker.clear();
+    }
+
     void setDisplayedLocalDates(List<LocalDate> displayedLocalDates) {
         this.displayedLocalDates = displayedLocalDates;
 
@@ -62,10 +90,7 @@ public class ResourceBodyPane extends Pane {
 //        setStyle("-fx-border-color:PINK;-fx-border-width:4px;");
         setId("ResourceBodyPane" + resource.getId()); // for testing
 
-        allEvents.addOnChangeListener(() -> {
-//            setupEvents();
-        });
-        setupEvents();
+        // the events are setup by whoever created the pane, see SchedulerSkinAbstract.createResourceBodyPane, so a subclass is fully constructed first
 
         widthProperty().addListener((observable -> {
             relayout();
@@ -186,11 +211,13 @@ public class ResourceBodyPane extends Pane {
         });
     }
 
-    private void relayout() {
+    void relayout() {
+        relayout(trackedEventBodyPanes);
+    }
 
-        double lNumberOfPixelsPerMinute = layoutHelp.resourceWidthProperty.get() / (24 * 60 * displayedLocalDates.size());
+    private void relayout(List<? extends EventAbstractTrackedPane> eventAbstractTrackedPanes) {
 
-        for (EventAbstractTrackedPane lEventAbstractTrackedPane : trackedEventBodyPanes) {
+        for (EventAbstractTrackedPane lEventAbstractTrackedPane : eventAbstractTrackedPanes) {
 
             // for this pane specifically
             double lNumberOfTracks = (double) lEventAbstractTrackedPane.clusterOwner.clusterTracks.size();
@@ -216,25 +243,32 @@ public class ResourceBodyPane extends Pane {
             lEventAbstractTrackedPane.setPrefHeight(NodeUtil.snapWH(lEventAbstractTrackedPane.getLayoutY(), lH));
 
             // the height is determined by the duration projected against the total dayHeight (being 24 hours)
-            double lW;
-
-            long lWidthInMinutes = lEventAbstractTrackedPane.durationInMS / 1000 / 60;
-            lW = lNumberOfPixelsPerMinute * lWidthInMinutes;
+            double lW = determineEventWidth(lEventAbstractTrackedPane.startDateTime, lEventAbstractTrackedPane.durationInMS);
 
-            // if start date of event < that minimal displayed date, then subtract appropriate amount of width
-            if (lEventAbstractTrackedPane.startDateTime.isBefore(minDateObjectProperty.get().atStartOfDay())) {
-                Duration duration = Duration.between(lEventAbstractTrackedPane.startDateTime, minDateObjectProperty.get().atStartOfDay());
-                long seconds = duration.getSeconds();
-                lW -= (seconds / 60) * lNumberOfPixelsPerMinute;
-            }
+            lEventAbstractTrackedPane.setPrefWidth(NodeUtil.snapWH(lEventAbstractTrackedPane.getLayoutX(), lW));
+        }
+    }
 
-            // the width has a minimum size, in order to be able to render sensibly
-            if (lW < 2 * layoutHelp.paddingProperty.get()) {
-                lW = 2 * layoutHelp.paddingProperty.get();
-            }
+    /**
+     * The width of an event: its duration projected onto the width of the displayed days, minus the part before the first displayed day
+     */
+    double determineEventWidth(LocalDateTime startDateTime, long durationInMS) {
+        double lNumberOfPixelsPerMinute = layoutHelp.resourceWidthProperty.get() / (24 * 60 * displayedLocalDates.size());
+        long lWidthInMinutes = durationInMS / 1000 / 60;
+        double lW = lNumberOfPixelsPerMinute * lWidthInMinutes;
+
+        // if start date of event < that minimal displayed date, then subtract appropriate amount of width
+        if (startDateTime.isBefore(minDateObjectProperty.get().atStartOfDay())) {
+            Duration duration = Duration.between(startDateTime, minDateObjectProperty.get().atStartOfDay());
+            long seconds = duration.getSeconds();
+            lW -= (seconds / 60) * lNumberOfPixelsPerMinute;
+        }
 
-            lEventAbstractTrackedPane.setPrefWidth(NodeUtil.snapWH(lEventAbstractTrackedPane.getLayoutX(), lW));
+        // the width has a minimum size, in order to be able to render sensibly
+        if (lW < 2 * layoutHelp.paddingProperty.get()) {
+            lW = 2 * layoutHelp.paddingProperty.get();
         }
+        return lW;
     }
 
     final private List<Scheduler.Event> regularEvents = new ArrayList<>();
@@ -251,11 +285,134 @@ public class ResourceBodyPane extends Pane {
         getChildren().addAll(determineTracks);
 
         relayout();
-
+        resetHistory();
     }
 
     final List<EventAbstractTrackedPane> trackedEventBodyPanes = new ArrayList<>();
 
+    /**
+     * Incremental version of setupEvents: panes of events that have not changed are reused (looked up via the eventNodeMap),
+     * and only the clusters that are touched by added or removed panes are re-tracked and laid out again.
+     * Clusters never overlap each other, so re-tracking only the touched clusters gives the same result as re-tracking the whole resource.
+     *
+     * @return true if anything changed
+     */
+    boolean updateEvents() {
+        regularEvents.clear();
+        regularEvents.addAll(allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get()));
+
+        // reuse what we can, create the rest
+        Map<Integer, Pane> lEventNodeMap = ((SchedulerSkinAbstract<?>) layoutHelp.skin).eventNodeMap();
+        Set<EventRegularBodyPane> lReusedEventBodyPanes = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<EventRegularBodyPane> lAddedEventBodyPanes = new ArrayList<>();
+        List<EventRegularBodyPane> lEventBodyPanes = new ArrayList<>();
+        for (Scheduler.Event lEvent : regularEvents) {
+            Pane lPane = lEventNodeMap.get(System.identityHashCode(lEvent));
+            if (lPane instanceof EventRegularBodyPane
+                    && lPane.getParent() == this
+                    && ((EventRegularBodyPane) lPane).event == lEvent
+                    && ((EventRegularBodyPane) lPane).isUpToDate()
+                    && lReusedEventBodyPanes.add((EventRegularBodyPane) lPane)) {
+                lEventBodyPanes.add((EventRegularBodyPane) lPane);
+                continue;
+            }
+            EventRegularBodyPane lEventPane = new EventRegularBodyPane(lEvent, layoutHelp);
+            lEventNodeMap.put(System.identityHashCode(lEvent), lEventPane);
+            lAddedEventBodyPanes.add(lEventPane);
+            lEventBodyPanes.add(lEventPane);
+        }
+        List<EventRegularBodyPane> lRemovedEventBodyPanes = new ArrayList<>();
+        for (EventRegularBodyPane lEventPane : regularEventBodyPanes) {
+            if (lReusedEventBodyPanes.contains(lEventPane) == false) {
+                lRemovedEventBodyPanes.add(lEventPane);
+            }
+        }
+        if (lAddedEventBodyPanes.isEmpty() && lRemovedEventBodyPanes.isEmpty()) {
+            return false;
+        }
+
+        // the clusters touched by an added or removed pane must be re-tracked, together with the added panes
+        List<EventAbstractTrackedPane> lChangedEventBodyPanes = new ArrayList<>(lAddedEventBodyPanes);
+        lChangedEventBodyPanes.addAll(lRemovedEventBodyPanes);
+        Set<EventAbstractTrackedPane> lTouchedClusterOwners = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EventRegularBodyPane lEventPane : lReusedEventBodyPanes) {
+            EventAbstractTrackedPane lClusterOwner = lEventPane.clusterOwner;
+            if (lTouchedClusterOwners.contains(lClusterOwner) == false && clusterOverlapsAny(lClusterOwner, lChangedEventBodyPanes)) {
+                lTouchedClusterOwners.add(lClusterOwner);
+            }
+        }
+        List<EventAbstractTrackedPane> lRetrackEventBodyPanes = new ArrayList<>(lAddedEventBodyPanes);
+        for (EventRegularBodyPane lEventPane : lEventBodyPanes) {
+            if (lReusedEventBodyPanes.contains(lEventPane) && lTouchedClusterOwners.contains(lEventPane.clusterOwner)) {
+                lRetrackEventBodyPanes.add(lEventPane);
+            }
+        }
+
+        // administration
+        regularEventBodyPanes.clear();
+        regularEventBodyPanes.addAll(lEventBodyPanes);
+        trackedEventBodyPanes.clear();
+        trackedEventBodyPanes.addAll(regularEventBodyPanes);
+        int lCnt = 0;
+        for (EventRegularBodyPane lEventPane : regularEventBodyPanes) {
+            lEventPane.setId(lEventPane.getClass().getSimpleName() + resource.getId() + "/" + lCnt); // for testing
+            lCnt++;
+        }
+
+        // re-track and add in the correct order, so they overlap nicely
+        getChildren().removeAll(lRemovedEventBodyPanes);
+        List<? extends EventAbstractTrackedPane> determineTracks = EventRegularBodyPane.determineTracks(lRetrackEventBodyPanes);
+        getChildren().removeAll(determineTracks);
+        getChildren().addAll(determineTracks);
+
+        relayout(determineTracks);
+        resetHistory();
+        return true;
+    }
+
+    final private HistoryTracker<EventRegularBodyPane> historyTracker = new HistoryTracker<>(pane -> EventAbstractTrackedPane.toMS(pane.startDateTime));
+
+    /**
+     * New panes do not show history yet, reused panes already show it if they should
+     */
+    private void resetHistory() {
+        LocalDateTime lNow = LocalDateTime.now();
+        for (EventRegularBodyPane lEventPane : historyTracker.reset(regularEventBodyPanes, EventAbstractTrackedPane.toMS(lNow))) {
+            lEventPane.determineHistoryVisualizer(lNow);
+        }
+    }
+
+    /**
+     * Show the history of the events that started before now, only the events that crossed now since the previous call are touched
+     */
+    void updateHistory(LocalDateTime now) {
+        for (EventRegularBodyPane lEventPane : historyTracker.advance(EventAbstractTrackedPane.toMS(now))) {
+            lEventPane.determineHistoryVisualizer(now);
+        }
+    }
+
+    /**
+     * Does the time span of the cluster overlap (or touch) any of the panes
+     */
+    private static boolean clusterOverlapsAny(EventAbstractTrackedPane clusterOwner, List<EventAbstractTrackedPane> eventAbstractTrackedPanes) {
+        LocalDateTime lClusterStart = clusterOwner.startDateTime;
+        LocalDateTime lClusterEnd = clusterOwner.endDateTime;
+        for (EventAbstractTrackedPane lMember : clusterOwner.clusterMembers) {
+            if (lMember.startDateTime.isBefore(lClusterStart)) {
+                lClusterStart = lMember.startDateTime;
+            }
+            if (lMember.endDateTime.isAfter(lClusterEnd)) {
+                lClusterEnd = lMember.endDateTime;
+            }
+        }
+        for (EventAbstractTrackedPane lEventPane : eventAbstractTrackedPanes) {
+            if (lEventPane.startDateTime.isAfter(lClusterEnd) == false && lEventPane.endDateTime.isBefore(lClusterStart) == false) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void setupRegularEvents() {
         regularEvents.clear();
         regularEvents.addAll(allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get()));
@@ -0,0 +1,441 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.util.NodeUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A resource row that paints its events and the day grid onto canvas tiles, instead of creating a pane per event.
+ * The layout (tracks, positions and sizes) is the same as the one of ResourceBodyPane.
+ *
+ * The painted rectangles are kept in a hit-test index; buckets of a fixed number of pixels wide that list the events painted over them.
+ * When the mouse moves over a painted event, a single regular EventRegularBodyPane is placed exactly over it,
+ * so selecting, dragging, resizing (EventDurationDragger) and the context menu (EventMenu) work just like in the regular skins.
+ * So a row consists of a few canvas tiles and at most one event pane, no matter how many events it shows.
+ *
+ * A canvas cannot be styled with CSS, so the row also holds a few empty nodes with the style classes of EventRegularBodyPane;
+ * the colors and fonts the stylesheet gives them are what the events are painted with.
+ */
+public class ResourceCanvasBodyPane extends ResourceBodyPane {
+
+    // a canvas is backed by a texture, which has a maximum size, so wide rows are split into tiles
+    final static double TILE_WIDTH = 2048;
+
+    public ResourceCanvasBodyPane(List<LocalDate> displayedLocalDates, Scheduler.Resource resource, AllEvents allEvents, LayoutHelp layoutHelp) {
+        super(displayedLocalDates, resource, allEvents, layoutHelp);
+
+        setupStyleNodes();
+
+        // put a real event pane under the mouse
+        addEventHandler(MouseEvent.MOUSE_MOVED, (mouseEvent) -> {
+            activateEventPane(hitTestIndex.hitTest(mouseEvent.getX(), mouseEvent.getY()));
+        });
+
+        // react to changes in the selected events
+        layoutHelp.skinnable.selectedEvents().addListener(new WeakListChangeListener<>(selectedEventsListChangeListener));
+    }
+
+    final private ListChangeListener<Scheduler.Event> selectedEventsListChangeListener = (changes) -> {
+        paint();
+    };
+
+    final private List<PaintedEvent> paintedEvents = new ArrayList<>(); // in the order they are painted
+    final private List<Canvas> tiles = new ArrayList<>();
+    final private HitTestIndex hitTestIndex = new HitTestIndex();
+    private EventRegularBodyPane activeEventPane = null;
+
+    /**
+     * An event as it was painted
+     */
+    static class PaintedEvent {
+        PaintedEvent(Scheduler.Event event) {
+            this.event = event;
+            this.startDateTime = event.getStartTime();
+            this.endDateTime = event.getEndTime();
+            this.text = event.getText();
+        }
+        final Scheduler.Event event;
+        final LocalDateTime startDateTime;
+        final LocalDateTime endDateTime;
+        final String text;
+
+        int numberOfTracks;
+        int trackIdx;
+        double x;
+        double y;
+        double width;
+        double height;
+
+        boolean isUpToDate() {
+            return startDateTime.equals(event.getStartTime())
+                && endDateTime.equals(event.getEndTime())
+                && Objects.equals(text, event.getText());
+        }
+
+        boolean contains(double x, double y) {
+            return x >= this.x && x < this.x + width && y >= this.y && y < this.y + height;
+        }
+
+        private long startInMS() {
+            return EventAbstractTrackedPane.toMS(startDateTime);
+        }
+
+        private long endInMS() {
+            return EventAbstractTrackedPane.toMS(endDateTime != null ? endDateTime : startDateTime.plusMinutes(10));
+        }
+    }
+
+    @Override
+    void setupEvents() {
+        setupPaintedEvents(allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get()));
+        relayout();
+    }
+
+    /**
+     * Retracking a whole row is cheap without panes, so this only checks if anything changed at all
+     */
+    @Override
+    boolean updateEvents() {
+        List<Scheduler.Event> lEvents = allEvents.collectRegularForResourceAndDates(resource.getId(), minDateObjectProperty.get(), maxDateObjectProperty.get());
+        boolean lChanged = lEvents.size() != paintedEvents.size();
+        if (lChanged == false) {
+            Map<Scheduler.Event, PaintedEvent> lPaintedEventMap = new IdentityHashMap<>();
+            for (PaintedEvent lPaintedEvent : paintedEvents) {
+                lPaintedEventMap.put(lPaintedEvent.event, lPaintedEvent);
+            }
+            for (Scheduler.Event lEvent : lEvents) {
+                PaintedEvent lPaintedEvent = lPaintedEventMap.get(lEvent);
+                if (lPaintedEvent == null || lPaintedEvent.isUpToDate() == false) {
+                    lChanged = true;
+                    break;
+                }
+            }
+        }
+        if (lChanged == false) {
+            return false;
+        }
+        setupPaintedEvents(lEvents);
+        relayout();
+        return true;
+    }
+
+    @Override
+    void clearEvents() {
+        super.clearEvents();
+        deactivateEventPane();
+        paintedEvents.clear();
+        historyTracker.clear();
+        getChildren().removeAll(tiles);
+        tiles.clear();
+        hitTestIndex.clear();
+    }
+
+    private void setupPaintedEvents(List<Scheduler.Event> events) {
+        paintedEvents.clear();
+        for (Scheduler.Event lEvent : events) {
+            paintedEvents.add(new PaintedEvent(lEvent));
+        }
+
+        // same tracks as the event panes would get
+        TrackLayout<PaintedEvent> lTrackLayout = TrackLayout.layout(paintedEvents, PaintedEvent::startInMS, PaintedEvent::endInMS);
+        for (int i = 0; i < paintedEvents.size(); i++) {
+            PaintedEvent lPaintedEvent = paintedEvents.get(i);
+            lPaintedEvent.numberOfTracks = lTrackLayout.getCluster(i).getTracks().size();
+            lPaintedEvent.trackIdx = lTrackLayout.getTrackIdx(i);
+        }
+
+        // history is determined while painting
+        historyTracker.reset(paintedEvents, EventAbstractTrackedPane.toMS(LocalDateTime.now()));
+    }
+
+    final private HistoryTracker<PaintedEvent> historyTracker = new HistoryTracker<>(PaintedEvent::startInMS);
+
+    /**
+     * Only repaint if an event crossed now since the previous call
+     */
+    @Override
+    void updateHistory(LocalDateTime now) {
+        if (historyTracker.advance(EventAbstractTrackedPane.toMS(now)).isEmpty() == false) {
+            paint();
+        }
+    }
+
+    /**
+     * Position the events like ResourceBodyPane does with the event panes, rebuild the hit-test index and repaint
+     */
+    @Override
+    void relayout() {
+        for (PaintedEvent lPaintedEvent : paintedEvents) {
+            double lTrackHeight = layoutHelp.resourceHeightProperty.get() / lPaintedEvent.numberOfTracks;
+            lPaintedEvent.y = NodeUtil.snapXY(lTrackHeight * lPaintedEvent.trackIdx);
+            lPaintedEvent.x = NodeUtil.snapXY(getPositionByLocalDateTime(lPaintedEvent.startDateTime));
+
+            // all but the most right appointment get 75% extra height, so they underlap the next track
+            double lH = lTrackHeight;
+            if (lPaintedEvent.trackIdx < lPaintedEvent.numberOfTracks - 1) {
+                lH *= 1.75;
+            }
+            lPaintedEvent.height = NodeUtil.snapWH(lPaintedEvent.y, lH);
+            long lDurationInMS = lPaintedEvent.startDateTime.until(lPaintedEvent.endDateTime, ChronoUnit.MILLIS);
+            lPaintedEvent.width = NodeUtil.snapWH(lPaintedEvent.x, determineEventWidth(lPaintedEvent.startDateTime, lDurationInMS));
+        }
+        hitTestIndex.rebuild(paintedEvents, getWidth());
+        relayoutActiveEventPane();
+
+        // one tile per TILE_WIDTH pixels, below anything else in the pane
+        int lNumberOfTiles = Math.max(1, (int) Math.ceil(getWidth() / TILE_WIDTH));
+        while (tiles.size() < lNumberOfTiles) {
+            Canvas lCanvas = new Canvas();
+            lCanvas.setMouseTransparent(true);
+            getChildren().add(tiles.size(), lCanvas);
+            tiles.add(lCanvas);
+        }
+        while (tiles.size() > lNumberOfTiles) {
+            getChildren().remove(tiles.remove(tiles.size() - 1));
+        }
+        for (int i = 0; i < tiles.size(); i++) {
+            Canvas lCanvas = tiles.get(i);
+            lCanvas.setLayoutX(i * TILE_WIDTH);
+            lCanvas.setWidth(Math.max(0.0, Math.min(TILE_WIDTH, getWidth() - i * TILE_WIDTH)));
+            lCanvas.setHeight(getHeight());
+        }
+        paint();
+    }
+
+    // ==================================================================================================================
+    // STYLE
+
+    // empty, so they show nothing, but styled like the nodes of an EventRegularBodyPane and the DayBodyPane
+    final private Pane eventStyleNode = new Pane();
+    final private Pane selectedEventStyleNode = new Pane();
+    final private Rectangle historyStyleNode = new Rectangle();
+    final private Text timeTextStyleNode = new Text();
+    final private Text textStyleNode = new Text();
+    final private Pane dayStyleNode = new Pane();
+
+    private void setupStyleNodes() {
+        eventStyleNode.getStyleClass().addAll("Event", "group5");
+        selectedEventStyleNode.getStyleClass().addAll("Event", "group5", "Selected");
+        historyStyleNode.getStyleClass().add("History");
+        timeTextStyleNode.getStyleClass().add("EventTimeLabel");
+        textStyleNode.getStyleClass().add("EventLabel");
+        dayStyleNode.getStyleClass().add("Day");
+        for (Node lNode : new Node[]{eventStyleNode, selectedEventStyleNode, historyStyleNode, timeTextStyleNode, textStyleNode, dayStyleNode}) {
+            // not laid out, so the panes stay 0x0
+            lNode.setManaged(false);
+            lNode.setMouseTransparent(true);
+            getChildren().add(lNode);
+        }
+
+        // repaint when the stylesheet is applied or changed
+        InvalidationListener lRepaintInvalidationListener = (observable) -> paint();
+        eventStyleNode.backgroundProperty().addListener(lRepaintInvalidationListener);
+        eventStyleNode.borderProperty().addListener(lRepaintInvalidationListener);
+        selectedEventStyleNode.backgroundProperty().addListener(lRepaintInvalidationListener);
+        historyStyleNode.fillProperty().addListener(lRepaintInvalidationListener);
+        timeTextStyleNode.fillProperty().addListener(lRepaintInvalidationListener);
+        timeTextStyleNode.fontProperty().addListener(lRepaintInvalidationListener);
+        textStyleNode.fillProperty().addListener(lRepaintInvalidationListener);
+        textStyleNode.fontProperty().addListener(lRepaintInvalidationListener);
+        dayStyleNode.borderProperty().addListener(lRepaintInvalidationListener);
+    }
+
+    /**
+     * @param index the index of the background fill, negative counts from the last one
+     * @return the fill, or null if there is none
+     */
+    static Paint backgroundFill(Background background, int index) {
+        if (background == null || background.getFills().isEmpty()) {
+            return null;
+        }
+        int lIndex = index < 0 ? background.getFills().size() + index : index;
+        return background.getFills().get(Math.max(0, Math.min(background.getFills().size() - 1, lIndex))).getFill();
+    }
+
+    /**
+     * @return the color of the border's top side (or left side if the top side has no width), or null if there is no border
+     */
+    static Paint borderStroke(Border border) {
+        if (border == null || border.getStrokes().isEmpty()) {
+            return null;
+        }
+        return border.getStrokes().get(0).getWidths().getTop() > 0 ? border.getStrokes().get(0).getTopStroke() : border.getStrokes().get(0).getLeftStroke();
+    }
+
+    static double borderWidth(Border border) {
+        if (border == null || border.getStrokes().isEmpty()) {
+            return 0;
+        }
+        return Math.max(border.getStrokes().get(0).getWidths().getTop(), border.getStrokes().get(0).getWidths().getLeft());
+    }
+
+    // ==================================================================================================================
+    // PAINT
+
+    private void paint() {
+        Set<Scheduler.Event> lSelectedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        lSelectedEvents.addAll(layoutHelp.skinnable.selectedEvents());
+        LocalDateTime lNow = LocalDateTime.now();
+        for (int i = 0; i < tiles.size(); i++) {
+            paintTile(tiles.get(i), i * TILE_WIDTH, lSelectedEvents, lNow);
+        }
+    }
+
+    private void paintTile(Canvas canvas, double tileX, Set<Scheduler.Event> selectedEvents, LocalDateTime now) {
+        GraphicsContext lGraphicsContext = canvas.getGraphicsContext2D();
+        lGraphicsContext.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        lGraphicsContext.save();
+        lGraphicsContext.translate(-tileX, 0);
+
+        // day grid
+        Paint lGridStroke = borderStroke(dayStyleNode.getBorder());
+        if (lGridStroke != null) {
+            lGraphicsContext.setStroke(lGridStroke);
+            lGraphicsContext.setLineWidth(1);
+            for (int i = 1; i < displayedLocalDates.size(); i++) {
+                double lX = NodeUtil.snapXY(layoutHelp.dayWidthProperty.get() * i) + 0.5;
+                lGraphicsContext.strokeLine(lX, 0, lX, getHeight());
+            }
+            lGraphicsContext.strokeLine(0, getHeight() - 0.5, getWidth(), getHeight() - 0.5);
+        }
+
+        // events
+        lGraphicsContext.setTextBaseline(VPos.TOP);
+        for (PaintedEvent lPaintedEvent : paintedEvents) {
+            if (lPaintedEvent.x > tileX + canvas.getWidth() || lPaintedEvent.x + lPaintedEvent.width < tileX) {
+                continue;
+            }
+            paintEvent(lGraphicsContext, lPaintedEvent, selectedEvents.contains(lPaintedEvent.event), now);
+        }
+        lGraphicsContext.restore();
+    }
+
+    private void paintEvent(GraphicsContext graphicsContext, PaintedEvent paintedEvent, boolean selected, LocalDateTime now) {
+        double lX = paintedEvent.x;
+        double lY = paintedEvent.y;
+        double lW = paintedEvent.width;
+        double lH = paintedEvent.height;
+
+        // body; a selected event pane gets the focus color as its outer background, and the body color as its inner one
+        Paint lFill = selected ? backgroundFill(selectedEventStyleNode.getBackground(), -1) : backgroundFill(eventStyleNode.getBackground(), 0);
+        if (lFill != null) {
+            graphicsContext.setFill(lFill);
+            graphicsContext.fillRect(lX, lY, lW, lH);
+        }
+        if (paintedEvent.startDateTime.isBefore(now) && historyStyleNode.getFill() != null) {
+            graphicsContext.setFill(historyStyleNode.getFill());
+            graphicsContext.fillRect(lX, lY, lW, lH);
+        }
+        Paint lStroke = selected ? backgroundFill(selectedEventStyleNode.getBackground(), 0) : borderStroke(eventStyleNode.getBorder());
+        double lStrokeWidth = selected ? 2 : borderWidth(eventStyleNode.getBorder());
+        if (lStroke != null && lStrokeWidth > 0) {
+            graphicsContext.setStroke(lStroke);
+            graphicsContext.setLineWidth(lStrokeWidth);
+            graphicsContext.strokeRect(lX + lStrokeWidth / 2, lY + lStrokeWidth / 2, lW - lStrokeWidth, lH - lStrokeWidth);
+        }
+
+        // texts, only if there is room for them
+        double lPadding = layoutHelp.paddingProperty.get();
+        if (lW < 4 * lPadding || lH < layoutHelp.textHeightProperty.get()) {
+            return;
+        }
+        graphicsContext.save();
+        graphicsContext.beginPath();
+        graphicsContext.rect(lX, lY, lW - lPadding, lH);
+        graphicsContext.clip();
+        graphicsContext.setFill(timeTextStyleNode.getFill());
+        graphicsContext.setFont(timeTextStyleNode.getFont());
+        graphicsContext.fillText(layoutHelp.timeDateTimeFormatter.format(paintedEvent.startDateTime) + "-" + layoutHelp.timeDateTimeFormatter.format(paintedEvent.endDateTime), lX + lPadding, lY);
+        if (paintedEvent.text != null) {
+            graphicsContext.setFill(textStyleNode.getFill());
+            graphicsContext.setFont(textStyleNode.getFont());
+            graphicsContext.fillText(paintedEvent.text, lX + lPadding, lY + layoutHelp.textHeightProperty.get());
+        }
+        graphicsContext.restore();
+    }
+
+    // ==================================================================================================================
+    // ACTIVE EVENT PANE
+
+    /**
+     * Place a regular event pane over the painted event, so it can be interacted with
+     */
+    private void activateEventPane(PaintedEvent paintedEvent) {
+        if (activeEventPane != null && paintedEvent != null && activeEventPane.event == paintedEvent.event) {
+            return;
+        }
+        if (activeEventPane != null && activeEventPane.isPressed()) {
+            return; // still busy
+        }
+        deactivateEventPane();
+        if (paintedEvent == null) {
+            return;
+        }
+
+        EventRegularBodyPane lEventPane = new EventRegularBodyPane(paintedEvent.event, layoutHelp);
+        lEventPane.setId(lEventPane.getClass().getSimpleName() + resource.getId() + "/" + paintedEvents.indexOf(paintedEvent)); // for testing
+        lEventPane.setLayoutX(paintedEvent.x);
+        lEventPane.setLayoutY(paintedEvent.y);
+        lEventPane.setPrefWidth(paintedEvent.width);
+        lEventPane.setPrefHeight(paintedEvent.height);
+        lEventPane.determineHistoryVisualizer(LocalDateTime.now());
+        getChildren().add(lEventPane);
+        ((SchedulerSkinAbstract<?>) layoutHelp.skin).eventNodeMap().put(System.identityHashCode(paintedEvent.event), lEventPane);
+        activeEventPane = lEventPane;
+    }
+
+    /**
+     * A pane that is being dragged must stay as long as its event is unchanged, otherwise it is stale
+     */
+    private void relayoutActiveEventPane() {
+        if (activeEventPane == null) {
+            return;
+        }
+        if (activeEventPane.isPressed() && activeEventPane.isUpToDate()) {
+            for (PaintedEvent lPaintedEvent : paintedEvents) {
+                if (lPaintedEvent.event == activeEventPane.event) {
+                    activeEventPane.setLayoutX(lPaintedEvent.x);
+                    activeEventPane.setLayoutY(lPaintedEvent.y);
+                    activeEventPane.setPrefWidth(lPaintedEvent.width);
+                    activeEventPane.setPrefHeight(lPaintedEvent.height);
+                    return;
+                }
+            }
+        }
+        deactivateEventPane();
+    }
+
+    private void deactivateEventPane() {
+        if (activeEventPane == null) {
+            return;
+        }
+        Map<Integer, Pane> lEventNodeMap = ((SchedulerSkinAbstract<?>) layoutHelp.skin).eventNodeMap();
+        lEventNodeMap.remove(System.identityHashCode(activeEventPane.event), activeEventPane);
+        getChildren().remove(activeEventPane);
+        activeEventPane = null;
+    }
+}
@@ -13,7 +13,7 @@ import jfxtras.util.NodeUtil;
  * @author Islam Khachmakhov
  */
 public class ResourceHeaderPane extends Pane {
-    final Scheduler.Resource resource;
+    Scheduler.Resource resource;
     private final LayoutHelp layoutHelp;
 
     public ResourceHeaderPane(Scheduler.Resource resource, LayoutHelp layoutHelp) {
@@ -29,32 +29,43 @@ public class ResourceHeaderPane extends Pane {
         construct();
     }
 
+    private Text nameText;
+    private Line bottomLine;
+
     private void construct() {
         // for debugging setStyle("-fx-border-color:BLUE;-fx-border-width:4px;");
 //        setStyle("-fx-border-color:BLUE;-fx-border-width:4px;");
         {
-            setId("ResourceHeaderPane" + resource.getId()); // for testing
-
-            Text t = new Text(resource.getName());
-            t.xProperty().bind(layoutHelp.timeWidthProperty.subtract(t.getBoundsInParent().getWidth()).subtract(layoutHelp.timeColumnWhitespaceProperty.get() / 2));
+            nameText = new Text();
 //        t.yProperty().bind(layoutHelp.resourceHeightProperty.multiply(lHour));
-            t.setTranslateY(t.getBoundsInParent().getHeight()); // move it under the line
-            t.getStyleClass().add("HourLabel");
-            t.setFontSmoothingType(FontSmoothingType.LCD);
-            getChildren().add(t);
+            nameText.getStyleClass().add("HourLabel");
+            nameText.setFontSmoothingType(FontSmoothingType.LCD);
+            getChildren().add(nameText);
         }
 
         {
-            Line l = new Line(0, 10, 100, 10);
-            l.setId("bottomLine" + resource.getId());
-            l.getStyleClass().add("HalfHourLine");
-            l.startXProperty().set(0.0);
-            l.endXProperty().bind(NodeUtil.snapXY(layoutHelp.resourceWidthProperty).add(layoutHelp.timeWidthProperty));
-            l.startYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(1)));
-            l.endYProperty().bind(NodeUtil.snapXY(l.startYProperty()));
-            getChildren().add(l);
+            bottomLine = new Line(0, 10, 100, 10);
+            bottomLine.getStyleClass().add("HalfHourLine");
+            bottomLine.startXProperty().set(0.0);
+            bottomLine.endXProperty().bind(NodeUtil.snapXY(layoutHelp.resourceWidthProperty).add(layoutHelp.timeWidthProperty));
+            bottomLine.startYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(1)));
+            bottomLine.endYProperty().bind(NodeUtil.snapXY(bottomLine.startYProperty()));
+            getChildren().add(bottomLine);
         }
+
+        setResource(resource);
     }
 
+    /**
+     * Show another resource, so the pane can be recycled when scrolling
+     */
+    void setResource(Scheduler.Resource resource) {
+        this.resource = resource;
+        setId("ResourceHeaderPane" + resource.getId()); // for testing
+        bottomLine.setId("bottomLine" + resource.getId());
 
+        nameText.setText(resource.getName());
+        nameText.xProperty().bind(layoutHelp.timeWidthProperty.subtract(nameText.getBoundsInParent().getWidth()).subtract(layoutHelp.timeColumnWhitespaceProperty.get() / 2));
+        nameText.setTranslateY(nameText.getBoundsInParent().getHeight()); // move it under the line
+    }
 }
@@ -0,0 +1,26 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A week skin that paints the events of each resource onto canvas tiles, see ResourceCanvasBodyPane.
+ * Only the event under the mouse is an actual node, so dense timelines with many visible events stay responsive.
+ * A canvas cannot be styled, so the events are painted with the colors and fonts that the stylesheet gives the style classes of the event panes.
+ */
+public class SchedulerCanvasWeekSkin extends SchedulerWeekSkin {
+
+    /**
+     *
+     */
+    public SchedulerCanvasWeekSkin(Scheduler control) {
+        super(control);
+    }
+
+    @Override
+    ResourceBodyPane createResourceBodyPane(List<LocalDate> displayedLocalDates, Scheduler.Resource resource, AllEvents allEvents, LayoutHelp layoutHelp) {
+        return new ResourceCanvasBodyPane(displayedLocalDates, resource, allEvents, layoutHelp);
+    }
+}
@@ -22,10 +22,15 @@ public interface SchedulerSkin {
     void setupEvents();
 
     /**
-     * Recreate events only on participant ResourceBodyPanes
+     * Update events only on participant ResourceBodyPanes, reusing the panes of events that did not change
      */
     void setupParticularEvents(long oldResourceId, long newResourceId);
 
+    /**
+     * Events are not observed, so this must be called when the resource, start or end time of an event was changed
+     */
+    void reindex(Scheduler.Event event);
+
     /**
      *
      * @param x scene coordinate
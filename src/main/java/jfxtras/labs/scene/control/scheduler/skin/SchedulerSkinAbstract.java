@@ -2,7 +2,11 @@ package jfxtras.labs.scene.control.scheduler.skin;
 
 import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import javafx.css.CssMetaData;
@@ -18,6 +22,7 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
 import javafx.util.Duration;
 import jfxtras.css.CssMetaDataForSkinProperty;
 import jfxtras.css.converters.DoubleConverter;
@@ -31,7 +36,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * @author Tom Eugelink
@@ -97,10 +101,20 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         // clean up removed appointments from eventNodeMap
         getSkinnable().events().addListener(eventNodeMapCleanUpListChangeListener);
 
+        // hold processing changes while the control is batch updating
+        getSkinnable().batchUpdatingProperty().addListener(batchUpdatingChangeListener);
+
         // initial setup
         refresh();
     }
 
+    /**
+     * Changes to the events and resources are collected and processed at most once per pulse (or once at the end of a batch update)
+     */
+    final private PulseCoalescer pulseCoalescer = new PulseCoalescer(this::processChanges);
+    final private Set<Long> changedResourceIds = new HashSet<>();
+    private boolean resourcesChanged = false;
+
     private InvalidationListener localeInvalidationListener = (observable) -> {
         refresh();
     };
@@ -110,13 +124,21 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         setupEvents();
     };
     private ListChangeListener<Scheduler.Event> eventListChangeListener = (changes) -> {
-        if (changes.next()) {
-            if (changes.wasRemoved()) {
-                changes.getRemoved().forEach(c-> setupParticularEvents(c.getResourceId(), c.getResourceId()));
-                return;
+        // only the resources that are touched by the change need to be updated
+        Set<Long> lResourceIds = new HashSet<>();
+        while (changes.next()) {
+            if (changes.wasPermutated()) {
+                continue;
+            }
+            if (changes.wasUpdated()) {
+                changes.getList().subList(changes.getFrom(), changes.getTo()).forEach(c -> lResourceIds.add(c.getResourceId()));
+                continue;
             }
+            changes.getRemoved().forEach(c -> lResourceIds.add(c.getResourceId()));
+            changes.getAddedSubList().forEach(c -> lResourceIds.add(c.getResourceId()));
         }
-        setupEvents();
+        changedResourceIds.addAll(lResourceIds);
+        pulseCoalescer.request();
     };
     private ListChangeListener<Scheduler.Event> eventNodeMapCleanUpListChangeListener = (changes) -> {
         while (changes.next()) {
@@ -126,11 +148,37 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         }
     };
     private ListChangeListener<Scheduler.Resource> resourceListChangeListener = (changes) -> {
-        weekBodyPane.reconstruct();
-        setupEvents();
-        layoutHelp.resourcesCountProperty.set(resources.collectRegular().size());
+        resourcesChanged = true;
+        pulseCoalescer.request();
+    };
+    private ChangeListener<Boolean> batchUpdatingChangeListener = (observable, oldValue, newValue) -> {
+        if (newValue) {
+            pulseCoalescer.hold();
+            events.pulseCoalescer.hold();
+            resources.pulseCoalescer.hold();
+        }
+        else {
+            resources.pulseCoalescer.release();
+            events.pulseCoalescer.release();
+            pulseCoalescer.release();
+        }
     };
 
+    private void processChanges() {
+        if (resourcesChanged) {
+            // a change in the resources requires a complete rebuild, which includes all event changes
+            resourcesChanged = false;
+            changedResourceIds.clear();
+            weekBodyPane.reconstruct();
+            setupEvents();
+            layoutHelp.resourcesCountProperty.set(resources.collectRegular().size());
+            return;
+        }
+        Set<Long> lResourceIds = new HashSet<>(changedResourceIds);
+        changedResourceIds.clear();
+        updateEvents(lResourceIds);
+    }
+
 
     /**
      *
@@ -142,6 +190,8 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         getSkinnable().displayedLocalDateTime().removeListener(displayedDateTimeChangeListener);
         getSkinnable().events().removeListener(eventListChangeListener);
         getSkinnable().events().removeListener(eventNodeMapCleanUpListChangeListener);
+        getSkinnable().resources().removeListener(resourceListChangeListener);
+        getSkinnable().batchUpdatingProperty().removeListener(batchUpdatingChangeListener);
 
         // reset style classes
         getSkinnable().getStyleClass().clear();
@@ -177,10 +227,13 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         // tell the control what range is displayed, so it can update the appointments
         LocalDate lStartLocalDate = lLocalDates.get(0);
         LocalDate lEndLocalDate = lLocalDates.get(lLocalDates.size() - 1);
+        Scheduler.LocalDateTimeRange lRange = new Scheduler.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
         if (getSkinnable().getLocalDateTimeRangeCallback() != null) {
-            Scheduler.LocalDateTimeRange lRange = new Scheduler.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
             getSkinnable().getLocalDateTimeRangeCallback().call(lRange);
         }
+
+        // load the events of the range if they come from a provider (this also prefetches the adjacent ranges)
+        getSkinnable().eventWindowCache().show(lRange);
 /*        if (getSkinnable().getCalendarRangeCallback() != null) {
             Agenda.CalendarRange lRange = new Agenda.CalendarRange( DateTimeToCalendarHelper.createCalendarFromLocalDate(lStartLocalDate, TimeZone.getDefault(), Locale.getDefault()), DateTimeToCalendarHelper.createCalendarFromLocalDate(lEndLocalDate, TimeZone.getDefault(), Locale.getDefault()));
             getSkinnable().getCalendarRangeCallback().call(lRange);
@@ -229,10 +282,39 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      * @param newResourceId
      */
     public void setupParticularEvents(long oldResourceId, long newResourceId) {
-        List<ResourceBodyPane> resourceBodyPanes = weekBodyPane.resourceBodyPanes.stream()
-                .filter(c -> c.resource.getId().equals(oldResourceId) || c.resource.getId().equals(newResourceId))
-                .collect(Collectors.toList());
-        resourceBodyPanes.forEach(c -> c.setupEvents());
+        Set<Long> lResourceIds = new HashSet<>();
+        lResourceIds.add(oldResourceId);
+        lResourceIds.add(newResourceId);
+        updateEvents(lResourceIds);
+    }
+
+    /**
+     * Keep the index of the events up to date after the event was changed
+     *
+     * @param event
+     */
+    public void reindex(Scheduler.Event event) {
+        events.reindex(event);
+    }
+
+    /**
+     * Incrementally update the events of the resources: unchanged event panes are reused and only the affected clusters are re-tracked
+     *
+     * @param resourceIds
+     */
+    void updateEvents(Set<Long> resourceIds) {
+        if (resourceIds.isEmpty()) {
+            return;
+        }
+        boolean lChanged = false;
+        for (ResourceBodyPane lResourceBodyPane : weekBodyPane.resourceBodyPanes) {
+            if (resourceIds.contains(lResourceBodyPane.resource.getId())) {
+                lChanged |= lResourceBodyPane.updateEvents();
+            }
+        }
+        if (lChanged == false) {
+            return;
+        }
 
         calculateSizes(); // must be done after setting up the panes
         nowUpdateRunnable.run(); // set the history
@@ -242,6 +324,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
      *
      */
     public void refresh() {
+        events.reindex(); // events may have been changed without us knowing
         assignDateToDayAndHeaderPanes();
         refreshLocale();
         setupEvents();
@@ -289,6 +372,28 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         return (T) this;
     }
 
+    /**
+     * overscanRows: the number of resource rows above and below the viewport that are created as well, so that scrolling a bit does not immediately need new rows
+     */
+    public final IntegerProperty overscanRowsProperty() {
+        return overscanRowsProperty;
+    }
+
+    final private IntegerProperty overscanRowsProperty = new SimpleIntegerProperty(this, "overscanRows", 5);
+
+    public final void setOverscanRows(int value) {
+        overscanRowsProperty().set(value);
+    }
+
+    public final int getOverscanRows() {
+        return overscanRowsProperty.get();
+    }
+
+    public final T withOverscanRows(int value) {
+        setOverscanRows(value);
+        return (T) this;
+    }
+
     // -------------------------
 
     private static class StyleableProperties {
@@ -348,7 +453,7 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         getChildren().add(borderPane);
 
         // borderpane center
-        weekBodyPane = new WeekBodyPane();
+        weekBodyPane = new WeekBodyPane(true);
         weekScrollPane = new ScrollPane();
         weekScrollPane.setContent(weekBodyPane);
         weekScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
@@ -358,8 +463,13 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
         // bind to the scrollpane's viewport
         weekScrollPane.viewportBoundsProperty().addListener((observable) -> {
             calculateSizes();
+            weekBodyPane.updateResourceRows();
             nowUpdateRunnable.run();
         });
+        // only the visible resource rows exist
+        weekScrollPane.vvalueProperty().addListener((observable) -> {
+            weekBodyPane.updateResourceRows();
+        });
 
         // borderpane top: header has to be created after the content, because there is a binding
         weekHeaderPane = new WeekHeaderPane(weekBodyPane); // must be done after the WeekBodyPane
@@ -395,6 +505,14 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
 
     abstract protected List<LocalDate> determineDisplayedLocalDates();
 
+    /**
+     * Create the pane that renders the events of one resource; a skin can override this to render the events in another way.
+     * The events are setup after the pane is created, by calling its setupEvents.
+     */
+    ResourceBodyPane createResourceBodyPane(List<LocalDate> displayedLocalDates, Scheduler.Resource resource, AllEvents allEvents, LayoutHelp layoutHelp) {
+        return new ResourceBodyPane(displayedLocalDates, resource, allEvents, layoutHelp);
+    }
+
     /**
      * Responsible for rendering the day headers within the week
      */
@@ -440,14 +558,29 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     }
 
     /**
-     * Responsible for rendering the days within the week
+     * Responsible for rendering the days within the week.
+     * When virtualized only the resource rows within the viewport of the scroll pane (plus the overscan rows) are created, and rows are recycled while scrolling.
      */
     class WeekBodyPane extends Pane {
         final List<DayBodyPane> dayBodyPanes = new ArrayList<DayBodyPane>();
-        final List<ResourceBodyPane> resourceBodyPanes = new ArrayList<ResourceBodyPane>();
+        final List<ResourceBodyPane> resourceBodyPanes = new ArrayList<ResourceBodyPane>(); // only the rows that currently exist, in row order
+        final private boolean virtualized;
+        final private SortedMap<Integer, ResourceRow> resourceRowsByIndex = new TreeMap<>();
+        final private Deque<ResourceRow> recycledResourceRows = new ArrayDeque<>();
 
         public WeekBodyPane() {
+            this(false);
+        }
+
+        public WeekBodyPane(boolean virtualized) {
+            this.virtualized = virtualized;
             getStyleClass().add("Week");
+            if (virtualized) {
+                // the rows do not determine the height anymore
+                prefHeightProperty().bind(layoutHelp.resourceHeightProperty.multiply(layoutHelp.resourcesCountProperty));
+                layoutHelp.resourceHeightProperty.addListener((observable) -> updateResourceRows());
+                overscanRowsProperty.addListener((observable) -> updateResourceRows());
+            }
             construct();
         }
 
@@ -470,36 +603,114 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
                 i++;
             }
 
-            int j = 0;
-            for (Scheduler.Resource lResource : resources.collectRegular()) {
-                ResourceHeaderPane resourceHeaderPane = new ResourceHeaderPane(lResource, layoutHelp);
-                resourceHeaderPane.layoutXProperty().setValue(0.0);
-                resourceHeaderPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
-
-                resourceHeaderPane.prefWidthProperty().bind(layoutHelp.timeWidthProperty);
-                resourceHeaderPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty);
-                getChildren().add(resourceHeaderPane);
+            layoutHelp.resourcesCountProperty.set(resources.collectRegular().size());
+            updateResourceRows();
+        }
 
-                ResourceBodyPane resourceBodyPane = new ResourceBodyPane(determineDisplayedLocalDates(), lResource, events, layoutHelp);
-                resourceBodyPane.layoutXProperty().bind(layoutHelp.timeWidthProperty);
-                resourceBodyPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
+        void reconstruct() {
+            // the events of the rows must be let go
+            for (ResourceRow lResourceRow : resourceRowsByIndex.values()) {
+                lResourceRow.resourceBodyPane.clearEvents();
+            }
+            resourceRowsByIndex.clear();
+            recycledResourceRows.clear();
+            resourceBodyPanes.clear();
+            dayBodyPanes.clear();
+            getChildren().clear();
+            construct();
+        }
 
-                resourceBodyPane.prefWidthProperty().bind(this.widthProperty().subtract(layoutHelp.timeWidthProperty));
-                resourceBodyPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty);
-                getChildren().add(resourceBodyPane);
+        /**
+         * Make sure exactly the rows that are (almost) visible exist
+         */
+        void updateResourceRows() {
+            List<Scheduler.Resource> lResources = resources.collectRegular();
+            int lFirstIdx = 0;
+            int lLastIdx = lResources.size() - 1;
+            if (virtualized) {
+                int lOverscanRows = Math.max(0, overscanRowsProperty.get());
+                double lResourceHeight = layoutHelp.resourceHeightProperty.get();
+                if (weekScrollPane == null || weekScrollPane.getViewportBounds() == null || lResourceHeight <= 0) {
+                    // nothing is known about the viewport yet
+                    lLastIdx = Math.min(lLastIdx, lOverscanRows);
+                }
+                else {
+                    double lViewportHeight = weekScrollPane.getViewportBounds().getHeight();
+                    double lScrollRange = weekScrollPane.getVmax() - weekScrollPane.getVmin();
+                    double lScrollFraction = lScrollRange <= 0 ? 0.0 : (weekScrollPane.getVvalue() - weekScrollPane.getVmin()) / lScrollRange;
+                    double lOffset = lScrollFraction * Math.max(0.0, lResources.size() * lResourceHeight - lViewportHeight);
+                    lFirstIdx = Math.max(0, (int) Math.floor(lOffset / lResourceHeight) - lOverscanRows);
+                    lLastIdx = Math.min(lLastIdx, (int) Math.ceil((lOffset + lViewportHeight) / lResourceHeight) + lOverscanRows);
+                }
+            }
 
-                // remember
-                resourceBodyPanes.add(resourceBodyPane);
-                j++;
+            // recycle the rows that went out of range
+            boolean lChanged = false;
+            for (Iterator<Map.Entry<Integer, ResourceRow>> lIterator = resourceRowsByIndex.entrySet().iterator(); lIterator.hasNext(); ) {
+                Map.Entry<Integer, ResourceRow> lEntry = lIterator.next();
+                if (lEntry.getKey() < lFirstIdx || lEntry.getKey() > lLastIdx) {
+                    ResourceRow lResourceRow = lEntry.getValue();
+                    lResourceRow.resourceBodyPane.clearEvents();
+                    getChildren().removeAll(lResourceRow.resourceHeaderPane, lResourceRow.resourceBodyPane);
+                    recycledResourceRows.push(lResourceRow);
+                    lIterator.remove();
+                    lChanged = true;
+                }
             }
 
+            // create or reuse the rows that came into range
+            for (int j = lFirstIdx; j <= lLastIdx; j++) {
+                if (resourceRowsByIndex.containsKey(j)) {
+                    continue;
+                }
+                Scheduler.Resource lResource = lResources.get(j);
+                ResourceRow lResourceRow = recycledResourceRows.poll();
+                if (lResourceRow == null) {
+                    lResourceRow = new ResourceRow(lResource);
+                }
+                else {
+                    lResourceRow.resourceHeaderPane.setResource(lResource);
+                    lResourceRow.resourceBodyPane.setDisplayedLocalDates(determineDisplayedLocalDates());
+                    lResourceRow.resourceBodyPane.setResource(lResource);
+                }
+                lResourceRow.setIndex(j);
+                getChildren().addAll(lResourceRow.resourceHeaderPane, lResourceRow.resourceBodyPane);
+                resourceRowsByIndex.put(j, lResourceRow);
+                lChanged = true;
+            }
 
+            if (lChanged) {
+                resourceBodyPanes.clear();
+                for (ResourceRow lResourceRow : resourceRowsByIndex.values()) {
+                    resourceBodyPanes.add(lResourceRow.resourceBodyPane);
+                }
+            }
         }
 
-        void reconstruct() {
-            dayBodyPanes.clear();
-            getChildren().clear();
-            construct();
+        /**
+         * The header and body of one resource
+         */
+        class ResourceRow {
+            final ResourceHeaderPane resourceHeaderPane;
+            final ResourceBodyPane resourceBodyPane;
+
+            ResourceRow(Scheduler.Resource resource) {
+                resourceHeaderPane = new ResourceHeaderPane(resource, layoutHelp);
+                resourceHeaderPane.layoutXProperty().setValue(0.0);
+                resourceHeaderPane.prefWidthProperty().bind(layoutHelp.timeWidthProperty);
+                resourceHeaderPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty);
+
+                resourceBodyPane = createResourceBodyPane(determineDisplayedLocalDates(), resource, events, layoutHelp);
+                resourceBodyPane.setupEvents();
+                resourceBodyPane.layoutXProperty().bind(layoutHelp.timeWidthProperty);
+                resourceBodyPane.prefWidthProperty().bind(WeekBodyPane.this.widthProperty().subtract(layoutHelp.timeWidthProperty));
+                resourceBodyPane.prefHeightProperty().bind(layoutHelp.resourceHeightProperty);
+            }
+
+            void setIndex(int j) {
+                resourceHeaderPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
+                resourceBodyPane.layoutYProperty().bind(NodeUtil.snapXY(layoutHelp.resourceHeightProperty.multiply(j)));
+            }
         }
     }
 
@@ -507,72 +718,43 @@ public abstract class SchedulerSkinAbstract<T> extends SkinBase<Scheduler> imple
     // NOW
 
     final Rectangle nowLine = new Rectangle(0, 0, 0, 0);
+    final private Translate nowLineTranslate = new Translate();
+    final private DoubleProperty nowDayOffsetProperty = new SimpleDoubleProperty(0); // today's index in the displayed days plus the fraction of today that has passed
 
     /**
-     * This is implemented as a runnable so it can be called from a timer, but also directly
+     * This is implemented as a runnable so it can be called from a timer, but also directly.
+     * The now line is only moved by its translate (which follows the day width by itself), and only the events that started since the previous run are updated.
      */
     Runnable nowUpdateRunnable = new Runnable() {
         {
             nowLine.getStyleClass().add("Now");
             nowLine.setHeight(20);
             nowLine.setWidth(3);
-
+            nowLine.heightProperty().bind(layoutHelp.dayHeightProperty);
+            nowLine.getTransforms().add(nowLineTranslate);
+            nowLineTranslate.xProperty().bind(layoutHelp.dayFirstColumnXProperty.add(layoutHelp.dayWidthProperty.multiply(nowDayOffsetProperty)));
         }
 
         @Override
         public void run() {
             //  get now
             LocalDateTime lNow = LocalDateTime.now();
-            LocalDate lToday = lNow.toLocalDate();
-
 
             // see if we are displaying now (this has to do with the fact that now may slide in or out of the view)
-            // check all days
-            boolean lFound = false;
-            for (ResourceBodyPane lResourceBodyPane : weekBodyPane.resourceBodyPanes) {
-                if (weekBodyPane.resourceBodyPanes.get(0) == lResourceBodyPane) {
-                    // today
-                    if (lResourceBodyPane.getStyleClass().contains("today") == false) {
-                        lResourceBodyPane.getStyleClass().add("today");
-                    }
-                    lFound = true;
-
-                    // add if not present
-                    if (weekBodyPane.getChildren().contains(nowLine) == false) {
-                        weekBodyPane.getChildren().add(nowLine); // this will remove the now line from another day
-                        nowLine.xProperty().setValue(lResourceBodyPane.getCurrentTimeLocationInScene());
-                    }
-
-                    // place it
-                    int lOffsetY = (lNow.getHour() * 60) + lNow.getMinute();
-                    nowLine.setX(lResourceBodyPane.getCurrentTimeLocationInScene());
-                    if (nowLine.heightProperty().isBound() == false) {
-                        nowLine.heightProperty().bind(layoutHelp.dayHeightProperty);
-                    }
-                }
-
-
-            }
-
-            // if cannot be placed, remove
-            if (lFound == false) {
+            int lTodayIdx = determineDisplayedLocalDates().indexOf(lNow.toLocalDate());
+            if (lTodayIdx < 0) {
                 weekBodyPane.getChildren().remove(nowLine);
             }
-
-            // history
-            for (DayHeaderPane lDayHeaderPane : weekHeaderPane.dayHeaderPanes) {
-                for (Node lNode : lDayHeaderPane.getChildren()) {
-                    if (lNode instanceof EventAbstractPane) {
-                        ((EventAbstractPane) lNode).determineHistoryVisualizer(lNow);
-                    }
+            else {
+                if (nowLine.getParent() != weekBodyPane) {
+                    weekBodyPane.getChildren().add(nowLine);
                 }
+                nowDayOffsetProperty.set(lTodayIdx + lNow.toLocalTime().toSecondOfDay() / (24.0 * 60.0 * 60.0));
             }
-            for (DayBodyPane lDayBodyPane : weekBodyPane.dayBodyPanes) {
-                for (Node lNode : lDayBodyPane.getChildren()) {
-                    if (lNode instanceof EventAbstractPane) {
-                        ((EventAbstractPane) lNode).determineHistoryVisualizer(lNow);
-                    }
-                }
+
+            // history
+            for (ResourceBodyPane lResourceBodyPane : weekBodyPane.resourceBodyPanes) {
+                lResourceBodyPane.updateHistory(lNow);
             }
         }
     };
@@ -0,0 +1,159 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Assigns overlapping items (events) to parallel tracks and groups them into clusters, see EventAbstractTrackedPane.determineTracks for a description of the layout.
+ * This is pure data, so it can be used (and tested) without any nodes.
+ *
+ * The items are processed on start time; earliest first, and if there are more with the same start time, longest duration first.
+ * Two items overlap if the one that was placed first ends after the other one starts.
+ * Each item is placed in the lowest track that is free at its start time, and a new cluster is started when all tracks of the current cluster are free.
+ *
+ * This is done with a sweep line: a min-heap holds the end time of each busy track and a min-heap of free track numbers.
+ * Every item first releases the tracks that ended at or before its start, so the whole layout is O(n log n).
+ */
+public class TrackLayout<T> {
+
+    /**
+     * @param items will be sorted in the order they are processed
+     * @param start start time of an item (any unit, as long as it is the same for start and end)
+     * @param end end time of an item
+     */
+    public static <T> TrackLayout<T> layout(List<T> items, ToLongFunction<? super T> start, ToLongFunction<? super T> end) {
+        // sort on start time and then decreasing duration (the sort is stable, so equal items keep their order)
+        Collections.sort(items, new Comparator<T>() {
+            @Override
+            public int compare(T o1, T o2) {
+                long lStart1 = start.applyAsLong(o1);
+                long lStart2 = start.applyAsLong(o2);
+                if (lStart1 != lStart2) {
+                    return lStart1 < lStart2 ? -1 : 1;
+                }
+                // longest first
+                return Long.compare(end.applyAsLong(o2) - lStart2, end.applyAsLong(o1) - lStart1);
+            }
+        });
+
+        TrackLayout<T> lTrackLayout = new TrackLayout<>(items);
+        PriorityQueue<long[]> lBusyTracks = new PriorityQueue<>(new Comparator<long[]>() { // {end time, track number}
+            @Override
+            public int compare(long[] o1, long[] o2) {
+                return Long.compare(o1[0], o2[0]);
+            }
+        });
+        PriorityQueue<Integer> lFreeTracks = new PriorityQueue<>();
+        Cluster<T> lCluster = null;
+        for (int i = 0; i < items.size(); i++) {
+            T lItem = items.get(i);
+            long lStart = start.applyAsLong(lItem);
+
+            // release all tracks that are done
+            while (!lBusyTracks.isEmpty() && lBusyTracks.peek()[0] <= lStart) {
+                lFreeTracks.add((int) lBusyTracks.poll()[1]);
+            }
+
+            // if all tracks are free, nothing links this item to the running cluster, so it starts a new one
+            if (lCluster == null || lBusyTracks.isEmpty()) {
+                lCluster = new Cluster<>(lItem);
+                lTrackLayout.clusters.add(lCluster);
+                lFreeTracks.clear();
+            }
+
+            // the lowest free track, or a new one
+            int lTrackIdx;
+            if (lFreeTracks.isEmpty()) {
+                lTrackIdx = lCluster.tracks.size();
+                lCluster.tracks.add(new ArrayList<T>());
+            }
+            else {
+                lTrackIdx = lFreeTracks.poll();
+            }
+            lBusyTracks.add(new long[]{end.applyAsLong(lItem), lTrackIdx});
+
+            // administration
+            lCluster.members.add(lItem);
+            lCluster.tracks.get(lTrackIdx).add(lItem);
+            lTrackLayout.clusterIdx[i] = lTrackLayout.clusters.size() - 1;
+            lTrackLayout.trackIdx[i] = lTrackIdx;
+        }
+        return lTrackLayout;
+    }
+
+    private TrackLayout(List<T> items) {
+        this.items = items;
+        this.clusterIdx = new int[items.size()];
+        this.trackIdx = new int[items.size()];
+    }
+
+    final private List<T> items;
+    final private int[] clusterIdx;
+    final private int[] trackIdx;
+    final private List<Cluster<T>> clusters = new ArrayList<>();
+
+    /**
+     * The items in the order they were processed
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * The clusters in order of start time
+     */
+    public List<Cluster<T>> getClusters() {
+        return clusters;
+    }
+
+    /**
+     * @param idx index in getItems()
+     */
+    public Cluster<T> getCluster(int idx) {
+        return clusters.get(clusterIdx[idx]);
+    }
+
+    /**
+     * @param idx index in getItems()
+     */
+    public int getTrackIdx(int idx) {
+        return trackIdx[idx];
+    }
+
+    /**
+     * A group of items that (transitively) overlap
+     */
+    public static class Cluster<T> {
+        Cluster(T owner) {
+            this.owner = owner;
+        }
+        final T owner;
+        final List<T> members = new ArrayList<>();
+        final List<List<T>> tracks = new ArrayList<>();
+
+        /**
+         * The first item of the cluster
+         */
+        public T getOwner() {
+            return owner;
+        }
+
+        /**
+         * All items in the cluster, including the owner
+         */
+        public List<T> getMembers() {
+            return members;
+        }
+
+        /**
+         * The items per track
+         */
+        public List<List<T>> getTracks() {
+            return tracks;
+        }
+    }
+}
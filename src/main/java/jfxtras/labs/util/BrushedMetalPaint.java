@@ -33,7 +33,7 @@ import java.util.Random;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
@@ -75,10 +75,17 @@ public class BrushedMetalPaint {
 
 
     // ******************** Methods *******************************************
+    /**
+     * The texture at the given size, shared through the TextureCache with every paint of the same parameters
+     */
     public Image getImage(final double W, final double H) {
         final int WIDTH  = (int) W;
         final int HEIGHT = (int) H;
+        return TextureCache.getInstance().get(BrushedMetalPaint.class.getName(), WIDTH, HEIGHT, 1, () -> createImage(WIDTH, HEIGHT),
+                                              color, radius, amount, monochrome, shine);
+    }
 
+    private Image createImage(final int WIDTH, final int HEIGHT) {
         WritableImage DESTINATION = new WritableImage(WIDTH, HEIGHT);
 
         final int[] IN_PIXELS  = new int[WIDTH];
@@ -130,6 +137,11 @@ public class BrushedMetalPaint {
         double y      = SHAPE.getLayoutBounds().getMinY();
         double width  = SHAPE.getLayoutBounds().getWidth();
         double height = SHAPE.getLayoutBounds().getHeight();
+        if (TextureCache.getInstance().isTiling()) {
+            // the shine runs across the width, so only the height is tiled
+            final double TILE_HEIGHT = TextureCache.getInstance().getTileSize();
+            return new ImagePattern(getImage(width, TILE_HEIGHT), x, y, width, TILE_HEIGHT, false);
+        }
         return new ImagePattern(getImage(width, height), x, y, width, height, false);
     }
 
@@ -236,10 +248,11 @@ public class BrushedMetalPaint {
     }
 
     private void setRGB(final WritableImage IMAGE, final int X, final int Y, final int[] PIXELS) {
-        final PixelWriter RASTER = IMAGE.getPixelWriter();
+        // the texture is opaque
         for (int x = 0 ; x < PIXELS.length ; x++) {
-            RASTER.setColor(X + x, Y, Color.rgb((PIXELS[x] >> 16) & 0xFF, (PIXELS[x] >> 8) & 0xFF, (PIXELS[x] &0xFF)));
+            PIXELS[x] |= 0xff000000;
         }
+        IMAGE.getPixelWriter().setPixels(X, Y, PIXELS.length, 1, PixelFormat.getIntArgbInstance(), PIXELS, 0, PIXELS.length);
     }
 
     private int getIntFromColor(final Color COLOR) {
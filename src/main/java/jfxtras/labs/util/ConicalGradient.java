@@ -37,16 +37,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 
 import javafx.animation.Interpolator;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.Shape;
+import jfxtras.labs.scene.control.gauge.GradientLookup;
 
 
 /**
@@ -56,6 +58,9 @@ import javafx.scene.shape.Shape;
  * Time: 09:46
  */
 public class ConicalGradient {
+    // colors baked per getImage, about a tenth of a degree apart
+    private static final int LOOKUP_SIZE        = 4096;
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
     private Point2D    center;
     private List<Stop> sortedStops;
 
@@ -167,44 +172,59 @@ public class ConicalGradient {
     }
 
     public Image getImage(final double WIDTH, final double HEIGHT) {
-        int width = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
-        int height = (int) HEIGHT <= 0 ? 100 : (int) HEIGHT;
-        final WritableImage RASTER = new WritableImage(width, height);
-        final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
-        Color color = Color.TRANSPARENT;
+        final int WIDTH_PX  = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
+        final int HEIGHT_PX = (int) HEIGHT <= 0 ? 100 : (int) HEIGHT;
         if (center == null) {
-            center = new Point2D(width / 2, height / 2);
-        }
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                double dx = x - center.getX();
-                double dy = y - center.getY();
-                double distance = Math.sqrt((dx * dx) + (dy * dy));
-                distance = Double.compare(distance, 0) == 0 ? 1 : distance;
-
-                double angle = Math.abs(Math.toDegrees(Math.acos(dx / distance)));
-                if (dx >= 0 && dy <= 0) {
-                    angle = 90.0 - angle;
-                } else if (dx >= 0 && dy >= 0) {
-                    angle += 90.0;
-                } else if (dx <= 0 && dy >= 0) {
-                    angle += 90.0;
-                } else if (dx <= 0 && dy <= 0) {
-                    angle = 450.0 - angle;
-                }
-                for (int i = 0; i < (sortedStops.size() - 1); i++) {
-                    if (angle >= (sortedStops.get(i).getOffset() * 360) && angle < (sortedStops.get(i + 1).getOffset() * 360)) {
-                        double fraction = (angle - sortedStops.get(i).getOffset() * 360) / ((sortedStops.get(i + 1).getOffset() - sortedStops.get(i).getOffset()) * 360);
-                        color = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
-                    }
-                }
-                PIXEL_WRITER.setColor(x, y, color);
-            }
+            center = new Point2D(WIDTH_PX / 2, HEIGHT_PX / 2);
         }
+        final double         CX     = center.getX();
+        final double         CY     = center.getY();
+        final GradientLookup LOOKUP = new GradientLookup(LOOKUP_SIZE, sortedStops.toArray(new Stop[sortedStops.size()]));
+        final int[]          PIXELS = new int[WIDTH_PX * HEIGHT_PX];
+
+        // the rows are independent, big images are filled in parallel
+        IntStream rows = IntStream.range(0, HEIGHT_PX);
+        if (WIDTH_PX * HEIGHT_PX >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(y -> {
+            final double[] POSITIONS = new double[WIDTH_PX];
+            final double   UP        = CY - y;
+            for (int x = 0; x < WIDTH_PX; x++) {
+                // angle clockwise from 12 o'clock as fraction of the full circle
+                double position = fastAtan2(x - CX, UP) / (2 * Math.PI);
+                POSITIONS[x] = position < 0 ? position + 1 : position;
+            }
+            LOOKUP.getColorsAt(POSITIONS, PIXELS, y * WIDTH_PX);
+        });
+
+        final WritableImage RASTER = new WritableImage(WIDTH_PX, HEIGHT_PX);
+        RASTER.getPixelWriter().setPixels(0, 0, WIDTH_PX, HEIGHT_PX, PixelFormat.getIntArgbInstance(), PIXELS, 0, WIDTH_PX);
         return RASTER;
     }
 
+    /**
+     * atan2 to about 1e-5 radians, well below the resolution of the lookup table but a lot faster than Math.atan2
+     */
+    private static double fastAtan2(final double Y, final double X) {
+        final double ABS_X = Math.abs(X);
+        final double ABS_Y = Math.abs(Y);
+        if (ABS_X == 0 && ABS_Y == 0) {
+            return 0;
+        }
+        // atan on [0, 1] as polynomial, the other octants by symmetry
+        final double Z      = Math.min(ABS_X, ABS_Y) / Math.max(ABS_X, ABS_Y);
+        final double Z_SQR  = Z * Z;
+        double       angle  = Z * (0.9998660 + Z_SQR * (-0.3302995 + Z_SQR * (0.1801410 + Z_SQR * (-0.0851330 + Z_SQR * 0.0208351))));
+        if (ABS_Y > ABS_X) {
+            angle = Math.PI / 2 - angle;
+        }
+        if (X < 0) {
+            angle = Math.PI - angle;
+        }
+        return Y < 0 ? -angle : angle;
+    }
+
     public ImagePattern apply(final Shape SHAPE) {
 		double x      = SHAPE.getLayoutBounds().getMinX();
 		double y      = SHAPE.getLayoutBounds().getMinY();
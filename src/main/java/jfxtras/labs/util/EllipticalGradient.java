@@ -37,16 +37,17 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 
-import javafx.animation.Interpolator;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.Shape;
+import jfxtras.labs.scene.control.gauge.GradientLookup;
 
 
 /**
@@ -56,6 +57,9 @@ import javafx.scene.shape.Shape;
  * Time: 10:37
  */
 public class EllipticalGradient {
+    // colors baked per getImage over the squared distance
+    private static final int LOOKUP_SIZE        = 4096;
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
     private List<Stop> sortedStops;
 
     public EllipticalGradient(final Stop... STOPS) {
@@ -101,34 +105,33 @@ public class EllipticalGradient {
     }
 
     public Image getImage(final double WIDTH, final double HEIGHT, final Point2D CENTER) {
-        int     width   = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
-        int     height  = (int) HEIGHT <= 0 ? 50 : (int) HEIGHT;
-        double  a       = WIDTH / 2.0;
-        double  aSquare = a * a;
-        double  b       = HEIGHT / 2.0;
-        double  bSquare = b * b;
-        Color   color   = Color.TRANSPARENT;
-        final WritableImage RASTER       = new WritableImage(width, height);
-        final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
-        double isInside;
-        double fraction;
-        double currentOffset;
-        double nextOffset;
-        for (int y = 0 ; y < height ; y++) {
-            for (int x = 0 ; x < width ; x++) {
-                isInside = ((x - CENTER.getX()) * (x - CENTER.getX())) / aSquare + ((y - CENTER.getY()) * (y - CENTER.getY())) / bSquare;
-                isInside = isInside > 1 ? 1 : isInside;
-                for (int i = 0; i < (sortedStops.size() - 1); i++) {
-                    currentOffset = sortedStops.get(i).getOffset();
-                    nextOffset    = sortedStops.get(i + 1).getOffset();
-                    if (Double.compare(isInside, currentOffset) > 0 && Double.compare(isInside, nextOffset) <= 0) {
-                        fraction = (isInside - currentOffset) / (nextOffset - currentOffset);
-                        color    = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
-                    }
-                }
-                PIXEL_WRITER.setColor(x, y, color);
-            }
+        final int            WIDTH_PX  = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
+        final int            HEIGHT_PX = (int) HEIGHT <= 0 ? 50 : (int) HEIGHT;
+        final double         A_SQUARE  = (WIDTH / 2.0) * (WIDTH / 2.0);
+        final double         B_SQUARE  = (HEIGHT / 2.0) * (HEIGHT / 2.0);
+        final double         CX        = CENTER.getX();
+        final double         CY        = CENTER.getY();
+        final GradientLookup LOOKUP    = new GradientLookup(LOOKUP_SIZE, sortedStops.toArray(new Stop[sortedStops.size()]));
+        final int[]          PIXELS    = new int[WIDTH_PX * HEIGHT_PX];
+
+        // the rows are independent, big images are filled in parallel
+        IntStream rows = IntStream.range(0, HEIGHT_PX);
+        if (WIDTH_PX * HEIGHT_PX >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
         }
+        rows.forEach(y -> {
+            final double[] POSITIONS = new double[WIDTH_PX];
+            final double   DY_SQUARE = (y - CY) * (y - CY) / B_SQUARE;
+            for (int x = 0; x < WIDTH_PX; x++) {
+                // the squared, normalized distance to the center, 1 on and outside the ellipse
+                final double IS_INSIDE = (x - CX) * (x - CX) / A_SQUARE + DY_SQUARE;
+                POSITIONS[x] = IS_INSIDE > 1 ? 1 : IS_INSIDE;
+            }
+            LOOKUP.getColorsAt(POSITIONS, PIXELS, y * WIDTH_PX);
+        });
+
+        final WritableImage RASTER = new WritableImage(WIDTH_PX, HEIGHT_PX);
+        RASTER.getPixelWriter().setPixels(0, 0, WIDTH_PX, HEIGHT_PX, PixelFormat.getIntArgbInstance(), PIXELS, 0, WIDTH_PX);
         return RASTER;
     }
 
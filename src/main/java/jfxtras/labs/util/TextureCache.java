@@ -0,0 +1,211 @@
+/**
+ * TextureCache.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javafx.scene.image.Image;
+
+
+/**
+ * A size bounded cache for the procedurally generated textures (brushed metal, noise, carbon, punched sheet),
+ * so controls that share a look also share the texture instead of generating it per control and per resize.
+ * The textures are keyed by their type, the parameters that influence the pixels, the size and the scale;
+ * when more than maxBytes of pixels are cached the least recently used textures are dropped.
+ * In tiling mode the textures that allow it are generated once at tileSize and repeated, instead of generated at every size.
+ */
+public class TextureCache {
+    public static final long          DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+    public static final int           DEFAULT_TILE_SIZE = 256;
+    private static final TextureCache INSTANCE          = new TextureCache(DEFAULT_MAX_BYTES);
+    // in access order, the eldest entry is the least recently used
+    private final Map<Key, Image>     textures          = new LinkedHashMap<Key, Image>(16, 0.75f, true);
+    private long                      maxBytes;
+    private long                      bytes;
+    private long                      hits;
+    private long                      misses;
+    private volatile boolean          tiling;
+    private volatile int              tileSize          = DEFAULT_TILE_SIZE;
+
+
+    // ******************** Constructors **************************************
+    public TextureCache(final long MAX_BYTES) {
+        maxBytes = MAX_BYTES;
+    }
+
+    /**
+     * The cache used by Util and BrushedMetalPaint
+     */
+    public static TextureCache getInstance() {
+        return INSTANCE;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * The cached texture, the FACTORY is only called when there is none yet
+     * @param TYPE       the kind of texture, e.g. the class or method that generates it
+     * @param SCALE      the scale the texture is rendered at, 1 for the logical size
+     * @param PARAMETERS everything else the pixels depend on, compared with equals
+     */
+    public Image get(final String TYPE, final int WIDTH, final int HEIGHT, final double SCALE, final Supplier<Image> FACTORY, final Object... PARAMETERS) {
+        final Key KEY = new Key(TYPE, WIDTH, HEIGHT, SCALE, PARAMETERS);
+        synchronized (this) {
+            final Image IMAGE = textures.get(KEY);
+            if (IMAGE != null) {
+                hits++;
+                return IMAGE;
+            }
+            misses++;
+        }
+        // generated outside the lock, if two threads miss at once the first one wins
+        final Image IMAGE = FACTORY.get();
+        if (IMAGE == null) {
+            return null;
+        }
+        synchronized (this) {
+            final Image CACHED = textures.get(KEY);
+            if (CACHED != null) {
+                return CACHED;
+            }
+            final long SIZE = sizeOf(IMAGE);
+            if (SIZE <= maxBytes) {
+                textures.put(KEY, IMAGE);
+                bytes += SIZE;
+                evict();
+            }
+        }
+        return IMAGE;
+    }
+
+    public synchronized void clear() {
+        textures.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized void setMaxBytes(final long MAX_BYTES) {
+        maxBytes = MAX_BYTES;
+        evict();
+    }
+
+    /**
+     * The memory the cached pixels take, 4 bytes per pixel
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return textures.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public boolean isTiling() {
+        return tiling;
+    }
+
+    public void setTiling(final boolean TILING) {
+        tiling = TILING;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public void setTileSize(final int TILE_SIZE) {
+        if (TILE_SIZE < 1) {
+            throw new IllegalArgumentException("A tile needs at least one pixel");
+        }
+        tileSize = TILE_SIZE;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<Key, Image>> ITERATOR = textures.entrySet().iterator();
+        while (bytes > maxBytes && ITERATOR.hasNext()) {
+            bytes -= sizeOf(ITERATOR.next().getValue());
+            ITERATOR.remove();
+        }
+    }
+
+    private static long sizeOf(final Image IMAGE) {
+        return 4l * (long) IMAGE.getWidth() * (long) IMAGE.getHeight();
+    }
+
+
+    // ******************** Inner classes *************************************
+    private static final class Key {
+        private final String   type;
+        private final int      width;
+        private final int      height;
+        private final double   scale;
+        private final Object[] parameters;
+        private final int      hash;
+
+        Key(final String TYPE, final int WIDTH, final int HEIGHT, final double SCALE, final Object[] PARAMETERS) {
+            type       = TYPE;
+            width      = WIDTH;
+            height     = HEIGHT;
+            scale      = SCALE;
+            parameters = PARAMETERS;
+            hash       = 31 * (31 * (31 * (31 * TYPE.hashCode() + WIDTH) + HEIGHT) + Double.hashCode(SCALE)) + Arrays.hashCode(PARAMETERS);
+        }
+
+        @Override public boolean equals(final Object OBJECT) {
+            if (this == OBJECT) {
+                return true;
+            }
+            if (!(OBJECT instanceof Key)) {
+                return false;
+            }
+            final Key OTHER = (Key) OBJECT;
+            return hash == OTHER.hash && width == OTHER.width && height == OTHER.height && Double.compare(scale, OTHER.scale) == 0 &&
+                   type.equals(OTHER.type) && Arrays.equals(parameters, OTHER.parameters);
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+}
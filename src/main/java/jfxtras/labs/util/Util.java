@@ -43,7 +43,7 @@ import javafx.scene.SnapshotParametersBuilder;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -286,7 +286,7 @@ public class Util {
         final Point2D         CENTER       = new Point2D(BOUNDS.getWidth() / 2, BOUNDS.getHeight() / 2);
         final double          RADIUS       = Math.sqrt(BOUNDS.getWidth() * BOUNDS.getWidth() + BOUNDS.getHeight() * BOUNDS.getHeight()) / 2;
         final double          ANGLE_STEP   = 0.1;
-        final GradientLookup COLOR_LOOKUP = new GradientLookup(STOPS);
+        final GradientLookup COLOR_LOOKUP = new GradientLookup(GradientLookup.DEFAULT_TABLE_SIZE, STOPS);
         CTX.translate(CENTER.getX(), CENTER.getY());
         CTX.rotate(-90 + ROTATION_OFFSET);
         CTX.translate(-CENTER.getX(), -CENTER.getY());
@@ -313,6 +313,11 @@ public class Util {
      *************************************************************************/
 
     public static ImagePattern createCarbonPattern() {
+        final Image PATTERN_IMAGE = TextureCache.getInstance().get("carbon", 12, 12, 1, Util::createCarbonImage);
+        return new ImagePattern(PATTERN_IMAGE, 0, 0, 12, 12, false);
+    }
+
+    private static Image createCarbonImage() {
         final double WIDTH        = 12;
         final double HEIGHT       = 12;
         final Canvas CANVAS       = new Canvas(WIDTH, HEIGHT);
@@ -416,13 +421,15 @@ public class Util {
                                        new Stop(1, Color.rgb(45, 45, 45))));
         CTX.fill();
 
-        final Image PATTERN_IMAGE = CANVAS.snapshot(SNAPSHOT_PARAMETER, null);
-        final ImagePattern PATTERN = new ImagePattern(PATTERN_IMAGE, 0, 0, WIDTH, HEIGHT, false);
-
-        return PATTERN;
+        return CANVAS.snapshot(SNAPSHOT_PARAMETER, null);
     }
 
     public static ImagePattern createPunchedSheetPattern(final Color TEXTURE_COLOR) {
+        final Image PATTERN_IMAGE = TextureCache.getInstance().get("punchedSheet", 15, 15, 1, () -> createPunchedSheetImage(TEXTURE_COLOR), TEXTURE_COLOR);
+        return new ImagePattern(PATTERN_IMAGE, 0, 0, 15, 15, false);
+    }
+
+    private static Image createPunchedSheetImage(final Color TEXTURE_COLOR) {
         final double WIDTH = 15;
         final double HEIGHT = 15;
         final Canvas CANVAS = new Canvas(WIDTH, HEIGHT);
@@ -488,70 +495,66 @@ public class Util {
         CTX.setFill(TEXTURE_COLOR.darker().darker());
         CTX.fill();
 
-        final Image PATTERN_IMAGE = CANVAS.snapshot(SNAPSHOT_PARAMETER, null);
-        final ImagePattern PATTERN = new ImagePattern(PATTERN_IMAGE, 0, 0, WIDTH, HEIGHT, false);
-
-        return PATTERN;
+        return CANVAS.snapshot(SNAPSHOT_PARAMETER, null);
     }
 
     public static Image createNoiseImage(final double WIDTH, final double HEIGHT, final Color COLOR) {
         return createNoiseImage(WIDTH, HEIGHT, COLOR.darker(), COLOR.brighter(), 30);
     }
 
+    /**
+     * Noise of the given size, shared through the TextureCache with every call with the same parameters
+     */
     public static Image createNoiseImage(final double WIDTH, final double HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
         if (WIDTH <= 0 || HEIGHT <= 0) {
             return null;
         }
-        double alphaVariationInPercent      = clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
-        final WritableImage IMAGE           = new WritableImage((int) WIDTH, (int) HEIGHT);
-        final PixelWriter PIXEL_WRITER      = IMAGE.getPixelWriter();
+        final int    WIDTH_PX             = (int) WIDTH;
+        final int    HEIGHT_PX            = (int) HEIGHT;
+        final double VARIATION_IN_PERCENT = clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
+        return TextureCache.getInstance().get("noise", WIDTH_PX, HEIGHT_PX, 1,
+                                              () -> renderNoiseImage(WIDTH_PX, HEIGHT_PX, DARK_COLOR, BRIGHT_COLOR, VARIATION_IN_PERCENT),
+                                              DARK_COLOR, BRIGHT_COLOR, VARIATION_IN_PERCENT);
+    }
+
+    private static Image renderNoiseImage(final int WIDTH, final int HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
+        if (WIDTH <= 0 || HEIGHT <= 0) {
+            return null;
+        }
+        final WritableImage IMAGE           = new WritableImage(WIDTH, HEIGHT);
         final Random        BW_RND          = new Random();
         final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = alphaVariationInPercent / 100 / 2;
-        final double        ALPHA_VARIATION = alphaVariationInPercent / 100;
-        Color noiseColor;
-        double noiseAlpha;
+        final double        ALPHA_START     = ALPHA_VARIATION_IN_PERCENT / 100 / 2;
+        final double        ALPHA_VARIATION = ALPHA_VARIATION_IN_PERCENT / 100;
+        final int           BRIGHT_RGB      = toRgb(BRIGHT_COLOR);
+        final int           DARK_RGB        = toRgb(DARK_COLOR);
+        final int[]         ROW             = new int[WIDTH];
         for (int y = 0; y < HEIGHT; y++) {
             for (int x = 0; x < WIDTH; x++) {
-                if (BW_RND.nextBoolean()) {
-                    noiseColor = BRIGHT_COLOR;
-                } else {
-                    noiseColor = DARK_COLOR;
-                }
-                noiseAlpha = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
+                final int    NOISE_RGB   = BW_RND.nextBoolean() ? BRIGHT_RGB : DARK_RGB;
+                final double NOISE_ALPHA = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
+                ROW[x] = (int) Math.round(NOISE_ALPHA * 255) << 24 | NOISE_RGB;
             }
+            IMAGE.getPixelWriter().setPixels(0, y, WIDTH, 1, PixelFormat.getIntArgbInstance(), ROW, 0, WIDTH);
         }
         return IMAGE;
     }
 
+    private static int toRgb(final Color COLOR) {
+        return (int) Math.round(COLOR.getRed() * 255) << 16 | (int) Math.round(COLOR.getGreen() * 255) << 8 | (int) Math.round(COLOR.getBlue() * 255);
+    }
+
     public static Paint applyNoisyBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
-        final int           WIDTH           = (int) SHAPE.getLayoutBounds().getWidth();
-        final int           HEIGHT          = (int) SHAPE.getLayoutBounds().getHeight();
-        final WritableImage IMAGE           = new WritableImage(WIDTH, HEIGHT);
-        final PixelWriter   PIXEL_WRITER    = IMAGE.getPixelWriter();
-        final Random        BW_RND          = new Random();
-        final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = 0.045;
-        final double        ALPHA_VARIATION = 0.09;
-        Color  noiseColor;
-        double noiseAlpha;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                if (BW_RND.nextBoolean()) {
-                    noiseColor = TEXTURE_COLOR.brighter();
-                } else {
-                    noiseColor = TEXTURE_COLOR.darker();
-                }
-                noiseAlpha = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
-            }
+        double x      = SHAPE.getLayoutBounds().getMinX();
+        double y      = SHAPE.getLayoutBounds().getMinY();
+        double width  = SHAPE.getLayoutBounds().getWidth();
+        double height = SHAPE.getLayoutBounds().getHeight();
+        if (TextureCache.getInstance().isTiling()) {
+            final double TILE_SIZE = TextureCache.getInstance().getTileSize();
+            return new ImagePattern(createNoiseImage(TILE_SIZE, TILE_SIZE, TEXTURE_COLOR.darker(), TEXTURE_COLOR.brighter(), 9), x, y, TILE_SIZE, TILE_SIZE, false);
         }
-		double x      = SHAPE.getLayoutBounds().getMinX();
-		double y      = SHAPE.getLayoutBounds().getMinY();
-		double width  = SHAPE.getLayoutBounds().getWidth();
-	    double height = SHAPE.getLayoutBounds().getHeight();
-		return new ImagePattern(IMAGE, x, y, width, height, false);
+        // alpha from 0.045 to 0.135
+        return new ImagePattern(createNoiseImage(width, height, TEXTURE_COLOR.darker(), TEXTURE_COLOR.brighter(), 9), x, y, width, height, false);
     }
 
     public static Image createBrushedMetalImage(final double WIDTH, final double HEIGHT, final Color TEXTURE_COLOR) {
@@ -0,0 +1,211 @@
+/**
+ * BeanPathAdapterCoercionTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jfxtras.labs.scene.control.BeanPathAdapter.FieldStringConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanPathAdapterCoercionTest {
+
+    // ******************** Hierarchy *****************************************
+    @Test
+    public void aCoercionOfAnInterfaceIsUsedForItsImplementations() {
+        BeanPathAdapter.registerCoercion(Shape.class, String.class, v -> "shape");
+
+        Assert.assertEquals("shape", FieldStringConverter.coerceToString(new Tile()));
+    }
+
+    @Test
+    public void theCoercionOfTheNearestClassIsUsed() {
+        BeanPathAdapter.registerCoercion(Gem.class, Integer.class, v -> 1);
+        BeanPathAdapter.registerCoercion(Ruby.class, Integer.class, v -> 2);
+
+        Assert.assertEquals(Integer.valueOf(2), FieldStringConverter.coerce(new Ruby(), Integer.class));
+        Assert.assertEquals(Integer.valueOf(1), FieldStringConverter.coerce(new Gem(), Integer.class));
+    }
+
+    @Test
+    public void aRegistrationReplacesACoercionResolvedBefore() {
+        Assert.assertEquals("plain", FieldStringConverter.coerceToString(new Plain()));
+
+        BeanPathAdapter.registerCoercion(Plain.class, String.class, v -> "registered");
+
+        Assert.assertEquals("registered", FieldStringConverter.coerceToString(new Plain()));
+    }
+
+    @Test
+    public void withoutACoercionValueOfIsUsed() {
+        Assert.assertEquals(Integer.valueOf(42), FieldStringConverter.coerce("42", Integer.class));
+        Assert.assertEquals(Boolean.TRUE, FieldStringConverter.coerce("true", Boolean.class));
+        // through the toString() value
+        Assert.assertEquals(Long.valueOf(7), FieldStringConverter.coerce(new StringBuilder("7"), Long.class));
+    }
+
+
+    // ******************** java.time *****************************************
+    @Test
+    public void javaTimeValuesAreParsed() {
+        Assert.assertEquals(LocalDate.of(2015, 3, 4), FieldStringConverter.coerce("2015-03-04", LocalDate.class));
+        Assert.assertEquals(LocalDateTime.of(2015, 3, 4, 5, 6, 7), FieldStringConverter.coerce("2015-03-04T05:06:07", LocalDateTime.class));
+        Assert.assertEquals(Instant.ofEpochSecond(60), FieldStringConverter.coerce("1970-01-01T00:01:00Z", Instant.class));
+    }
+
+    @Test
+    public void dateTypesAreConvertedInTheDefaultTimeZone() {
+        LocalDateTime lLocal = LocalDateTime.of(2015, 3, 4, 5, 6, 7);
+        Instant lInstant = lLocal.atZone(ZoneId.systemDefault()).toInstant();
+
+        Assert.assertEquals(lInstant, FieldStringConverter.coerce(lLocal, Instant.class));
+        Assert.assertEquals(Date.from(lInstant), FieldStringConverter.coerce(lLocal, Date.class));
+        Assert.assertEquals(lInstant.toEpochMilli(), FieldStringConverter.coerce(Date.from(lInstant), Calendar.class).getTimeInMillis());
+        Assert.assertEquals(lLocal, FieldStringConverter.coerce(Date.from(lInstant), LocalDateTime.class));
+        Assert.assertEquals(lLocal.toLocalDate(), FieldStringConverter.coerce(lInstant, LocalDate.class));
+    }
+
+    @Test
+    public void aDateIsFormattedAndParsedAgain() {
+        Date lDate = new Date(1425445567000L);
+
+        String lString = FieldStringConverter.coerceToString(lDate);
+
+        Assert.assertEquals(lDate, FieldStringConverter.coerce(lString, Date.class));
+        Assert.assertEquals(lDate.getTime(), FieldStringConverter.coerce(lString, Calendar.class).getTimeInMillis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anInvalidDateIsAnIllegalArgument() {
+        FieldStringConverter.coerce("not a date", LocalDate.class);
+    }
+
+
+    // ******************** Threads *******************************************
+    @Test
+    public void datesAreConvertedOnManyThreadsAtOnce() throws Exception {
+        final int lThreads = 8;
+        final int lDates = 20000;
+        ExecutorService lExecutor = Executors.newFixedThreadPool(lThreads);
+        try {
+            List<Callable<Integer>> lTasks = new ArrayList<>();
+            for (int t = 0; t < lThreads; t++) {
+                final long lFirst = 1000000000000L + t * 86400000L * 3;
+                lTasks.add(() -> {
+                    int lFailed = 0;
+                    for (int i = 0; i < lDates; i++) {
+                        // whole seconds, that is what the format keeps
+                        Date lDate = new Date(lFirst + i * 13000L);
+                        if (!lDate.equals(FieldStringConverter.coerce(FieldStringConverter.coerceToString(lDate), Date.class))) {
+                            lFailed++;
+                        }
+                    }
+                    return lFailed;
+                });
+            }
+            int lFailed = 0;
+            for (Future<Integer> lFuture : lExecutor.invokeAll(lTasks)) {
+                lFailed += lFuture.get();
+            }
+            Assert.assertEquals(0, lFailed);
+        } finally {
+            lExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void aCoercionResolvedDuringARegistrationIsNotKept() throws Exception {
+        BeanPathAdapter.registerCoercion(Counter.class, Integer.class, v -> -1);
+        AtomicBoolean lDone = new AtomicBoolean();
+        ExecutorService lExecutor = Executors.newFixedThreadPool(3);
+        try {
+            // resolve the coercion over and over while it is registered again
+            List<Future<?>> lResolvers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                lResolvers.add(lExecutor.submit(() -> {
+                    while (!lDone.get()) {
+                        FieldStringConverter.coerce(new Counter(), Integer.class);
+                    }
+                }));
+            }
+            for (int i = 0; i < 100000; i++) {
+                final Integer lValue = i;
+                BeanPathAdapter.registerCoercion(Counter.class, Integer.class, v -> lValue);
+                Assert.assertEquals(lValue, FieldStringConverter.coerce(new Counter(), Integer.class));
+            }
+            lDone.set(true);
+            for (Future<?> lResolver : lResolvers) {
+                lResolver.get();
+            }
+        } finally {
+            lDone.set(true);
+            lExecutor.shutdown();
+        }
+    }
+
+
+    // ******************** Fixtures ******************************************
+    public interface Shape {
+    }
+
+    public static class Square implements Shape {
+    }
+
+    public static class Tile extends Square {
+    }
+
+    public static class Gem {
+    }
+
+    public static class Ruby extends Gem {
+    }
+
+    public static class Counter {
+    }
+
+    public static class Plain {
+        @Override
+        public String toString() {
+            return "plain";
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * BeanPathAdapterCollectionSyncTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package jfxtras.labs.scene.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.beans.property.Property;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+import jfxtras.labs.scene.control.BeanPathAdapter.FieldBeanOperation;
+import jfxtras.labs.scene.control.BeanPathAdapter.FieldProperty;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The bound observable collections only receive the items that differ from the bean collections, and the item
+ * {@link FieldProperty} cache of an item path binding only holds the items of the bean collection.
+ */
+public class BeanPathAdapterCollectionSyncTest {
+
+    private Phone phone1;
+    private BeanPathAdapter<Person> adapter;
+    private ObservableList<String> tags;
+    private ObservableSet<String> tagSet;
+    private ObservableMap<String, String> tagMap;
+    private ObservableList<String> areaCodes;
+    private List<String> changes;
+
+    @Before
+    public void setUp() {
+        phone1 = new Phone("111");
+        adapter = new BeanPathAdapter<>(person(Arrays.asList("a", "b", "c", "d"), Arrays.asList("a", "b"), phone1, new Phone("222")));
+        tags = FXCollections.observableArrayList();
+        tagSet = FXCollections.observableSet(new LinkedHashSet<>());
+        tagMap = FXCollections.observableMap(new LinkedHashMap<>());
+        areaCodes = FXCollections.observableArrayList();
+        adapter.bindContentBidirectional("tags", null, String.class, tags, String.class, null, null);
+        adapter.bindContentBidirectional("tagSet", null, String.class, tagSet, String.class, null, null);
+        adapter.bindContentBidirectional("tagMap", null, String.class, tagMap, String.class, null, null);
+        adapter.bindContentBidirectional("phones", "areaCode", String.class, areaCodes, String.class, null, null);
+        changes = new ArrayList<>();
+        record("tags", tags);
+        record("areaCodes", areaCodes);
+        tagSet.addListener((SetChangeListener<String>) change -> changes.add("tagSet " + (change.wasRemoved() ? "-" + change.getElementRemoved() : "+" + change.getElementAdded())));
+        tagMap.addListener((MapChangeListener<String, String>) change -> changes.add("tagMap " + change.getValueRemoved() + ">" + change.getValueAdded()));
+    }
+
+    @Test
+    public void aNewBeanOnlyChangesTheItemsThatDiffer() {
+        adapter.setBean(person(Arrays.asList("a", "x", "c", "d"), Arrays.asList("b", "z"), phone1, new Phone("333")));
+
+        Assert.assertEquals("[a, x, c, d]", tags.toString());
+        Assert.assertEquals("[b, z]", tagSet.toString());
+        Assert.assertEquals("[a, x, c, d]", new ArrayList<>(tagMap.values()).toString());
+        Assert.assertEquals("[111, 333]", areaCodes.toString());
+        // one removal and one addition each, not a clear and an addition per item
+        Assert.assertEquals("[-[b]@1, +[x]@1]", changes("tags").toString());
+        Assert.assertEquals("[-a, +z]", changes("tagSet").toString());
+        Assert.assertEquals("[b>x]", changes("tagMap").toString());
+        Assert.assertEquals("[-[222]@1, +[333]@1]", changes("areaCodes").toString());
+        Assert.assertEquals(7, changes.size());
+    }
+
+    @Test
+    public void aNewBeanWithTheSameContentIsNotNotified() {
+        adapter.setBean(person(Arrays.asList("a", "b", "c", "d"), Arrays.asList("a", "b"), phone1, new Phone("222")));
+
+        Assert.assertEquals("[111, 222]", areaCodes.toString());
+        Assert.assertTrue(changes.toString(), changes.isEmpty());
+    }
+
+    @Test
+    public void observableChangesAreSetOnTheBean() {
+        tags.add("e");
+        tagSet.add("w");
+        areaCodes.remove(0);
+
+        Person lPerson = adapter.getBean();
+        Assert.assertEquals("[a, b, c, d, e]", lPerson.getTags().toString());
+        Assert.assertEquals("[a, b, w]", lPerson.getTagSet().toString());
+        Assert.assertEquals(1, lPerson.getPhones().size());
+        Assert.assertEquals("222", lPerson.getPhones().get(0).getAreaCode());
+    }
+
+    @Test
+    public void theItemPropertiesOfARemovedItemAreNotKept() {
+        FieldProperty<?, ?, ?> lPhones = adapter.getRoot().performOperation("phones", (Property<Object>) null, null, FieldBeanOperation.CREATE_OR_FIND);
+        Assert.assertEquals(2, lPhones.getItemFieldPropertyCount());
+
+        areaCodes.remove(0);
+        Assert.assertEquals(1, lPhones.getItemFieldPropertyCount());
+
+        adapter.setBean(person(Arrays.asList("a"), Arrays.asList("a"), new Phone("333"), new Phone("444")));
+        Assert.assertEquals("[333, 444]", areaCodes.toString());
+        Assert.assertEquals(2, lPhones.getItemFieldPropertyCount());
+    }
+
+
+    // ******************** Fixtures ******************************************
+    private void record(final String NAME, final ObservableList<String> LIST) {
+        LIST.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    changes.add(NAME + " -" + change.getRemoved() + "@" + change.getFrom());
+                }
+                if (change.wasAdded()) {
+                    changes.add(NAME + " +" + change.getAddedSubList() + "@" + change.getFrom());
+                }
+            }
+        });
+    }
+
+    private List<String> changes(final String NAME) {
+        List<String> lChanges = new ArrayList<>();
+        for (String lChange : changes) {
+            if (lChange.startsWith(NAME + " ")) {
+                lChanges.add(lChange.substring(NAME.length() + 1));
+            }
+        }
+        return lChanges;
+    }
+
+    private static Person person(final List<String> TAGS, final List<String> TAG_SET, final Phone... PHONES) {
+        Person lPerson = new Person();
+        lPerson.getTags().addAll(TAGS);
+        lPerson.getTagSet().addAll(TAG_SET);
+        for (String lTag : TAGS) {
+            lPerson.getTagMap().put("key " + lTag, lTag);
+        }
+        lPerson.getPhones().addAll(Arrays.asList(PHONES));
+        return lPerson;
+    }
+
+    public static class Person {
+        private List<String> tags = new ArrayList<>();
+        private Set<String> tagSet = new LinkedHashSet<>();
+        private Map<String, String> tagMap = new LinkedHashMap<>();
+        private List<Phone> phones = new ArrayList<>();
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Set<String> getTagSet() {
+            return tagSet;
+        }
+
+        public void setTagSet(Set<String> tagSet) {
+            this.tagSet = tagSet;
+        }
+
+        public Map<String, String> getTagMap() {
+            return tagMap;
+        }
+
+        public void setTagMap(Map<String, String> tagMap) {
+            this.tagMap = tagMap;
+        }
+
+        public List<Phone> getPhones() {
+            return phones;
+        }
+
+        public void setPhones(List<Phone> phones) {
+            this.phones = phones;
+        }
+    }
+
+    public static class Phone {
+        private String areaCode;
+
+        public Phone() {
+        }
+
+        public Phone(String areaCode) {
+            this.areaCode = areaCode;
+        }
+
+        public String getAreaCode() {
+            return areaCode;
+        }
+
+        public void setAreaCode(String areaCode) {
+            this.areaCode = areaCode;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * BeanPathAdapterTransactionTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import jfxtras.labs.scene.control.BeanPathAdapter.FieldPathValue;
+import jfxtras.labs.scene.control.BeanPathAdapter.FieldPathValueType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link FieldPathValueType#BATCH_CHANGE} contract, on the JavaFX application thread side: applyTransaction is
+ * what a committed {@link BeanPathAdapter.Transaction} runs there.
+ */
+public class BeanPathAdapterTransactionTest {
+
+    private Person person;
+    private BeanPathAdapter<Person> adapter;
+    private List<FieldPathValue> notified;
+
+    @Before
+    public void setUp() {
+        person = new Person();
+        adapter = new BeanPathAdapter<>(person);
+        notified = new ArrayList<>();
+        adapter.fieldPathValueProperty().addListener((observable, oldValue, newValue) -> notified.add(newValue));
+    }
+
+    @Test
+    public void allValuesAreNotifiedInOneBatchChange() {
+        adapter.applyTransaction(values("name", "Ann", "city", "Oslo"));
+
+        Assert.assertEquals("Ann", person.getName());
+        Assert.assertEquals("Oslo", person.getCity());
+        Assert.assertEquals(1, notified.size());
+        Assert.assertEquals(FieldPathValueType.BATCH_CHANGE, notified.get(0).getType());
+        Assert.assertSame(person, notified.get(0).getBean());
+        Assert.assertEquals("[name, city]", paths(notified.get(0)).toString());
+    }
+
+    @Test
+    public void withoutTheBatchChangeTypeEveryValueIsNotified() {
+        adapter.removeFieldPathValueTypes(FieldPathValueType.BATCH_CHANGE);
+
+        adapter.applyTransaction(values("name", "Ann", "city", "Oslo"));
+
+        Assert.assertEquals(2, notified.size());
+        Assert.assertEquals("name", notified.get(0).getPath());
+        Assert.assertEquals("city", notified.get(1).getPath());
+        Assert.assertEquals(FieldPathValueType.FIELD_CHANGE, notified.get(0).getType());
+    }
+
+    @Test
+    public void aNestedTransactionIsNotifiedWithTheOuterOne() {
+        // a listener that applies another transaction while the first one is applied
+        StringProperty lName = new SimpleStringProperty();
+        adapter.bindBidirectional("name", lName);
+        lName.addListener((observable, oldValue, newValue) -> {
+            if ("Ann".equals(newValue)) {
+                adapter.applyTransaction(values("city", "Oslo"));
+            }
+        });
+        notified.clear();
+
+        adapter.applyTransaction(values("name", "Ann", "street", "Main"));
+
+        Assert.assertEquals("Oslo", person.getCity());
+        Assert.assertEquals("Main", person.getStreet());
+        Assert.assertEquals(1, notified.size());
+        Assert.assertEquals(FieldPathValueType.BATCH_CHANGE, notified.get(0).getType());
+        // the city is set while the listeners of the name run
+        Assert.assertEquals("[city, name, street]", paths(notified.get(0)).toString());
+    }
+
+    @Test
+    public void anEmptyTransactionIsNotNotified() {
+        adapter.applyTransaction(new LinkedHashMap<>());
+
+        Assert.assertTrue(notified.isEmpty());
+    }
+
+
+    // ******************** Fixtures ******************************************
+    private static Map<String, Object> values(final Object... PATHS_AND_VALUES) {
+        Map<String, Object> lValues = new LinkedHashMap<>();
+        for (int i = 0; i < PATHS_AND_VALUES.length; i += 2) {
+            lValues.put((String) PATHS_AND_VALUES[i], PATHS_AND_VALUES[i + 1]);
+        }
+        return lValues;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> paths(final FieldPathValue BATCH) {
+        List<String> lPaths = new ArrayList<>();
+        for (FieldPathValue lChange : (List<FieldPathValue>) BATCH.getValue()) {
+            lPaths.add(lChange.getPath());
+        }
+        return lPaths;
+    }
+
+    public static class Person {
+        private String name;
+        private String street;
+        private String city;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+}
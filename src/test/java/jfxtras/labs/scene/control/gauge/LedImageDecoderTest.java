@@ -0,0 +1,207 @@
+/**
+ * LedImageDecoderTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.gauge;
+
+import jfxtras.labs.scene.control.gauge.Content.MatrixColor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+public class LedImageDecoderTest {
+
+    private static final int BLACK = 0xff000000;
+    private static final int RED   = 0xffff0000;
+    private static final int GREEN = 0xff00ff00;
+    private static final int BLUE  = 0xff0000ff;
+    private static final int WHITE = 0xffffffff;
+    private static final int[] PALETTE = { BLACK, RED, GREEN, BLUE };
+
+    @After
+    public void clearCache() {
+        LedImageDecoder.clearCache();
+    }
+
+    @Test
+    public void oneBitRowsArePaddedAndStoredBottomUp() throws IOException {
+        // 3 pixels in 1 byte, padded to 4
+        LedImageDecoder.Pixels lPixels = decode(bmp(3, 2, 1, 0, new int[]{ BLACK, WHITE },
+                0xa0, 0, 0, 0,
+                0x40, 0, 0, 0));
+        assertPixels(lPixels, 3,
+                BLACK, WHITE, BLACK,
+                WHITE, BLACK, WHITE);
+    }
+
+    @Test
+    public void fourBitUsesTheHighNibbleFirst() throws IOException {
+        LedImageDecoder.Pixels lPixels = decode(bmp(3, 1, 4, 0, PALETTE,
+                0x12, 0x30, 0, 0));
+        assertPixels(lPixels, 3,
+                RED, GREEN, BLUE);
+    }
+
+    @Test
+    public void eightBitWithANegativeHeightIsTopDown() throws IOException {
+        LedImageDecoder.Pixels lPixels = decode(bmp(2, -2, 8, 0, PALETTE,
+                1, 2, 0, 0,
+                3, 0, 0, 0));
+        assertPixels(lPixels, 2,
+                RED, GREEN,
+                BLUE, BLACK);
+    }
+
+    @Test
+    public void twentyFourBitIsBlueGreenRed() throws IOException {
+        LedImageDecoder.Pixels lPixels = decode(bmp(1, 2, 24, 0, new int[0],
+                0xff, 0, 0, 0,
+                0, 0, 0xff, 0));
+        assertPixels(lPixels, 1,
+                RED,
+                BLUE);
+    }
+
+    @Test
+    public void rle8RunsAbsoluteRunsAndDeltas() throws IOException {
+        LedImageDecoder.Pixels lPixels = decode(bmp(4, 3, 8, 1, PALETTE,
+                // bottom row: a run of 3
+                3, 1, 0, 0,
+                // middle row: 3 pixels as they are, padded to 2 bytes
+                0, 3, 2, 3, 1, 0, 0, 0,
+                // top row: skip 1 pixel, then a run of 2
+                0, 2, 1, 0, 2, 3,
+                0, 1));
+        assertPixels(lPixels, 4,
+                BLACK, BLUE, BLUE, BLACK,
+                GREEN, BLUE, RED, BLACK,
+                RED, RED, RED, BLACK);
+    }
+
+    @Test
+    public void rle4RunsAbsoluteRunsAndDeltas() throws IOException {
+        LedImageDecoder.Pixels lPixels = decode(bmp(5, 2, 4, 2, PALETTE,
+                // bottom row: a run of 5 alternating nibbles
+                5, 0x12, 0, 0,
+                // top row: 3 pixels as they are, then skip 1 pixel and a run of 1
+                0, 3, 0x31, 0x20, 0, 2, 1, 0, 1, 0x30,
+                0, 1));
+        assertPixels(lPixels, 5,
+                BLUE, RED, GREEN, BLACK, BLUE,
+                RED, GREEN, RED, GREEN, RED);
+    }
+
+    @Test
+    public void areasAreCopies() throws IOException {
+        File lFile = write(File.createTempFile("led", ".bmp"), RED);
+        try {
+            int[][] lArea = LedImageDecoder.getArea(lFile.getPath(), MatrixColor.RGB);
+            Assert.assertEquals(3, lArea[0][0]);
+            lArea[0][0] = 0;
+            Assert.assertEquals(3, LedImageDecoder.getArea(lFile.getPath(), MatrixColor.RGB)[0][0]);
+        } finally {
+            lFile.delete();
+        }
+    }
+
+    @Test
+    public void aModifiedFileIsDecodedAgain() throws IOException {
+        File lFile = write(File.createTempFile("led", ".bmp"), RED);
+        try {
+            Assert.assertEquals(3, LedImageDecoder.getArea(lFile.getPath(), MatrixColor.RGB)[0][0]);
+            write(lFile, BLUE);
+            lFile.setLastModified(lFile.lastModified() + 2000);
+            Assert.assertEquals(300, LedImageDecoder.getArea(lFile.getPath(), MatrixColor.RGB)[0][0]);
+        } finally {
+            lFile.delete();
+        }
+    }
+
+    @Test
+    public void theCacheIsBounded() throws IOException {
+        File lDir = Files.createTempDirectory("led").toFile();
+        try {
+            for (int i = 0; i < LedImageDecoder.MAX_CACHED + 5; i++) {
+                Assert.assertNotNull(LedImageDecoder.getArea(write(new File(lDir, i + ".bmp"), GREEN).getPath(), MatrixColor.GREEN));
+            }
+            Assert.assertEquals(LedImageDecoder.MAX_CACHED, LedImageDecoder.getCacheSize());
+        } finally {
+            for (File lFile : lDir.listFiles()) {
+                lFile.delete();
+            }
+            lDir.delete();
+        }
+    }
+
+
+    // ******************** Fixtures ******************************************
+    private static LedImageDecoder.Pixels decode(final byte[] BMP) throws IOException {
+        return LedImageDecoder.decodeBmp(ByteBuffer.wrap(BMP));
+    }
+
+    private static void assertPixels(final LedImageDecoder.Pixels PIXELS, final int WIDTH, final int... ARGB) {
+        Assert.assertEquals(WIDTH, PIXELS.width);
+        Assert.assertEquals(ARGB.length / WIDTH, PIXELS.height);
+        for (int i = 0; i < ARGB.length; i++) {
+            Assert.assertEquals("pixel " + (i % WIDTH) + "," + (i / WIDTH), Integer.toHexString(ARGB[i]), Integer.toHexString(PIXELS.argb[i]));
+        }
+    }
+
+    /**
+     * A 1x1 24 bit BMP file of the color
+     */
+    private static File write(final File FILE, final int ARGB) throws IOException {
+        Files.write(FILE.toPath(), bmp(1, 1, 24, 0, new int[0], ARGB & 0xff, (ARGB >> 8) & 0xff, (ARGB >> 16) & 0xff, 0));
+        return FILE;
+    }
+
+    /**
+     * A BMP file with a 40 byte info header
+     * @param COMPRESSION 0 none, 1 RLE8, 2 RLE4
+     */
+    private static byte[] bmp(final int WIDTH, final int HEIGHT, final int BITS, final int COMPRESSION, final int[] PALETTE, final int... DATA) {
+        final int OFFSET = 14 + 40 + PALETTE.length * 4;
+        final ByteBuffer BUFFER = ByteBuffer.allocate(OFFSET + DATA.length).order(ByteOrder.LITTLE_ENDIAN);
+        BUFFER.put((byte) 'B').put((byte) 'M').putInt(BUFFER.capacity()).putInt(0).putInt(OFFSET);
+        BUFFER.putInt(40).putInt(WIDTH).putInt(HEIGHT).putShort((short) 1).putShort((short) BITS).putInt(COMPRESSION)
+              .putInt(DATA.length).putInt(2835).putInt(2835).putInt(PALETTE.length).putInt(0);
+        for (int lArgb : PALETTE) {
+            BUFFER.put((byte) lArgb).put((byte) (lArgb >> 8)).put((byte) (lArgb >> 16)).put((byte) 0);
+        }
+        for (int lByte : DATA) {
+            BUFFER.put((byte) lByte);
+        }
+        return BUFFER.array();
+    }
+}
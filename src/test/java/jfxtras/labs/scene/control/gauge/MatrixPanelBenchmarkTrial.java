@@ -0,0 +1,136 @@
+package jfxtras.labs.scene.control.gauge;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javafx.geometry.Point2D;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Runs MatrixPanel contents through the LedFrameGenerator, without a stage, with the pulses of a 60Hz clock simulated:
+ * the time and the bytes allocated per drawn frame, for every combination of panel size, font and effect.
+ * The contents do not draw on every pulse (they step at their own speed), so pulses without a drawn frame are not counted as frames.
+ * Every measurement is written as one JSON object per line, so runs can be compared by a script.
+ *
+ * Arguments (all optional): --sizes=64x16,128x32,256x64 --fonts=FF_5x7,FF_8x16 --effects=SCROLL_LEFT,BLINK,SPRAY
+ * --pulses=2000 --png=dir (writes every drawn frame of every combination as an image, in a directory per combination)
+ */
+public class MatrixPanelBenchmarkTrial {
+
+    private static final long PULSE_NANOS = 1000000000L / 60;
+
+    public static void main(String[] args) throws IOException {
+        List<int[]> lSizes = new ArrayList<>(Arrays.asList(new int[]{64, 16}, new int[]{128, 32}, new int[]{256, 64}));
+        List<Content.MatrixFont> lFonts = new ArrayList<>(Arrays.asList(Content.MatrixFont.FF_5x7, Content.MatrixFont.FF_8x16));
+        List<Content.Effect> lEffects = new ArrayList<>(Arrays.asList(Content.Effect.SCROLL_LEFT, Content.Effect.SCROLL_UP, Content.Effect.MIRROR, Content.Effect.BLINK, Content.Effect.SPRAY));
+        int lPulses = 2000;
+        File lPngDir = null;
+        for (String lArg : args) {
+            String[] lKeyValue = lArg.replaceFirst("^--", "").split("=", 2);
+            switch (lKeyValue[0]) {
+                case "sizes":
+                    lSizes.clear();
+                    for (String lSize : lKeyValue[1].split(",")) {
+                        String[] lWidthHeight = lSize.split("x");
+                        lSizes.add(new int[]{Integer.parseInt(lWidthHeight[0]), Integer.parseInt(lWidthHeight[1])});
+                    }
+                    break;
+                case "fonts":
+                    lFonts.clear();
+                    for (String lFont : lKeyValue[1].split(",")) {
+                        lFonts.add(Content.MatrixFont.valueOf(lFont));
+                    }
+                    break;
+                case "effects":
+                    lEffects.clear();
+                    for (String lEffect : lKeyValue[1].split(",")) {
+                        lEffects.add(Content.Effect.valueOf(lEffect));
+                    }
+                    break;
+                case "pulses": lPulses = Integer.parseInt(lKeyValue[1]); break;
+                case "png": lPngDir = new File(lKeyValue[1]); lPngDir.mkdirs(); break;
+                default: throw new IllegalArgumentException("Unknown argument " + lArg);
+            }
+        }
+
+        for (int[] lSize : lSizes) {
+            for (Content.MatrixFont lFont : lFonts) {
+                for (Content.Effect lEffect : lEffects) {
+                    benchmark(lSize[0], lSize[1], lFont, lEffect, lPulses, lPngDir);
+                }
+            }
+        }
+    }
+
+    private static void benchmark(int ledWidth, int ledHeight, Content.MatrixFont font, Content.Effect effect, int pulses, File pngDir) throws IOException {
+        List<Content> lContents = new ArrayList<>();
+        lContents.add(new Content(Content.MatrixColor.RGB, Content.Type.TEXT, new Point2D(0, 0), new Rectangle(0, 0, ledWidth, ledHeight),
+                "The quick brown fox jumps over the lazy dog 0123456789", font, Content.Gap.SIMPLE, Content.Align.LEFT,
+                effect, Content.PostEffect.REPEAT, 0, 10, Content.RotationOrder.SINGLE, false));
+        LedFrameGenerator lGenerator = new LedFrameGenerator(ledWidth, ledHeight, lContents);
+
+        // warm up
+        long lNow = run(lGenerator, 0, pulses, null);
+
+        // measure from a fresh start
+        com.sun.management.ThreadMXBean lThreadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long lThreadId = Thread.currentThread().getId();
+        long lAllocated = lThreadMXBean.getThreadAllocatedBytes(lThreadId);
+        long lStarted = System.nanoTime();
+        int lDrawn = 0;
+        lGenerator.setRandom(new Random(0));
+        lGenerator.createContents();
+        for (int lPulse = 0; lPulse < pulses; lPulse++) {
+            lNow += PULSE_NANOS;
+            if (lGenerator.tick(lNow)) {
+                lDrawn++;
+            }
+            lGenerator.clearDirty();
+        }
+        long lNanos = System.nanoTime() - lStarted;
+        lAllocated = lThreadMXBean.getThreadAllocatedBytes(lThreadId) - lAllocated;
+
+        System.out.println("{\"size\":\"" + ledWidth + "x" + ledHeight + "\",\"font\":\"" + font + "\",\"effect\":\"" + effect + "\""
+                + ",\"pulses\":" + pulses
+                + ",\"drawn\":" + lDrawn
+                + ",\"nanosPerDrawnFrame\":" + (lDrawn == 0 ? 0 : lNanos / lDrawn)
+                + ",\"bytesPerDrawnFrame\":" + (lDrawn == 0 ? 0 : lAllocated / lDrawn) + "}");
+
+        // the same run again, with every drawn frame written as an image
+        if (pngDir != null) {
+            File lDir = new File(pngDir, ledWidth + "x" + ledHeight + "-" + font + "-" + effect);
+            lDir.mkdirs();
+            run(lGenerator, lNow, pulses, lDir);
+        }
+        lGenerator.stop();
+    }
+
+    /**
+     * Runs the contents from a fresh start
+     * @param pngDir when not null, every drawn frame is written to it as frame-00000.png, frame-00001.png, ...
+     * @return the time of the last pulse
+     */
+    private static long run(LedFrameGenerator generator, long now, int pulses, File pngDir) throws IOException {
+        generator.setRandom(new Random(0));
+        generator.createContents();
+        int lDrawn = 0;
+        for (int lPulse = 0; lPulse < pulses; lPulse++) {
+            now += PULSE_NANOS;
+            if (generator.tick(now) && pngDir != null) {
+                try (OutputStream lStream = new FileOutputStream(new File(pngDir, String.format("frame-%05d.png", lDrawn)))) {
+                    generator.writePng(lStream, 4);
+                }
+                lDrawn++;
+            }
+            generator.clearDirty();
+        }
+        return now;
+    }
+}
@@ -0,0 +1,144 @@
+package jfxtras.labs.scene.control.scheduler;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cache must load the displayed windows once, prefetch the adjacent ones and evict the least recently used.
+ */
+public class EventWindowCacheTest {
+
+    @Test
+    public void loadsDisplayedAndAdjacentWindows() {
+        EventWindowCache lEventWindowCache = createEventWindowCache(new InMemoryEventProvider(createEvents(LocalDate.of(2016, 1, 1), 365)));
+
+        lEventWindowCache.show(weekRange(LocalDate.of(2016, 6, 6)));
+
+        // one displayed window and one on each side
+        Assert.assertEquals(3, lEventWindowCache.getLoadCount());
+        Assert.assertEquals(3, lEventWindowCache.size());
+        Assert.assertEquals(3 * 7 * 2, events.size()); // two resources, one event per day each
+
+        // showing the same again does not load anything
+        lEventWindowCache.show(weekRange(LocalDate.of(2016, 6, 6)));
+        Assert.assertEquals(3, lEventWindowCache.getLoadCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        EventWindowCache lEventWindowCache = createEventWindowCache(new InMemoryEventProvider(createEvents(LocalDate.of(2016, 1, 1), 365))).withMaxWindows(4);
+
+        LocalDate lMonday = LocalDate.of(2016, 6, 6);
+        for (int i = 0; i < 10; i++) {
+            lEventWindowCache.show(weekRange(lMonday.plusWeeks(i)));
+            Assert.assertTrue(lEventWindowCache.size() <= 4);
+            Assert.assertEquals(lEventWindowCache.size() * 7 * 2, events.size());
+        }
+
+        // the displayed week is always there
+        LocalDateTime lStart = lMonday.plusWeeks(9).atStartOfDay();
+        Assert.assertEquals(7 * 2, events.stream().filter(e -> !e.getStartTime().isBefore(lStart) && e.getStartTime().isBefore(lStart.plusDays(7))).count());
+    }
+
+    @Test
+    public void changingResourcesReloads() {
+        EventWindowCache lEventWindowCache = createEventWindowCache(new InMemoryEventProvider(createEvents(LocalDate.of(2016, 1, 1), 365))).withPrefetchWindows(0);
+        lEventWindowCache.show(weekRange(LocalDate.of(2016, 6, 6)));
+        Assert.assertEquals(7 * 2, events.size());
+
+        resources.remove(1);
+
+        Assert.assertEquals(7, events.size());
+        Assert.assertEquals(2, lEventWindowCache.getLoadCount());
+    }
+
+    @Test
+    public void prefetchedEventsAreMergedOnTheFxExecutor() throws InterruptedException {
+        resources.add(new Scheduler.ResoureImpl().withId(1L).withName("one"));
+        resources.add(new Scheduler.ResoureImpl().withId(2L).withName("two"));
+        ObjectProperty<Scheduler.EventProvider> lEventProviderProperty = new SimpleObjectProperty<>(new InMemoryEventProvider(createEvents(LocalDate.of(2016, 1, 1), 365)));
+        List<Runnable> lFxQueue = new ArrayList<>();
+        ExecutorService lPrefetchExecutor = Executors.newSingleThreadExecutor();
+        try {
+            EventWindowCache lEventWindowCache = new EventWindowCache(events, resources, lEventProviderProperty, Runnable::run, (runnable) -> {
+                synchronized (lFxQueue) {
+                    lFxQueue.add(runnable);
+                }
+            }).withPrefetchExecutor(lPrefetchExecutor);
+
+            lEventWindowCache.show(weekRange(LocalDate.of(2016, 6, 6)));
+            lPrefetchExecutor.shutdown();
+            Assert.assertTrue(lPrefetchExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // the provider was called in the background, but only the displayed window is merged yet
+            Assert.assertEquals(3, lEventWindowCache.getLoadCount());
+            Assert.assertEquals(1, lEventWindowCache.size());
+            Assert.assertEquals(7 * 2, events.size());
+            Assert.assertEquals(2, lFxQueue.size());
+
+            lFxQueue.forEach(Runnable::run);
+            Assert.assertEquals(3, lEventWindowCache.size());
+            Assert.assertEquals(3 * 7 * 2, events.size());
+        }
+        finally {
+            lPrefetchExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void prefetchedEventsOfBeforeAReloadAreDropped() {
+        resources.add(new Scheduler.ResoureImpl().withId(1L).withName("one"));
+        resources.add(new Scheduler.ResoureImpl().withId(2L).withName("two"));
+        ObjectProperty<Scheduler.EventProvider> lEventProviderProperty = new SimpleObjectProperty<>(new InMemoryEventProvider(createEvents(LocalDate.of(2016, 1, 1), 365)));
+        List<Runnable> lFxQueue = new ArrayList<>();
+        EventWindowCache lEventWindowCache = new EventWindowCache(events, resources, lEventProviderProperty, Runnable::run, lFxQueue::add).withPrefetchExecutor(Runnable::run);
+
+        lEventWindowCache.show(weekRange(LocalDate.of(2016, 6, 6)));
+        resources.remove(1);
+        lFxQueue.forEach(Runnable::run);
+
+        // the merges queued before the reload were dropped, the ones after it only have the resource that is left
+        Assert.assertEquals(4, lFxQueue.size());
+        Assert.assertEquals(3, lEventWindowCache.size());
+        Assert.assertEquals(3 * 7, events.size());
+        Assert.assertTrue(events.stream().allMatch(e -> e.getResourceId() == 1L));
+    }
+
+    // the cache works on the collections of the control, so it can be tested without one
+    final private ObservableList<Scheduler.Event> events = FXCollections.observableArrayList();
+    final private ObservableList<Scheduler.Resource> resources = FXCollections.observableArrayList();
+
+    private EventWindowCache createEventWindowCache(Scheduler.EventProvider eventProvider) {
+        resources.add(new Scheduler.ResoureImpl().withId(1L).withName("one"));
+        resources.add(new Scheduler.ResoureImpl().withId(2L).withName("two"));
+        ObjectProperty<Scheduler.EventProvider> lEventProviderProperty = new SimpleObjectProperty<>(eventProvider);
+        return new EventWindowCache(events, resources, lEventProviderProperty, Runnable::run, Runnable::run).withPrefetchExecutor(Runnable::run);
+    }
+
+    private static List<Scheduler.Event> createEvents(LocalDate from, int days) {
+        List<Scheduler.Event> lEvents = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            for (long lResourceId = 1; lResourceId <= 2; lResourceId++) {
+                LocalDateTime lStart = from.plusDays(i).atTime(10, 0);
+                lEvents.add(new Scheduler.EventImpl().withResourceId(lResourceId).withStartTime(lStart).withEndTime(lStart.plusHours(1)));
+            }
+        }
+        return lEvents;
+    }
+
+    private static Scheduler.LocalDateTimeRange weekRange(LocalDate monday) {
+        return new Scheduler.LocalDateTimeRange(monday.atStartOfDay(), monday.plusDays(7).atStartOfDay());
+    }
+}
@@ -0,0 +1,223 @@
+package jfxtras.labs.scene.control.scheduler;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Skin;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerCanvasWeekSkin;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerDaysFromDisplayedSkin;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerMonthSkin;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerSkin;
+import jfxtras.labs.scene.control.scheduler.skin.SchedulerWeekSkin;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Measures the scheduler skins with generated resources and events:
+ * time to first layout, full refresh latency, the latency of a single and a bulk incremental change, drag latency and the number of nodes.
+ * Every measurement is written as one JSON object per line (to stdout, or to the file given with --out=), so runs can be compared by a script.
+ *
+ * The scene is laid out without showing the stage, so it can run headless with Monocle on the classpath:
+ * -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+ *
+ * Arguments (all optional): --resources=200 --events=20000 --iterations=10 --out=file
+ */
+public class SchedulerBenchmarkTrial extends Application {
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    private int numberOfResources = 200;
+    private int numberOfEvents = 20000;
+    private int iterations = 10;
+    private PrintWriter out;
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        for (String lArg : getParameters().getRaw()) {
+            String[] lKeyValue = lArg.replaceFirst("^--", "").split("=", 2);
+            switch (lKeyValue[0]) {
+                case "resources": numberOfResources = Integer.parseInt(lKeyValue[1]); break;
+                case "events": numberOfEvents = Integer.parseInt(lKeyValue[1]); break;
+                case "iterations": iterations = Integer.parseInt(lKeyValue[1]); break;
+                case "out": out = new PrintWriter(new FileWriter(lKeyValue[1])); break;
+                default: throw new IllegalArgumentException("Unknown argument " + lArg);
+            }
+        }
+        if (out == null) {
+            out = new PrintWriter(System.out);
+        }
+
+        try {
+            benchmark(SchedulerMonthSkin.class.getSimpleName(), SchedulerMonthSkin::new);
+            benchmark(SchedulerWeekSkin.class.getSimpleName(), SchedulerWeekSkin::new);
+            benchmark(SchedulerDaysFromDisplayedSkin.class.getSimpleName(), SchedulerDaysFromDisplayedSkin::new);
+            benchmark(SchedulerCanvasWeekSkin.class.getSimpleName(), SchedulerCanvasWeekSkin::new);
+        }
+        finally {
+            out.flush();
+            Platform.exit();
+        }
+    }
+
+    private void benchmark(String skinName, Function<Scheduler, Skin<?>> skinFactory) {
+        long[] lFirstLayoutNanos = new long[iterations];
+        long[] lRefreshNanos = new long[iterations];
+        long[] lSingleChangeNanos = new long[iterations];
+        long[] lBulkChangeNanos = new long[iterations];
+        long[] lDragNanos = new long[iterations];
+        int lNodeCount = 0;
+
+        for (int lIteration = 0; lIteration < iterations; lIteration++) {
+            Random lRandom = new Random(lIteration);
+            Scheduler lScheduler = createScheduler(lRandom);
+            BorderPane lRoot = new BorderPane(lScheduler);
+            new Scene(lRoot, 1200, 800);
+
+            // first layout
+            long lStarted = System.nanoTime();
+            lScheduler.setSkin(skinFactory.apply(lScheduler));
+            layout(lRoot);
+            lFirstLayoutNanos[lIteration] = System.nanoTime() - lStarted;
+            lNodeCount = countNodes(lRoot);
+
+            // full refresh
+            lStarted = System.nanoTime();
+            lScheduler.refresh();
+            layout(lRoot);
+            lRefreshNanos[lIteration] = System.nanoTime() - lStarted;
+
+            // a single new event; the batch makes the skin process it right away instead of on the next pulse
+            lStarted = System.nanoTime();
+            lScheduler.batchUpdate(() -> lScheduler.events().add(createEvent(lRandom, lScheduler.getDisplayedLocalDateTime().toLocalDate())));
+            layout(lRoot);
+            lSingleChangeNanos[lIteration] = System.nanoTime() - lStarted;
+
+            // many changed events: moved in place (reindexed, and only the rows they left and entered are updated, like a drag does) plus added ones
+            SchedulerSkin lSkin = (SchedulerSkin) lScheduler.getSkin();
+            Set<Long> lChangedResourceIds = new HashSet<>();
+            lStarted = System.nanoTime();
+            lScheduler.batchUpdate(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    Scheduler.Event lEvent = lScheduler.events().get(lRandom.nextInt(lScheduler.events().size()));
+                    lChangedResourceIds.add(lEvent.getResourceId());
+                    lEvent.setStartTime(lEvent.getStartTime().plusHours(1));
+                    lEvent.setEndTime(lEvent.getEndTime().plusHours(1));
+                    lEvent.setResourceId((long) lRandom.nextInt(numberOfResources));
+                    lChangedResourceIds.add(lEvent.getResourceId());
+                    lSkin.reindex(lEvent);
+                }
+                lScheduler.events().addAll(createEvents(lRandom, 1000));
+            });
+            Long[] lResourceIds = lChangedResourceIds.toArray(new Long[0]);
+            for (int i = 0; i < lResourceIds.length; i += 2) {
+                lSkin.setupParticularEvents(lResourceIds[i], lResourceIds[Math.min(i + 1, lResourceIds.length - 1)]);
+            }
+            layout(lRoot);
+            lBulkChangeNanos[lIteration] = System.nanoTime() - lStarted;
+
+            // drop a dragged event onto another resource, the way EventAbstractPane does at the end of a drag:
+            // change the event, reindex it and call the changed callback (LayoutHelp.callEventChangedCallback), then re-render both resources
+            Scheduler.Event lEvent = lScheduler.events().get(lRandom.nextInt(lScheduler.events().size()));
+            long lOldResourceId = lEvent.getResourceId();
+            long lNewResourceId = (lOldResourceId + 1) % numberOfResources;
+            lStarted = System.nanoTime();
+            lEvent.setStartTime(lEvent.getStartTime().plusMinutes(30));
+            lEvent.setEndTime(lEvent.getEndTime().plusMinutes(30));
+            lEvent.setResourceId(lNewResourceId);
+            lSkin.reindex(lEvent);
+            if (lScheduler.getAppointmentChangedCallback() != null) {
+                lScheduler.getAppointmentChangedCallback().call(lEvent);
+            }
+            lSkin.setupParticularEvents(lOldResourceId, lNewResourceId);
+            layout(lRoot);
+            lDragNanos[lIteration] = System.nanoTime() - lStarted;
+
+            lScheduler.getSkin().dispose();
+        }
+
+        report(skinName, "firstLayoutMs", lFirstLayoutNanos);
+        report(skinName, "refreshMs", lRefreshNanos);
+        report(skinName, "singleChangeMs", lSingleChangeNanos);
+        report(skinName, "bulkChangeMs", lBulkChangeNanos);
+        report(skinName, "dragMs", lDragNanos);
+        out.println("{\"skin\":\"" + skinName + "\",\"metric\":\"nodeCount\",\"value\":" + lNodeCount + "}");
+        out.flush();
+    }
+
+    private Scheduler createScheduler(Random random) {
+        Scheduler lScheduler = new Scheduler();
+        lScheduler.setDisplayedLocalDateTime(LocalDate.of(2016, 6, 8).atTime(8, 0));
+        for (long lResourceId = 0; lResourceId < numberOfResources; lResourceId++) {
+            lScheduler.resources().add(new Scheduler.ResoureImpl().withId(lResourceId).withName("Resource " + lResourceId));
+        }
+        lScheduler.events().addAll(createEvents(random, numberOfEvents));
+        return lScheduler;
+    }
+
+    /**
+     * Events spread over the month around the displayed date
+     */
+    private List<Scheduler.Event> createEvents(Random random, int count) {
+        List<Scheduler.Event> lEvents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lEvents.add(createEvent(random, LocalDate.of(2016, 6, 1).plusDays(random.nextInt(30))));
+        }
+        return lEvents;
+    }
+
+    private Scheduler.Event createEvent(Random random, LocalDate localDate) {
+        LocalDateTime lStart = localDate.atStartOfDay().plusMinutes(15 * random.nextInt(4 * 24));
+        return new Scheduler.EventImpl()
+                .withResourceId((long) random.nextInt(numberOfResources))
+                .withStartTime(lStart)
+                .withEndTime(lStart.plusMinutes(15 + 15 * random.nextInt(16)))
+                .withText("Event " + random.nextInt(1000));
+    }
+
+    private static void layout(Parent root) {
+        root.applyCss();
+        root.layout();
+    }
+
+    private static int countNodes(Node node) {
+        int lCount = 1;
+        if (node instanceof Parent) {
+            for (Node lChild : ((Parent) node).getChildrenUnmodifiable()) {
+                lCount += countNodes(lChild);
+            }
+        }
+        return lCount;
+    }
+
+    /**
+     * Median, min and max in milliseconds
+     */
+    private void report(String skinName, String metric, long[] nanos) {
+        long[] lSorted = nanos.clone();
+        Arrays.sort(lSorted);
+        out.println("{\"skin\":\"" + skinName + "\",\"metric\":\"" + metric + "\""
+                + ",\"median\":" + (lSorted[lSorted.length / 2] / 1000000.0)
+                + ",\"min\":" + (lSorted[0] / 1000000.0)
+                + ",\"max\":" + (lSorted[lSorted.length - 1] / 1000000.0)
+                + ",\"iterations\":" + lSorted.length
+                + ",\"resources\":" + numberOfResources
+                + ",\"events\":" + numberOfEvents + "}");
+    }
+}
@@ -0,0 +1,70 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares collecting the events of all resources of a week view through the interval index, with the full list scan that was used before.
+ * Run as a plain java application; args: [resources] [events]
+ */
+public class AllEventsBenchmarkTrial {
+
+    public static void main(String[] args) {
+        int lNumberOfResources = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int lNumberOfEvents = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+
+        // generate events spread over a year
+        Random lRandom = new Random(1);
+        LocalDateTime lBase = LocalDate.of(2016, 1, 4).atStartOfDay();
+        List<Scheduler.Event> lGenerated = new ArrayList<>();
+        for (int i = 0; i < lNumberOfEvents; i++) {
+            LocalDateTime lStart = lBase.plusMinutes(lRandom.nextInt(60 * 24 * 365));
+            lGenerated.add(new Scheduler.EventImpl().withId((long) i).withResourceId((long) lRandom.nextInt(lNumberOfResources)).withStartTime(lStart).withEndTime(lStart.plusMinutes(30 + lRandom.nextInt(240))));
+        }
+        ObservableList<Scheduler.Event> lEvents = FXCollections.observableArrayList(lGenerated);
+
+        long lIndexStarted = System.nanoTime();
+        AllEvents lAllEvents = new AllEvents(lEvents);
+        long lIndexBuildNanos = System.nanoTime() - lIndexStarted;
+
+        // a week in the middle of the year
+        LocalDate lMinDate = lBase.toLocalDate().plusWeeks(26);
+        LocalDate lMaxDate = lMinDate.plusDays(6);
+
+        for (int lRun = 0; lRun < 10; lRun++) {
+            long lScanStarted = System.nanoTime();
+            int lScanCount = 0;
+            for (long lResourceId = 0; lResourceId < lNumberOfResources; lResourceId++) {
+                lScanCount += scan(lEvents, lResourceId, lMinDate, lMaxDate).size();
+            }
+            long lScanNanos = System.nanoTime() - lScanStarted;
+
+            long lIndexQueryStarted = System.nanoTime();
+            int lIndexCount = 0;
+            for (long lResourceId = 0; lResourceId < lNumberOfResources; lResourceId++) {
+                lIndexCount += lAllEvents.collectRegularForResourceAndDates(lResourceId, lMinDate, lMaxDate).size();
+            }
+            long lIndexNanos = System.nanoTime() - lIndexQueryStarted;
+
+            System.out.println("run " + lRun + ": scan " + (lScanNanos / 1000) + "us (" + lScanCount + " events), index " + (lIndexNanos / 1000) + "us (" + lIndexCount + " events)");
+        }
+        System.out.println("index build for " + lNumberOfEvents + " events: " + (lIndexBuildNanos / 1000) + "us");
+    }
+
+    /**
+     * The original implementation of AllEvents.collectRegularForResourceAndDates
+     */
+    static List<Scheduler.Event> scan(List<Scheduler.Event> events, long resourceId, LocalDate minDate, LocalDate maxDate) {
+        return events.parallelStream()
+                .filter(c -> c.getResourceId().equals(resourceId) && AllEvents.startsOrEndsWithinDates(c, minDate, maxDate))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,117 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * The interval index must answer the same as a full scan over the events list, also after adds, removes and changed events.
+ */
+public class EventIntervalIndexTest {
+
+    static final LocalDateTime BASE = LocalDate.of(2016, 1, 4).atStartOfDay();
+
+    @Test
+    public void overlappingEventsAreFound() {
+        Scheduler.Event lEvent = event(1, BASE.plusHours(10), BASE.plusHours(12));
+        EventIntervalIndex lIndex = new EventIntervalIndex();
+        lIndex.add(lEvent);
+
+        Assert.assertEquals(1, lIndex.collect(1, BASE.plusHours(11), BASE.plusHours(11)).size()); // inside
+        Assert.assertEquals(1, lIndex.collect(1, BASE, BASE.plusHours(10)).size()); // touching the start
+        Assert.assertEquals(1, lIndex.collect(1, BASE.plusHours(12), BASE.plusHours(13)).size()); // touching the end
+        Assert.assertEquals(0, lIndex.collect(1, BASE, BASE.plusHours(9)).size()); // before
+        Assert.assertEquals(0, lIndex.collect(1, BASE.plusHours(13), BASE.plusHours(14)).size()); // after
+        Assert.assertEquals(0, lIndex.collect(2, BASE, BASE.plusDays(1)).size()); // other resource
+    }
+
+    @Test
+    public void changedEventIsFoundAfterUpdate() {
+        Scheduler.Event lEvent = event(1, BASE.plusHours(10), BASE.plusHours(12));
+        EventIntervalIndex lIndex = new EventIntervalIndex();
+        lIndex.add(lEvent);
+
+        // move it to another resource and another day
+        lEvent.setResourceId(2);
+        lEvent.setStartTime(BASE.plusDays(1));
+        lEvent.setEndTime(BASE.plusDays(1).plusHours(1));
+        Assert.assertTrue(lIndex.update(lEvent));
+        Assert.assertFalse(lIndex.update(lEvent));
+
+        Assert.assertEquals(0, lIndex.collect(1, BASE, BASE.plusDays(2)).size());
+        Assert.assertEquals(0, lIndex.collect(2, BASE, BASE.plusHours(23)).size());
+        Assert.assertEquals(1, lIndex.collect(2, BASE, BASE.plusDays(2)).size());
+
+        // and it can still be removed
+        lIndex.remove(lEvent);
+        Assert.assertEquals(0, lIndex.size());
+        Assert.assertEquals(0, lIndex.collect(2, BASE, BASE.plusDays(2)).size());
+    }
+
+    @Test
+    public void allEventsMatchesFullScan() {
+        Random lRandom = new Random(42);
+        ObservableList<Scheduler.Event> lEvents = FXCollections.observableArrayList();
+        AllEvents lAllEvents = new AllEvents(lEvents);
+
+        // add a lot, remove some, change some
+        List<Scheduler.Event> lGenerated = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            lGenerated.add(randomEvent(lRandom));
+        }
+        lEvents.addAll(lGenerated);
+        for (int i = 0; i < 500; i++) {
+            lEvents.remove(lRandom.nextInt(lEvents.size()));
+        }
+        for (int i = 0; i < 500; i++) {
+            Scheduler.Event lEvent = lEvents.get(lRandom.nextInt(lEvents.size()));
+            Scheduler.Event lNewValues = randomEvent(lRandom);
+            lEvent.setResourceId(lNewValues.getResourceId());
+            lEvent.setStartTime(lNewValues.getStartTime());
+            lEvent.setEndTime(lNewValues.getEndTime());
+            lAllEvents.reindex(lEvent);
+        }
+        lEvents.add(0, randomEvent(lRandom));
+        lEvents.set(10, randomEvent(lRandom));
+
+        // compare
+        for (int i = 0; i < 200; i++) {
+            long lResourceId = lRandom.nextInt(20);
+            LocalDate lMinDate = BASE.toLocalDate().plusDays(lRandom.nextInt(60));
+            LocalDate lMaxDate = lMinDate.plusDays(lRandom.nextInt(14));
+            List<Scheduler.Event> lExpected = lEvents.stream()
+                    .filter(c -> c.getResourceId().equals(lResourceId) && AllEvents.startsOrEndsWithinDates(c, lMinDate, lMaxDate))
+                    .collect(Collectors.toList());
+            List<Scheduler.Event> lActual = lAllEvents.collectRegularForResourceAndDates(lResourceId, lMinDate, lMaxDate);
+            Assert.assertEquals(sortedIds(lExpected), sortedIds(lActual));
+        }
+    }
+
+    static Scheduler.Event randomEvent(Random random) {
+        LocalDateTime lStart = BASE.plusMinutes(random.nextInt(60 * 24 * 70));
+        LocalDateTime lEnd = lStart.plusMinutes(15 + random.nextInt(60 * 24 * 3));
+        return event(random.nextInt(20), lStart, lEnd);
+    }
+
+    static Scheduler.Event event(long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new Scheduler.EventImpl().withId(sId++).withResourceId(resourceId).withStartTime(start).withEndTime(end);
+    }
+    static long sId = 1;
+
+    private static List<Long> sortedIds(List<Scheduler.Event> events) {
+        List<Long> lIds = events.stream().map(Scheduler.Event::getId).collect(Collectors.toList());
+        Collections.sort(lIds, Comparator.naturalOrder());
+        return lIds;
+    }
+}
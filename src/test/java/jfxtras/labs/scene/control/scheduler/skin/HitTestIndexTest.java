@@ -0,0 +1,147 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import jfxtras.labs.scene.control.scheduler.Scheduler;
+import jfxtras.labs.scene.control.scheduler.skin.ResourceCanvasBodyPane.PaintedEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The hit-test index must find the same painted event as checking all painted events top to bottom, also when they span tiles and after they are moved or removed.
+ */
+public class HitTestIndexTest {
+
+    static final LocalDateTime BASE = LocalDate.of(2016, 1, 4).atStartOfDay();
+    static final double WIDTH = 4 * ResourceCanvasBodyPane.TILE_WIDTH;
+
+    @Test
+    public void eventIsHitOnBothSidesOfATileBoundary() {
+        // one pixel per minute, so this one runs from 2000 to 2100
+        PaintedEvent lPaintedEvent = paint(event(2000, 100), 0, 20);
+        HitTestIndex lIndex = new HitTestIndex();
+        lIndex.rebuild(Arrays.asList(lPaintedEvent), WIDTH);
+
+        Assert.assertNull(lIndex.hitTest(1999, 10));
+        Assert.assertSame(lPaintedEvent, lIndex.hitTest(2000, 10));
+        Assert.assertSame(lPaintedEvent, lIndex.hitTest(ResourceCanvasBodyPane.TILE_WIDTH - 0.5, 10));
+        Assert.assertSame(lPaintedEvent, lIndex.hitTest(ResourceCanvasBodyPane.TILE_WIDTH, 10));
+        Assert.assertSame(lPaintedEvent, lIndex.hitTest(2099.5, 10));
+        Assert.assertNull(lIndex.hitTest(2100, 10));
+        Assert.assertNull(lIndex.hitTest(ResourceCanvasBodyPane.TILE_WIDTH, 20)); // below
+        Assert.assertNull(lIndex.hitTest(-1, 10)); // outside
+        Assert.assertNull(lIndex.hitTest(WIDTH, 10)); // outside
+    }
+
+    @Test
+    public void lastPaintedIsOnTop() {
+        PaintedEvent lBottom = paint(event(2000, 100), 0, 20);
+        PaintedEvent lTop = paint(event(2040, 100), 10, 20);
+        HitTestIndex lIndex = new HitTestIndex();
+        lIndex.rebuild(Arrays.asList(lBottom, lTop), WIDTH);
+
+        Assert.assertSame(lBottom, lIndex.hitTest(2045, 5));
+        Assert.assertSame(lTop, lIndex.hitTest(2045, 15));
+        Assert.assertSame(lBottom, lIndex.hitTest(2020, 15));
+        Assert.assertSame(lTop, lIndex.hitTest(2120, 15));
+    }
+
+    @Test
+    public void movedEventIsHitAtItsNewPosition() {
+        Scheduler.Event lEvent = event(100, 50);
+        PaintedEvent lPaintedEvent = paint(lEvent, 0, 20);
+        HitTestIndex lIndex = new HitTestIndex();
+        lIndex.rebuild(Arrays.asList(lPaintedEvent), WIDTH);
+        Assert.assertTrue(lPaintedEvent.isUpToDate());
+
+        // move it into the next tile
+        lEvent.setStartTime(BASE.plusMinutes(3000));
+        lEvent.setEndTime(BASE.plusMinutes(3050));
+        Assert.assertFalse(lPaintedEvent.isUpToDate());
+
+        // the pane paints it again and rebuilds the index
+        PaintedEvent lRepaintedEvent = paint(lEvent, 0, 20);
+        Assert.assertTrue(lRepaintedEvent.isUpToDate());
+        lIndex.rebuild(Arrays.asList(lRepaintedEvent), WIDTH);
+        Assert.assertNull(lIndex.hitTest(120, 10));
+        Assert.assertSame(lRepaintedEvent, lIndex.hitTest(3020, 10));
+    }
+
+    @Test
+    public void changedTextIsNotUpToDate() {
+        Scheduler.Event lEvent = event(100, 50);
+        lEvent.setText("a");
+        PaintedEvent lPaintedEvent = paint(lEvent, 0, 20);
+        Assert.assertTrue(lPaintedEvent.isUpToDate());
+
+        lEvent.setText("b");
+        Assert.assertFalse(lPaintedEvent.isUpToDate());
+    }
+
+    @Test
+    public void removedEventIsNotHit() {
+        PaintedEvent lBottom = paint(event(2000, 100), 0, 20);
+        PaintedEvent lTop = paint(event(2000, 100), 0, 20);
+        HitTestIndex lIndex = new HitTestIndex();
+        lIndex.rebuild(Arrays.asList(lBottom, lTop), WIDTH);
+        Assert.assertSame(lTop, lIndex.hitTest(2050, 10));
+
+        lIndex.rebuild(Arrays.asList(lBottom), WIDTH);
+        Assert.assertSame(lBottom, lIndex.hitTest(2050, 10));
+
+        lIndex.clear();
+        Assert.assertNull(lIndex.hitTest(2050, 10));
+    }
+
+    @Test
+    public void sameAsCheckingAllPaintedEvents() {
+        Random lRandom = new Random(7);
+        List<PaintedEvent> lPaintedEvents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lPaintedEvents.add(paint(event(lRandom.nextInt((int) WIDTH), 1 + lRandom.nextInt(300)), lRandom.nextInt(80), 1 + lRandom.nextInt(30)));
+        }
+        HitTestIndex lIndex = new HitTestIndex();
+        lIndex.rebuild(lPaintedEvents, WIDTH);
+
+        for (int i = 0; i < 10000; i++) {
+            double lX = lRandom.nextDouble() * (WIDTH + 200) - 100;
+            double lY = lRandom.nextDouble() * 120;
+            Assert.assertSame("at " + lX + "," + lY, hitTestAll(lPaintedEvents, lX, lY), lIndex.hitTest(lX, lY));
+        }
+    }
+
+    static Scheduler.Event event(int startInMinutes, int durationInMinutes) {
+        return new Scheduler.EventImpl().withId(sId++).withResourceId(1L).withStartTime(BASE.plusMinutes(startInMinutes)).withEndTime(BASE.plusMinutes(startInMinutes + durationInMinutes));
+    }
+    static long sId = 1;
+
+    /**
+     * Position the event like ResourceCanvasBodyPane.relayout does, at one pixel per minute
+     */
+    private static PaintedEvent paint(Scheduler.Event event, double y, double height) {
+        PaintedEvent lPaintedEvent = new PaintedEvent(event);
+        lPaintedEvent.x = BASE.until(event.getStartTime(), ChronoUnit.MINUTES);
+        lPaintedEvent.width = event.getStartTime().until(event.getEndTime(), ChronoUnit.MINUTES);
+        lPaintedEvent.y = y;
+        lPaintedEvent.height = height;
+        return lPaintedEvent;
+    }
+
+    private static PaintedEvent hitTestAll(List<PaintedEvent> paintedEvents, double x, double y) {
+        if (x < 0 || x >= WIDTH) {
+            return null;
+        }
+        for (int i = paintedEvents.size() - 1; i >= 0; i--) {
+            if (paintedEvents.get(i).contains(x, y)) {
+                return paintedEvents.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the sweep line TrackLayout with the original track-by-track algorithm for 1k, 10k and 100k events on one (very busy) resource.
+ * Run as a plain java application; the original algorithm is skipped when it would take too long, unless "all" is passed as argument.
+ */
+public class TrackLayoutBenchmarkTrial {
+
+    public static void main(String[] args) {
+        boolean lAll = args.length > 0 && "all".equals(args[0]);
+        for (int lCount : new int[]{1000, 10000, 100000}) {
+            // a week of bookings in minutes, about 20 in parallel
+            List<TrackLayoutTest.Item> lItems = TrackLayoutTest.randomItems(new Random(lCount), lCount, lCount * 3);
+
+            for (int lRun = 0; lRun < 5; lRun++) {
+                long lStarted = System.nanoTime();
+                TrackLayout.layout(new ArrayList<>(lItems), i -> i.start, i -> i.end);
+                long lSweepNanos = System.nanoTime() - lStarted;
+
+                String lReference = "skipped";
+                if (lAll || lCount <= 10000) {
+                    lStarted = System.nanoTime();
+                    TrackLayoutTest.referenceLayout(new ArrayList<>(lItems));
+                    lReference = ((System.nanoTime() - lStarted) / 1000) + "us";
+                }
+                System.out.println(lCount + " events, run " + lRun + ": sweep line " + (lSweepNanos / 1000) + "us, original " + lReference);
+            }
+        }
+    }
+}
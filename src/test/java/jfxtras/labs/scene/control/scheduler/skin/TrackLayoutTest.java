@@ -0,0 +1,151 @@
+package jfxtras.labs.scene.control.scheduler.skin;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The sweep line track layout must give exactly the same clusters and tracks as the original track-by-track algorithm.
+ */
+public class TrackLayoutTest {
+
+    @Test
+    public void exampleFromDetermineTracks() {
+        // the A..H example from the javadoc of EventAbstractTrackedPane.determineTracks (one unit per line)
+        Item A = new Item("A", 2, 9);
+        Item B = new Item("B", 3, 6);
+        Item C = new Item("C", 3, 5);
+        Item D = new Item("D", 4, 13);
+        Item E = new Item("E", 7, 8);
+        Item F = new Item("F", 11, 13);
+        Item H = new Item("H", 12, 13);
+        Item G = new Item("G", 14, 15);
+        List<Item> lItems = new ArrayList<>(Arrays.asList(G, F, E, D, C, B, A, H));
+
+        TrackLayout<Item> lTrackLayout = TrackLayout.layout(lItems, i -> i.start, i -> i.end);
+
+        Assert.assertEquals(2, lTrackLayout.getClusters().size());
+        Assert.assertSame(A, lTrackLayout.getClusters().get(0).getOwner());
+        Assert.assertSame(G, lTrackLayout.getClusters().get(1).getOwner());
+        Assert.assertEquals(4, lTrackLayout.getClusters().get(0).getTracks().size());
+        Assert.assertEquals("[A, F]", lTrackLayout.getClusters().get(0).getTracks().get(0).toString());
+        Assert.assertEquals("[B, E, H]", lTrackLayout.getClusters().get(0).getTracks().get(1).toString());
+        Assert.assertEquals("[C]", lTrackLayout.getClusters().get(0).getTracks().get(2).toString());
+        Assert.assertEquals("[D]", lTrackLayout.getClusters().get(0).getTracks().get(3).toString());
+    }
+
+    @Test
+    public void sameAsReferenceForRandomEvents() {
+        Random lRandom = new Random(7);
+        for (int lRun = 0; lRun < 200; lRun++) {
+            List<Item> lItems = randomItems(lRandom, 1 + lRandom.nextInt(300), 1 + lRandom.nextInt(2000));
+
+            TrackLayout<Item> lTrackLayout = TrackLayout.layout(new ArrayList<>(lItems), i -> i.start, i -> i.end);
+            List<Item> lReferenceItems = new ArrayList<>(lItems);
+            referenceLayout(lReferenceItems);
+
+            Assert.assertEquals(lReferenceItems, lTrackLayout.getItems());
+            for (int i = 0; i < lReferenceItems.size(); i++) {
+                Item lItem = lReferenceItems.get(i);
+                TrackLayout.Cluster<Item> lCluster = lTrackLayout.getCluster(i);
+                Assert.assertSame(lItem.clusterOwner, lCluster.getOwner());
+                Assert.assertEquals(lItem.clusterTrackIdx, lTrackLayout.getTrackIdx(i));
+                if (lItem.clusterOwner == lItem) {
+                    Assert.assertEquals(lItem.clusterMembers, lCluster.getMembers());
+                    Assert.assertEquals(lItem.clusterTracks, lCluster.getTracks());
+                }
+            }
+        }
+    }
+
+    static List<Item> randomItems(Random random, int count, int range) {
+        List<Item> lItems = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long lStart = random.nextInt(range);
+            lItems.add(new Item("" + i, lStart, lStart + random.nextInt(60)));
+        }
+        return lItems;
+    }
+
+    static class Item {
+        Item(String name, long start, long end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+        final String name;
+        final long start;
+        final long end;
+
+        List<Item> clusterMembers = new ArrayList<>();
+        List<List<Item>> clusterTracks = new ArrayList<>();
+        Item clusterOwner = this;
+        int clusterTrackIdx = -1;
+
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The original algorithm of EventAbstractTrackedPane.determineTracks, checking every item in every track
+     */
+    static void referenceLayout(List<Item> items) {
+        Collections.sort(items, (o1, o2) -> {
+            if (o1.start != o2.start) {
+                return o1.start < o2.start ? -1 : 1;
+            }
+            long lDuration1 = o1.end - o1.start;
+            long lDuration2 = o2.end - o2.start;
+            return lDuration1 == lDuration2 ? 0 : (lDuration1 > lDuration2 ? -1 : 1);
+        });
+
+        Item lClusterOwner = null;
+        for (Item lItem : items) {
+            if (lClusterOwner == null) {
+                lClusterOwner = lItem;
+                lClusterOwner.clusterTracks = new ArrayList<>();
+            }
+            int lTrackNr = 0;
+            while (true) {
+                if (lTrackNr == lClusterOwner.clusterTracks.size()) {
+                    lClusterOwner.clusterTracks.add(new ArrayList<>());
+                }
+                if (overlaps(lClusterOwner.clusterTracks.get(lTrackNr), lItem) == false) {
+                    break;
+                }
+                lTrackNr++;
+            }
+            if (lTrackNr == 0) {
+                boolean lOverlaps = false;
+                for (int i = 1; i < lClusterOwner.clusterTracks.size() && lOverlaps == false; i++) {
+                    lOverlaps = overlaps(lClusterOwner.clusterTracks.get(i), lItem);
+                }
+                if (lOverlaps == false) {
+                    lClusterOwner = lItem;
+                    lClusterOwner.clusterMembers = new ArrayList<>();
+                    lClusterOwner.clusterTracks = new ArrayList<>();
+                    lClusterOwner.clusterTracks.add(new ArrayList<>());
+                }
+            }
+            lClusterOwner.clusterMembers.add(lItem);
+            lClusterOwner.clusterTracks.get(lTrackNr).add(lItem);
+            lItem.clusterOwner = lClusterOwner;
+            lItem.clusterTrackIdx = lTrackNr;
+        }
+    }
+
+    private static boolean overlaps(List<Item> track, Item newItem) {
+        for (Item lPlaced : track) {
+            if ((lPlaced.start == newItem.start || lPlaced.start < newItem.end) && lPlaced.end > newItem.start) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package jfxtras.labs.util;
+
+import java.util.List;
+
+import javafx.animation.Interpolator;
+import javafx.geometry.Point2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Stop;
+
+/**
+ * Compares the lookup table based rasters of ConicalGradient and EllipticalGradient with the original per pixel algorithms:
+ * the time to fill 100x100 up to 2000x2000 and the largest difference of a color channel.
+ * Run as a plain java application, the results are written as one JSON object per line.
+ */
+public class GradientRasterBenchmarkTrial {
+
+    private static final Stop[] STOPS = {
+        new Stop(0.0, Color.RED), new Stop(0.25, Color.YELLOW), new Stop(0.5, Color.LIME),
+        new Stop(0.75, Color.rgb(0, 0, 255, 0.5)), new Stop(1.0, Color.RED)
+    };
+
+    public static void main(String[] args) {
+        ConicalGradient lConical = new ConicalGradient(STOPS);
+        EllipticalGradient lElliptical = new EllipticalGradient(STOPS);
+        for (int lSize : new int[]{100, 500, 1000, 2000}) {
+            Point2D lCenter = new Point2D(lSize / 2, lSize / 2);
+            benchmark("ConicalGradient", lSize,
+                    () -> new ConicalGradient(lCenter, STOPS).getImage(lSize, lSize),
+                    () -> referenceConical(lConical.getStops(), lCenter, lSize, lSize));
+            benchmark("EllipticalGradient", lSize,
+                    () -> lElliptical.getImage(lSize, lSize, lCenter),
+                    () -> referenceElliptical(lElliptical.getStops(), lCenter, lSize, lSize));
+        }
+    }
+
+    private interface Raster {
+        Image create();
+    }
+
+    private static void benchmark(String gradient, int size, Raster raster, Raster reference) {
+        long lRasterNanos = Long.MAX_VALUE;
+        long lReferenceNanos = Long.MAX_VALUE;
+        Image lImage = null;
+        Image lReferenceImage = null;
+        for (int lRun = 0; lRun < 5; lRun++) {
+            long lStarted = System.nanoTime();
+            lImage = raster.create();
+            lRasterNanos = Math.min(lRasterNanos, System.nanoTime() - lStarted);
+
+            lStarted = System.nanoTime();
+            lReferenceImage = reference.create();
+            lReferenceNanos = Math.min(lReferenceNanos, System.nanoTime() - lStarted);
+        }
+        System.out.println("{\"gradient\":\"" + gradient + "\",\"size\":" + size
+                + ",\"lookupMs\":" + (lRasterNanos / 1000000.0)
+                + ",\"originalMs\":" + (lReferenceNanos / 1000000.0)
+                + ",\"speedup\":" + Math.round(10.0 * lReferenceNanos / lRasterNanos) / 10.0
+                + ",\"maxChannelDifference\":" + maxChannelDifference(lImage, lReferenceImage) + "}");
+    }
+
+    private static int maxChannelDifference(Image image, Image reference) {
+        PixelReader lReader = image.getPixelReader();
+        PixelReader lReferenceReader = reference.getPixelReader();
+        int lMax = 0;
+        for (int y = 0; y < (int) image.getHeight(); y++) {
+            for (int x = 0; x < (int) image.getWidth(); x++) {
+                int lArgb = lReader.getArgb(x, y);
+                int lReferenceArgb = lReferenceReader.getArgb(x, y);
+                for (int lShift = 0; lShift < 32; lShift += 8) {
+                    lMax = Math.max(lMax, Math.abs(((lArgb >> lShift) & 0xff) - ((lReferenceArgb >> lShift) & 0xff)));
+                }
+            }
+        }
+        return lMax;
+    }
+
+    /**
+     * ConicalGradient.getImage before the lookup table
+     */
+    private static Image referenceConical(List<Stop> sortedStops, Point2D center, int width, int height) {
+        final WritableImage RASTER = new WritableImage(width, height);
+        final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
+        Color color = Color.TRANSPARENT;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double dx = x - center.getX();
+                double dy = y - center.getY();
+                double distance = Math.sqrt((dx * dx) + (dy * dy));
+                distance = Double.compare(distance, 0) == 0 ? 1 : distance;
+
+                double angle = Math.abs(Math.toDegrees(Math.acos(dx / distance)));
+                if (dx >= 0 && dy <= 0) {
+                    angle = 90.0 - angle;
+                } else if (dx >= 0 && dy >= 0) {
+                    angle += 90.0;
+                } else if (dx <= 0 && dy >= 0) {
+                    angle += 90.0;
+                } else if (dx <= 0 && dy <= 0) {
+                    angle = 450.0 - angle;
+                }
+                for (int i = 0; i < (sortedStops.size() - 1); i++) {
+                    if (angle >= (sortedStops.get(i).getOffset() * 360) && angle < (sortedStops.get(i + 1).getOffset() * 360)) {
+                        double fraction = (angle - sortedStops.get(i).getOffset() * 360) / ((sortedStops.get(i + 1).getOffset() - sortedStops.get(i).getOffset()) * 360);
+                        color = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
+                    }
+                }
+                PIXEL_WRITER.setColor(x, y, color);
+            }
+        }
+        return RASTER;
+    }
+
+    /**
+     * EllipticalGradient.getImage before the lookup table
+     */
+    private static Image referenceElliptical(List<Stop> sortedStops, Point2D center, int width, int height) {
+        double aSquare = (width / 2.0) * (width / 2.0);
+        double bSquare = (height / 2.0) * (height / 2.0);
+        Color color = Color.TRANSPARENT;
+        final WritableImage RASTER = new WritableImage(width, height);
+        final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double isInside = ((x - center.getX()) * (x - center.getX())) / aSquare + ((y - center.getY()) * (y - center.getY())) / bSquare;
+                isInside = isInside > 1 ? 1 : isInside;
+                for (int i = 0; i < (sortedStops.size() - 1); i++) {
+                    double currentOffset = sortedStops.get(i).getOffset();
+                    double nextOffset = sortedStops.get(i + 1).getOffset();
+                    if (Double.compare(isInside, currentOffset) > 0 && Double.compare(isInside, nextOffset) <= 0) {
+                        double fraction = (isInside - currentOffset) / (nextOffset - currentOffset);
+                        color = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
+                    }
+                }
+                PIXEL_WRITER.setColor(x, y, color);
+            }
+        }
+        return RASTER;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * TextureCacheTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TextureCacheTest {
+
+    @Test
+    public void sameKeyIsGeneratedOnce() {
+        TextureCache lCache = new TextureCache(TextureCache.DEFAULT_MAX_BYTES);
+        AtomicInteger lCreated = new AtomicInteger();
+        Image lFirst = lCache.get("metal", 10, 20, 1, () -> { lCreated.incrementAndGet(); return new WritableImage(10, 20); }, 0xff888888, 5);
+        for (int i = 0; i < 60; i++) {
+            Assert.assertSame(lFirst, lCache.get("metal", 10, 20, 1, () -> { lCreated.incrementAndGet(); return new WritableImage(10, 20); }, 0xff888888, 5));
+        }
+        Assert.assertEquals(1, lCreated.get());
+        Assert.assertEquals(60, lCache.getHits());
+        Assert.assertEquals(1, lCache.getMisses());
+        Assert.assertEquals(10 * 20 * 4, lCache.getBytes());
+    }
+
+    @Test
+    public void everyPartOfTheKeyCounts() {
+        TextureCache lCache = new TextureCache(TextureCache.DEFAULT_MAX_BYTES);
+        lCache.get("metal", 10, 10, 1, () -> new WritableImage(10, 10), 1);
+        lCache.get("noise", 10, 10, 1, () -> new WritableImage(10, 10), 1);
+        lCache.get("metal", 11, 10, 1, () -> new WritableImage(11, 10), 1);
+        lCache.get("metal", 10, 11, 1, () -> new WritableImage(10, 11), 1);
+        lCache.get("metal", 10, 10, 2, () -> new WritableImage(10, 10), 1);
+        lCache.get("metal", 10, 10, 1, () -> new WritableImage(10, 10), 2);
+        Assert.assertEquals(6, lCache.size());
+        Assert.assertEquals(0, lCache.getHits());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        // room for two 10x10 textures
+        TextureCache lCache = new TextureCache(2 * 10 * 10 * 4);
+        Image lA = lCache.get("a", 10, 10, 1, () -> new WritableImage(10, 10));
+        lCache.get("b", 10, 10, 1, () -> new WritableImage(10, 10));
+        lCache.get("a", 10, 10, 1, () -> new WritableImage(10, 10));
+        lCache.get("c", 10, 10, 1, () -> new WritableImage(10, 10));
+        Assert.assertEquals(2, lCache.size());
+        Assert.assertEquals(2 * 10 * 10 * 4, lCache.getBytes());
+        // a was used after b, so b was dropped
+        Assert.assertSame(lA, lCache.get("a", 10, 10, 1, () -> new WritableImage(10, 10)));
+        long lMisses = lCache.getMisses();
+        lCache.get("b", 10, 10, 1, () -> new WritableImage(10, 10));
+        Assert.assertEquals(lMisses + 1, lCache.getMisses());
+    }
+
+    @Test
+    public void texturesLargerThanTheCacheAreNotKept() {
+        TextureCache lCache = new TextureCache(100);
+        Assert.assertNotNull(lCache.get("a", 10, 10, 1, () -> new WritableImage(10, 10)));
+        Assert.assertEquals(0, lCache.size());
+        Assert.assertEquals(0, lCache.getBytes());
+    }
+
+    @Test
+    public void shrinkingEvicts() {
+        TextureCache lCache = new TextureCache(TextureCache.DEFAULT_MAX_BYTES);
+        lCache.get("a", 10, 10, 1, () -> new WritableImage(10, 10));
+        lCache.get("b", 10, 10, 1, () -> new WritableImage(10, 10));
+        lCache.setMaxBytes(10 * 10 * 4);
+        Assert.assertEquals(1, lCache.size());
+        lCache.clear();
+        Assert.assertEquals(0, lCache.getBytes());
+    }
+}